@@ -18,6 +18,7 @@ import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -26,6 +27,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.io.XMLUtils;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
@@ -34,6 +36,8 @@ import com.google.common.base.Optional;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
  * Represents International Resource Identifiers
@@ -213,9 +217,9 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
         int index = XMLUtils.getNCNameSuffixIndex(str);
         if (index < 0) {
             // no ncname
-            return new IRI(str, "");
+            return intern(new IRI(str, ""));
         }
-        return new IRI(str.substring(0, index), str.substring(index));
+        return intern(new IRI(str.substring(0, index), str.substring(index)));
     }
 
     /**
@@ -251,7 +255,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
                 // the prefix does not contain an ncname character and there is
                 // no illegal character in the suffix
                 // the split is therefore correct
-                return new IRI(prefix, suffix);
+                return intern(new IRI(prefix, suffix));
             }
             // otherwise the split is wrong; we could obtain the right split by
             // using index and test, but it's just as easy to use the other
@@ -268,7 +272,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
     @Nonnull
     public static IRI create(@Nonnull File file) {
         checkNotNull(file, "file cannot be null");
-        return new IRI(file.toURI());
+        return intern(new IRI(file.toURI()));
     }
 
     /**
@@ -279,7 +283,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
     @Nonnull
     public static IRI create(@Nonnull URI uri) {
         checkNotNull(uri, "uri cannot be null");
-        return new IRI(uri);
+        return intern(new IRI(uri));
     }
 
     /**
@@ -293,7 +297,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
     public static IRI create(@Nonnull URL url) {
         checkNotNull(url, "url cannot be null");
         try {
-            return new IRI(url.toURI());
+            return intern(new IRI(url.toURI()));
         } catch (URISyntaxException e) {
             throw new OWLRuntimeException(e);
         }
@@ -323,8 +327,34 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
             }
         });
 
+    /**
+     * True if IRIs are interned; set through
+     * {@link ConfigurationOptions#INTERN_IRIS} and fixed for the lifetime of
+     * the JVM, as IRIs cannot be interned retroactively.
+     */
+    private static final boolean INTERNING = ConfigurationOptions.INTERN_IRIS.getValue(Boolean.class, Collections
+        .<ConfigurationOptions, Object> emptyMap()).booleanValue();
+    /**
+     * Weak interners used when interning is enabled; unlike the prefix cache,
+     * these are not size limited, so ontologies with many namespaces do not
+     * cause evictions.
+     */
+    private static final Interner<IRI> IRI_INTERNER = Interners.newWeakInterner();
+    private static final Interner<String> NAMESPACE_INTERNER = Interners.newWeakInterner();
+
+    @Nonnull
+    private static IRI intern(@Nonnull IRI iri) {
+        if (INTERNING) {
+            return IRI_INTERNER.intern(iri);
+        }
+        return iri;
+    }
+
     @Nonnull
     private static String cache(@Nonnull String s) {
+        if (INTERNING) {
+            return NAMESPACE_INTERNER.intern(s);
+        }
         try {
             return PREFIX_CACHE.get(s);
         } catch (ExecutionException e) {
@@ -336,6 +366,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
     private final String remainder;
     @Nonnull
     private final String namespace;
+    private final transient int hashCode;
 
     /**
      * Constructs an IRI which is built from the concatenation of the specified
@@ -349,6 +380,15 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
     protected IRI(@Nonnull String prefix, @Nullable String suffix) {
         namespace = cache(prefix);
         remainder = suffix == null ? "" : suffix;
+        hashCode = namespace.hashCode() + remainder.hashCode();
+    }
+
+    /**
+     * @return a copy of this IRI with its hash code computed, or the canonical
+     *         instance for this IRI if interning is enabled
+     */
+    protected Object readResolve() {
+        return intern(new IRI(namespace, remainder));
     }
 
     /**
@@ -505,16 +545,20 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
 
     @Override
     public int compareTo(OWLObject o) {
-        if (o == this || equals(o)) {
+        if (o == this) {
             return 0;
         }
         if (!(o instanceof IRI)) {
             return -1;
         }
         IRI other = (IRI) o;
-        int diff = namespace.compareTo(other.namespace);
-        if (diff != 0) {
-            return diff;
+        // namespaces are cached, so equal namespaces are often the same
+        // instance; String.compareTo() would still compare every character
+        if (namespace != other.namespace) {
+            int diff = namespace.compareTo(other.namespace);
+            if (diff != 0) {
+                return diff;
+            }
         }
         return remainder.compareTo(other.remainder);
     }
@@ -530,7 +574,7 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
 
     @Override
     public int hashCode() {
-        return namespace.hashCode() + remainder.hashCode();
+        return hashCode;
     }
 
     @Override
@@ -580,6 +624,9 @@ public class IRI implements OWLAnnotationSubject, OWLAnnotationValue, SWRLPredic
             return false;
         }
         IRI other = (IRI) obj;
+        if (hashCode != other.hashCode) {
+            return false;
+        }
         return remainder.equals(other.remainder) && other.namespace.equals(namespace);
     }
 }
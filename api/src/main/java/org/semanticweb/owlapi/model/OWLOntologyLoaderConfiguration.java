@@ -224,6 +224,56 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return LOAD_ANNOTATIONS.getValue(Boolean.class, overrides).booleanValue();
     }
 
+    /**
+     * @return true if the indexes of a loaded ontology should be built, in
+     *         parallel, as soon as loading is complete, rather than on first
+     *         use. The default is {@code false}.
+     */
+    public boolean isWarmIndexes() {
+        return WARM_INDEXES.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return maximum number of imports that can be loaded concurrently. Values
+     *         lower than 2 mean that imports are loaded sequentially, which is
+     *         the default.
+     */
+    public int getParallelImports() {
+        return PARALLEL_IMPORTS.getValue(Integer.class, overrides).intValue();
+    }
+
+    /**
+     * @return true if the axioms read by a parser should be indexed in one
+     *         batch when parsing is complete, rather than one at a time. The
+     *         default is {@code true}.
+     */
+    public boolean isBulkLoad() {
+        return BULK_LOAD.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if RDF parsers should translate the triples of a subject as
+     *         soon as the input moves on to another subject, instead of keeping
+     *         them until the end of the input. The default is {@code false}.
+     *         A triple is translated with the declarations seen so far, so the
+     *         result is the same as without streaming only if every property
+     *         is declared, with all its kinds, and every reification node is
+     *         typed before the triples that use them, as in a dump with the
+     *         schema first.
+     */
+    public boolean isStreamingRDF() {
+        return STREAMING_RDF.getValue(Boolean.class, overrides).booleanValue();
+    }
+
+    /**
+     * @return true if OBO documents should be translated while parsing,
+     *         without keeping the parsed term frames in memory. The default
+     *         is {@code false}.
+     */
+    public boolean isStreamingOBO() {
+        return OBO_STREAMING_PARSE.getValue(Boolean.class, overrides).booleanValue();
+    }
+
     /** @return value for the report stack trace flag. */
     public boolean isReportStackTrace() {
         return REPORT_STACK_TRACES.getValue(Boolean.class, overrides).booleanValue();
@@ -341,6 +391,95 @@ public class OWLOntologyLoaderConfiguration implements Serializable {
         return copy;
     }
 
+    /**
+     * @param b
+     *        true if the indexes of a loaded ontology should be built, in
+     *        parallel, as soon as loading is complete
+     * @return a copy of this configuration with the warm indexes flag set to
+     *         the new value
+     */
+    @Nonnull
+    public OWLOntologyLoaderConfiguration setWarmIndexes(boolean b) {
+        // do not make copies if setting the same value
+        if (isWarmIndexes() == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.overrides.put(WARM_INDEXES, b);
+        return copy;
+    }
+
+    /**
+     * @param n
+     *        maximum number of imports that can be loaded concurrently; values
+     *        lower than 2 mean that imports are loaded sequentially
+     * @return a copy of this configuration with the parallel imports value set
+     *         to the new value
+     */
+    @Nonnull
+    public OWLOntologyLoaderConfiguration setParallelImports(int n) {
+        if (getParallelImports() == n) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.overrides.put(PARALLEL_IMPORTS, n);
+        return copy;
+    }
+
+    /**
+     * @param b
+     *        true if the axioms read by a parser should be indexed in one batch
+     *        when parsing is complete
+     * @return a copy of this configuration with the bulk load flag set to the
+     *         new value
+     */
+    @Nonnull
+    public OWLOntologyLoaderConfiguration setBulkLoad(boolean b) {
+        // do not make copies if setting the same value
+        if (isBulkLoad() == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.overrides.put(BULK_LOAD, b);
+        return copy;
+    }
+
+    /**
+     * @param b
+     *        true if RDF parsers should translate the triples of a subject as
+     *        soon as the input moves on to another subject
+     * @return a copy of this configuration with the streaming RDF flag set to
+     *         the new value
+     */
+    @Nonnull
+    public OWLOntologyLoaderConfiguration setStreamingRDF(boolean b) {
+        // do not make copies if setting the same value
+        if (isStreamingRDF() == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.overrides.put(STREAMING_RDF, b);
+        return copy;
+    }
+
+    /**
+     * @param b
+     *        true if OBO documents should be translated while parsing,
+     *        without keeping the parsed term frames in memory
+     * @return a copy of this configuration with the streaming OBO flag set to
+     *         the new value
+     */
+    @Nonnull
+    public OWLOntologyLoaderConfiguration setStreamingOBO(boolean b) {
+        // do not make copies if setting the same value
+        if (isStreamingOBO() == b) {
+            return this;
+        }
+        OWLOntologyLoaderConfiguration copy = copyConfiguration();
+        copy.overrides.put(OBO_STREAMING_PARSE, b);
+        return copy;
+    }
+
     /**
      * Sets the strategy that is used for missing imports handling. See
      * {@link MissingImportHandlingStrategy} for the strategies and their
@@ -2,6 +2,8 @@ package org.semanticweb.owlapi.model.parameters;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Properties;
@@ -10,6 +12,7 @@ import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.ByName;
 import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration.MissingOntologyHeaderStrategy;
 import org.semanticweb.owlapi.model.PriorityCollectionSorting;
 import org.slf4j.Logger;
@@ -57,6 +60,42 @@ public enum ConfigurationOptions {
     /** sort configuration for 
      * priority collections */
     PRIORITY_COLLECTION_SORTING         (PriorityCollectionSorting.ON_SET_INJECTION_ONLY),
+    /** True if all ontology indexes 
+     * should be built, in parallel, 
+     * after loading. */
+    WARM_INDEXES                        (Boolean.FALSE),
+    /** Maximum number of imports 
+     * to be loaded concurrently; 
+     * values lower than 2 load 
+     * imports sequentially. */
+    PARALLEL_IMPORTS                    (Integer.valueOf(0)),
+    /** True if parsed axioms 
+     * should be indexed in one 
+     * batch at the end of 
+     * parsing. */
+    BULK_LOAD                           (Boolean.TRUE),
+    /** True if RDF triples should 
+     * be translated as soon as the 
+     * input moves past their 
+     * subject, rather than kept 
+     * until the end of parsing. 
+     * Input must declare the 
+     * properties and type the 
+     * reification nodes before 
+     * using them. */
+    STREAMING_RDF                       (Boolean.FALSE),
+    /** True if IRIs should be 
+     * interned, so that equal 
+     * IRIs are the same instance. 
+     * Read once, from system 
+     * properties or config file. */
+    INTERN_IRIS                         (Boolean.FALSE),
+    /** True if axioms should keep 
+     * their signature, as an array, 
+     * once computed. Read once, 
+     * from system properties or 
+     * config file. */
+    COMPACT_AXIOM_SIGNATURES            (Boolean.FALSE),
     // Save options
     /** True if ids for blank 
      * nodes should always be 
@@ -89,12 +128,50 @@ public enum ConfigurationOptions {
      * sections and entity comments 
      * should be outputted. */
     BANNERS_ENABLED                     (Boolean.TRUE),
+    /** Number of threads used to 
+     * sort axioms ahead of the 
+     * entity being rendered; 
+     * values lower than 2 sort 
+     * on the rendering thread. */
+    SORTING_THREADS                     (Integer.valueOf(0)),
+    /** How the Rio storers skip 
+     * triples already written: 
+     * exactly, by fingerprint, 
+     * or only within each 
+     * entity. */
+    DUPLICATE_TRIPLE_CHECK              (DuplicateTripleCheck.EXACT),
     /** List of banned 
      * parsers keys. */
     BANNED_PARSERS                      (""),
     /** Entity expansion limit for 
      * XML parsing. */
-    ENTITY_EXPANSION_LIMIT              ("100000000");
+    ENTITY_EXPANSION_LIMIT              ("100000000"),
+    /** Number of threads used to 
+     * translate OBO frames to and 
+     * from OWL and to format them 
+     * when writing OBO; values 
+     * lower than 2 do the work on 
+     * the calling thread. */
+    OBO_TRANSLATION_THREADS             (Integer.valueOf(0)),
+    /** True if OBO documents should 
+     * be translated while parsing, 
+     * without keeping the parsed 
+     * term frames in memory. */
+    OBO_STREAMING_PARSE                 (Boolean.FALSE),
+    // Reasoner options
+    /** Number of threads used by 
+     * the structural reasoner to 
+     * compute its hierarchies; 
+     * values lower than 2 compute 
+     * them on the calling thread. */
+    STRUCTURAL_REASONER_THREADS         (Integer.valueOf(0)),
+    /** True if the structural 
+     * reasoner should keep the 
+     * ancestors and descendants 
+     * of each node, for non direct 
+     * queries and subclass 
+     * entailment checks. */
+    STRUCTURAL_REASONER_REACHABILITY_INDEX(Boolean.FALSE);
     //@formatter:on
     private static final String PREFIX = "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.";
     private Object defaultValue;
@@ -189,6 +266,23 @@ public enum ConfigurationOptions {
         return type.cast(defaultValue);
     }
 
+    /**
+     * @param type
+     *        type for this value
+     * @param format
+     *        format of the document being saved; can be null
+     * @return value for this configuration option. A format parameter with
+     *         this option as key overrides the other sources, which are
+     *         checked as in {@link #getValue(Class, Map)}.
+     */
+    public <T> T getValue(Class<T> type, @Nullable OWLDocumentFormat format) {
+        Serializable override = format == null ? null : format.getParameter(this, null);
+        if (override == null) {
+            return getValue(type, Collections.<ConfigurationOptions, Object> emptyMap());
+        }
+        return getValue(type, Collections.<ConfigurationOptions, Object> singletonMap(this, override));
+    }
+
     /**
      * @param type
      *        type to cast to
@@ -0,0 +1,50 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.model.parameters;
+
+import org.semanticweb.owlapi.model.ByName;
+
+/**
+ * How a triple renderer recognizes triples it has already written, so that
+ * they are not written twice.
+ *
+ * @author ignazio
+ * @since 4.2.9
+ */
+public enum DuplicateTripleCheck implements ByName<DuplicateTripleCheck> {
+    /**
+     * Every triple written is kept until the end of the document; no duplicate
+     * is written, but the memory used grows with the size of the output.
+     */
+    EXACT,
+    /**
+     * A 64 bit fingerprint of every triple written is kept until the end of the
+     * document. This uses a fraction of the memory of {@link #EXACT}; two
+     * distinct triples with the same fingerprint would cause the second one
+     * to be skipped, which is very unlikely but not impossible.
+     */
+    FINGERPRINT,
+    /**
+     * Triples written are kept only while rendering the graph for one entity,
+     * or for one group of axioms not about an entity, as the renderer works a
+     * graph at a time. Memory is bounded by the largest graph; a triple that
+     * belongs to two graphs might be written twice, which does not change the
+     * RDF graph.
+     */
+    ENTITY;
+
+    @Override
+    public DuplicateTripleCheck byName(CharSequence name) {
+        return valueOf(name.toString());
+    }
+}
@@ -12,8 +12,13 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.reasoner;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import javax.annotation.Nonnull;
 
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
 /**
  * A simple configuration with the general options.
  * 
@@ -31,6 +36,8 @@ public class SimpleConfiguration implements OWLReasonerConfiguration {
     @Nonnull
     private IndividualNodeSetPolicy individualNodeSetPolicy = IndividualNodeSetPolicy.BY_NAME;
     private long timeOut = Long.MAX_VALUE;
+    @Nonnull
+    private final Map<ConfigurationOptions, Object> overrides = new EnumMap<>(ConfigurationOptions.class);
 
     /** default constructor */
     public SimpleConfiguration() {}
@@ -117,4 +124,39 @@ public class SimpleConfiguration implements OWLReasonerConfiguration {
     public IndividualNodeSetPolicy getIndividualNodeSetPolicy() {
         return individualNodeSetPolicy;
     }
+
+    /**
+     * Sets a configuration option, such as
+     * {@link ConfigurationOptions#STRUCTURAL_REASONER_THREADS}, for the
+     * reasoners created with this configuration; options not set here take the
+     * global value.
+     * 
+     * @param option
+     *        option to set
+     * @param value
+     *        value for the option
+     * @return this configuration
+     * @since 4.2.9
+     */
+    @Nonnull
+    public SimpleConfiguration setOption(@Nonnull ConfigurationOptions option, @Nonnull Object value) {
+        overrides.put(option, value);
+        return this;
+    }
+
+    /**
+     * @param option
+     *        option to read
+     * @param type
+     *        type of the value
+     * @param <T>
+     *        type of the value
+     * @return the value set for the option with
+     *         {@link #setOption(ConfigurationOptions, Object)}, or its global
+     *         value
+     * @since 4.2.9
+     */
+    public <T> T getValue(@Nonnull ConfigurationOptions option, @Nonnull Class<T> type) {
+        return option.getValue(type, overrides);
+    }
 }
@@ -94,6 +94,11 @@ public abstract class AbstractOWLStorer implements OWLStorer {
             @Nonnull OWLDocumentFormat ontologyFormat,
             @Nonnull OutputStream tempOutputStream)
             throws OWLOntologyStorageException, IOException {
+        if (!ontologyFormat.isTextual()) {
+            storeOntology(ontology, tempOutputStream, ontologyFormat);
+            tempOutputStream.flush();
+            return;
+        }
         Writer tempWriter = new BufferedWriter(new OutputStreamWriter(
                 tempOutputStream, UTF_8));
         storeOntology(ontology, tempWriter, ontologyFormat);
@@ -0,0 +1,103 @@
+package org.semanticweb.owlapi.model;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IRIInterningTestCase {
+
+    private static final String INTERN_IRIS = "org.semanticweb.owlapi.model.parameters.ConfigurationOptions.INTERN_IRIS";
+
+    /** Equal IRIs built in different ways. */
+    private static Object[] equalIRIs(Method create, Method createWithRemainder) throws Exception {
+        return new Object[] { create.invoke(null, "urn:test#term"), create.invoke(null, "urn:test#term"),
+            createWithRemainder.invoke(null, "urn:test#", "term"), createWithRemainder.invoke(null, "urn:", "test#term"),
+            createWithRemainder.invoke(null, "urn:test#te", "rm") };
+    }
+
+    private static void assertConsistent(Object[] iris) throws Exception {
+        for (Object iri : iris) {
+            for (Object other : iris) {
+                assertEquals(iri, other);
+                assertEquals(iri.hashCode(), other.hashCode());
+            }
+            Object copy = roundTrip(iri);
+            assertEquals(iri, copy);
+            assertEquals(iri.hashCode(), copy.hashCode());
+        }
+        assertNotEquals(iris[0], iris[0].getClass().getMethod("create", String.class).invoke(null, "urn:test#other"));
+    }
+
+    private static Object roundTrip(Object o) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+            stream.writeObject(o);
+        }
+        final ClassLoader loader = o.getClass().getClassLoader();
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())) {
+
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException,
+                ClassNotFoundException {
+                return Class.forName(desc.getName(), false, loader);
+            }
+        }) {
+            return stream.readObject();
+        }
+    }
+
+    @Test
+    public void shouldKeepHashCodeConsistentWithoutInterning() throws Exception {
+        assertNull(System.getProperty(INTERN_IRIS));
+        Object[] iris = equalIRIs(IRI.class.getMethod("create", String.class), IRI.class.getMethod("create",
+            String.class, String.class));
+        assertConsistent(iris);
+        // without interning, each call builds a new instance
+        assertNotSame(iris[0], iris[1]);
+    }
+
+    @Test
+    public void shouldReturnSameInstanceWithInterning() throws Exception {
+        // the option is read once per JVM, so the IRI class is loaded again
+        // with interning enabled
+        Class<?> iriClass;
+        System.setProperty(INTERN_IRIS, "true");
+        try (URLClassLoader loader = new URLClassLoader(classPath(), null)) {
+            iriClass = Class.forName(IRI.class.getName(), true, loader);
+            Object[] iris = equalIRIs(iriClass.getMethod("create", String.class), iriClass.getMethod("create",
+                String.class, String.class));
+            assertConsistent(iris);
+            for (Object iri : iris) {
+                assertSame(iris[0], iri);
+                assertSame(iris[0], roundTrip(iri));
+            }
+            // same hash code as without interning
+            assertEquals(IRI.create("urn:test#term").hashCode(), iris[0].hashCode());
+        } finally {
+            System.clearProperty(INTERN_IRIS);
+        }
+        assertNotSame(IRI.class, iriClass);
+    }
+
+    private static URL[] classPath() throws Exception {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        return urls.toArray(new URL[urls.size()]);
+    }
+}
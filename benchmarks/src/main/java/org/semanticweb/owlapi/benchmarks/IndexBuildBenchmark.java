@@ -0,0 +1,126 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import uk.ac.manchester.cs.owl.owlapi.ConcurrentInternals;
+import uk.ac.manchester.cs.owl.owlapi.IntIdInternals;
+import uk.ac.manchester.cs.owl.owlapi.Internals;
+
+/**
+ * Time to build the {@code Internals} indexes for a synthetic ontology. The
+ * eager benchmark only populates the indexes maintained on every change; the
+ * lazy benchmark also forces the lazily initialized indexes by querying each of
+ * them once, which is what the first request against a freshly loaded ontology
+ * pays for. The eager benchmark can be run against each {@code Internals}
+ * implementation.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndexBuildBenchmark {
+
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "20000" })
+    public int classes;
+    /** Simple class name of the {@code Internals} implementation. */
+    @Param({ "Internals", "ConcurrentInternals", "IntIdInternals" })
+    public String indexes;
+    private List<OWLAxiom> axioms;
+    private Set<OWLAxiom> axiomSet;
+    private OWLOntologyManager manager;
+    private OWLDataFactory df;
+
+    /** Creates the axioms to index. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = OWLManager.createOWLOntologyManager();
+        df = manager.getOWLDataFactory();
+        axiomSet = SyntheticOntologies.axioms(classes, df);
+        axioms = new ArrayList<>(axiomSet);
+    }
+
+    /**
+     * @return the populated internals
+     */
+    @Benchmark
+    public Internals eagerIndexes() {
+        Internals internals = createInternals();
+        for (OWLAxiom ax : axioms) {
+            internals.addAxiom(ax);
+        }
+        return internals;
+    }
+
+    private Internals createInternals() {
+        switch (indexes) {
+            case "ConcurrentInternals":
+                return new ConcurrentInternals();
+            case "IntIdInternals":
+                return new IntIdInternals();
+            default:
+                return new Internals();
+        }
+    }
+
+    /**
+     * @return number of axioms found while initializing the lazy indexes
+     * @throws Exception
+     *         if the ontology cannot be created
+     */
+    @Benchmark
+    public int lazyIndexes() throws Exception {
+        OWLOntology o = manager.createOntology();
+        manager.addAxioms(o, axiomSet);
+        OWLClass c = SyntheticOntologies.cls(df, 1);
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(SyntheticOntologies.NS, "op1"));
+        OWLNamedIndividual i = df.getOWLNamedIndividual(IRI.create(SyntheticOntologies.NS, "i1"));
+        int count = 0;
+        count += o.getSubClassAxiomsForSubClass(c).size();
+        count += o.getSubClassAxiomsForSuperClass(c).size();
+        count += o.getEquivalentClassesAxioms(c).size();
+        count += o.getDisjointClassesAxioms(c).size();
+        count += o.getAxioms(c, Imports.EXCLUDED).size();
+        count += o.getAnnotationAssertionAxioms(c.getIRI()).size();
+        count += o.getClassAssertionAxioms(c).size();
+        count += o.getClassAssertionAxioms(i).size();
+        count += o.getObjectPropertyAssertionAxioms(i).size();
+        count += o.getDataPropertyAssertionAxioms(i).size();
+        count += o.getObjectSubPropertyAxiomsForSubProperty(p).size();
+        count += o.getObjectSubPropertyAxiomsForSuperProperty(p).size();
+        count += o.getObjectPropertyDomainAxioms(p).size();
+        count += o.getTransitiveObjectPropertyAxioms(p).size();
+        manager.removeOntology(o);
+        return count;
+    }
+}
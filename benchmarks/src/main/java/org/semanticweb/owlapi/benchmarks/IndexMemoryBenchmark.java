@@ -0,0 +1,58 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import uk.ac.manchester.cs.owl.owlapi.ConcurrentInternals;
+import uk.ac.manchester.cs.owl.owlapi.IntIdInternals;
+import uk.ac.manchester.cs.owl.owlapi.Internals;
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+/**
+ * Heap retained by the {@code Internals} indexes of a synthetic ontology, per
+ * axiom, for each implementation. The axioms are created before measuring, so
+ * only the indexes are counted; all lazy indexes are initialized and the
+ * indexes are trimmed, as for a loaded ontology that has been queried. Run
+ * with a fixed heap, e.g. {@code -Xms2g -Xmx2g}, so that the collector does not
+ * resize it between measurements.
+ */
+public class IndexMemoryBenchmark {
+
+    public static void main(String[] args) {
+        int classes = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        OWLDataFactory df = new OWLDataFactoryImpl();
+        List<OWLAxiom> axioms = new ArrayList<>(SyntheticOntologies.axioms(classes, df));
+        // axioms cache their signatures when first indexed; fill the caches
+        // before measuring, so that they are not charged to the first
+        // implementation
+        Internals warmup = new Internals();
+        for (OWLAxiom ax : axioms) {
+            warmup.addAxiom(ax);
+        }
+        warmup.warmIndexes();
+        warmup = null;
+        for (Internals internals : new Internals[] { new Internals(), new ConcurrentInternals(),
+            new IntIdInternals() }) {
+            long before = usedMemory();
+            for (OWLAxiom ax : axioms) {
+                internals.addAxiom(ax);
+            }
+            internals.warmIndexes();
+            internals.trimToSize();
+            long after = usedMemory();
+            System.out.println(internals.getClass().getSimpleName() + ": " + (after - before) / axioms.size()
+                + " bytes per axiom, " + axioms.size() + " axioms, " + internals.getAxiomCount() + " indexed");
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
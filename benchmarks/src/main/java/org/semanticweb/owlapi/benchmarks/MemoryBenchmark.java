@@ -32,15 +32,12 @@ public class MemoryBenchmark {
         MemoryBenchmark.class);
 
     public static void main(String[] args) throws Exception {
-        if (args.length > 2) {
+        if (args.length < 1 || args.length > 2) {
             System.err.println("usage: " + MemoryBenchmark.class
-                .getCanonicalName() + "<src-ontology> <dest-hprof>");
+                .getCanonicalName() + " <src-ontology> [<dest-hprof>]");
+            System.exit(1);
         }
-        String filename = "/Users/ses/ontologies/GO/go.ofn";
-        if (args.length > 0) {
-            filename = args[0];
-        }
-        Path ontologyPath = FileSystems.getDefault().getPath(filename);
+        Path ontologyPath = FileSystems.getDefault().getPath(args[0]);
         Path hprofPath = getHprofPath(args, ontologyPath);
         memoryProfile(ontologyPath, hprofPath);
         System.exit(0);
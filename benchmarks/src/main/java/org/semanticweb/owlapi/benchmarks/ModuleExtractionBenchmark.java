@@ -0,0 +1,82 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * Locality based module extraction from a synthetic ontology, with the module
+ * fixpoint computed either through the entity to axiom index or by scanning
+ * all remaining axioms. The seed signature is a spread of classes, so that the
+ * modules are large enough for the fixpoint to take several rounds.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModuleExtractionBenchmark {
+
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "20000" })
+    public int classes;
+    /** Type of module to extract. */
+    @Param({ "STAR", "BOT", "TOP" })
+    public ModuleType moduleType;
+    /** True to use the entity to axiom index, false for the full scan. */
+    @Param({ "true", "false" })
+    public boolean indexed;
+    private SyntacticLocalityModuleExtractor extractor;
+    private Set<OWLEntity> signature;
+
+    /**
+     * @throws Exception
+     *         if the ontology cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology ontology = SyntheticOntologies.create(manager, classes);
+        extractor = new SyntacticLocalityModuleExtractor(manager, ontology, moduleType);
+        extractor.setUseSignatureIndex(indexed);
+        signature = new HashSet<>();
+        for (int i = classes - 1; i > 0; i -= classes / 20) {
+            signature.add(SyntheticOntologies.cls(df, i));
+        }
+        // build the index, if any, outside of the measured code
+        extract();
+    }
+
+    /** @return number of axioms in the module */
+    @Benchmark
+    public int extract() {
+        Set<OWLAxiom> module = extractor.extract(signature);
+        return module.size();
+    }
+}
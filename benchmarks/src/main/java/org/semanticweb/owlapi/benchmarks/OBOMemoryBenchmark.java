@@ -0,0 +1,33 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+
+/**
+ * Heap dump after parsing an OBO file into an {@code OBODoc}, without
+ * translation to OWL.
+ */
+public class OBOMemoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("usage: " + OBOMemoryBenchmark.class.getCanonicalName()
+                + " <src-obo-file> [<dest-hprof>]");
+            System.exit(1);
+        }
+        Path oboPath = FileSystems.getDefault().getPath(args[0]);
+        memoryProfile(oboPath, MemoryBenchmark.getHprofPath(args, oboPath));
+        System.exit(0);
+    }
+
+    public static void memoryProfile(Path oboPath, Path hprofPath) throws IOException {
+        OBOFormatParser parser = new OBOFormatParser();
+        OBODoc parse = parser.parse(oboPath.toFile());
+        MemoryBenchmark.getDiagnostics().dumpHeap(hprofPath.toString(), true);
+        System.out.println("frames = " + parse.getTermFrames().size());
+    }
+}
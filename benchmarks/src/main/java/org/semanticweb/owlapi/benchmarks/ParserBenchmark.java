@@ -0,0 +1,111 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.OWLParserFactory;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLStorer;
+import org.semanticweb.owlapi.model.OWLStorerFactory;
+
+/**
+ * Parse throughput for each {@code OWLParserFactory}. The input is a synthetic
+ * ontology saved, during setup, in the format supported by the parser under
+ * test; the parser is then invoked directly, so format guessing does not
+ * affect the measure.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    /** Simple class name of the parser factory to measure. */
+    @Param({ "RDFXMLParserFactory", "OWLFunctionalSyntaxOWLParserFactory", "OWLXMLParserFactory",
+        "TurtleOntologyParserFactory", "ManchesterOWLSyntaxOntologyParserFactory", "OBOFormatOWLAPIParserFactory",
+        "RioRDFXMLParserFactory", "RioTurtleParserFactory", "RioNTriplesParserFactory", "RioJsonLDParserFactory" })
+    public String parser;
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "5000" })
+    public int classes;
+    private OWLParserFactory parserFactory;
+    private OWLDocumentFormat format;
+    private String document;
+    private OWLOntologyManager manager;
+    private OWLOntologyLoaderConfiguration config;
+    private final IRI documentIRI = IRI.create("http://owlapi.sourceforge.net/benchmarks/synthetic.document");
+
+    /**
+     * Renders the synthetic ontology in the format supported by the selected
+     * parser.
+     *
+     * @throws Exception
+     *         if no suitable storer is available or saving fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        manager = OWLManager.createOWLOntologyManager();
+        config = new OWLOntologyLoaderConfiguration().setStrict(false);
+        for (OWLParserFactory f : manager.getOntologyParsers()) {
+            if (f.getClass().getSimpleName().equals(parser)) {
+                parserFactory = f;
+            }
+        }
+        if (parserFactory == null) {
+            throw new IllegalArgumentException("No parser factory named " + parser);
+        }
+        format = parserFactory.getSupportedFormat().createFormat();
+        OWLStorer storer = null;
+        for (OWLStorerFactory f : manager.getOntologyStorers()) {
+            OWLStorer candidate = f.createStorer();
+            if (storer == null && candidate.canStoreOntology(format)) {
+                storer = candidate;
+            }
+        }
+        if (storer == null) {
+            throw new IllegalArgumentException("No storer available for " + format.getKey());
+        }
+        OWLOntology source = SyntheticOntologies.create(manager, classes);
+        StringDocumentTarget target = new StringDocumentTarget();
+        storer.storeOntology(source, target, format);
+        manager.removeOntology(source);
+        document = target.toString();
+    }
+
+    /**
+     * @return number of axioms parsed
+     * @throws Exception
+     *         if parsing fails
+     */
+    @Benchmark
+    public int parse() throws Exception {
+        OWLOntology ontology = manager.createOntology();
+        parserFactory.createParser().parse(new StringDocumentSource(document, documentIRI, format, null), ontology,
+            config);
+        int count = ontology.getAxiomCount();
+        manager.removeOntology(ontology);
+        return count;
+    }
+}
@@ -0,0 +1,104 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Query latency against a loaded synthetic ontology. Indexes are initialized
+ * during setup, so the figures are for steady state lookups; classes are
+ * visited round robin so that the measure is not dominated by a single hot
+ * entry.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryBenchmark {
+
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "20000" })
+    public int classes;
+    private OWLOntology ontology;
+    private OWLClass[] entities;
+
+    /**
+     * @throws Exception
+     *         if the ontology cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        ontology = SyntheticOntologies.create(manager, classes);
+        entities = new OWLClass[classes];
+        for (int i = 0; i < classes; i++) {
+            entities[i] = SyntheticOntologies.cls(df, i);
+        }
+        // force lazy index initialization outside of the measured code
+        getAxiomsForClass(new Cursor());
+        getReferencingAxioms(new Cursor());
+    }
+
+    /** Per thread position in the class array. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        int next(int size) {
+            next = (next + 1) % size;
+            return next;
+        }
+    }
+
+    /**
+     * @param cursor
+     *        next class to query
+     * @return number of axioms found
+     */
+    @Benchmark
+    public int getAxiomsForClass(Cursor cursor) {
+        return ontology.getAxioms(entities[cursor.next(entities.length)]).size();
+    }
+
+    /**
+     * @param cursor
+     *        next class to query
+     * @return number of axioms found
+     */
+    @Benchmark
+    public int getReferencingAxioms(Cursor cursor) {
+        return ontology.getReferencingAxioms(entities[cursor.next(entities.length)]).size();
+    }
+
+    /**
+     * @param cursor
+     *        next class to query
+     * @return number of axioms found
+     */
+    @Benchmark
+    public int getSubClassAxiomsForSuperClass(Cursor cursor) {
+        return ontology.getSubClassAxiomsForSuperClass(entities[cursor.next(entities.length)]).size();
+    }
+}
@@ -0,0 +1,89 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+/**
+ * Load time from a file for the binary snapshot format, against functional
+ * syntax as the fastest text format. The format is given to the document
+ * source, so format guessing does not affect the measure.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /** Format to load from. */
+    @Param({ "snapshot", "functional" })
+    public String format;
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "5000", "50000" })
+    public int classes;
+    private OWLDocumentFormat documentFormat;
+    private File file;
+    private OWLOntologyManager manager;
+
+    /**
+     * Saves the synthetic ontology to a temporary file.
+     *
+     * @throws Exception
+     *         if saving fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        manager = OWLManager.createOWLOntologyManager();
+        documentFormat = "snapshot".equals(format) ? new BinarySnapshotDocumentFormat()
+            : new FunctionalSyntaxDocumentFormat();
+        file = File.createTempFile("synthetic", ".owl");
+        OWLOntology source = SyntheticOntologies.create(manager, classes);
+        manager.saveOntology(source, documentFormat, IRI.create(file));
+        manager.removeOntology(source);
+    }
+
+    /** Deletes the temporary file. */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * @return number of axioms loaded
+     * @throws Exception
+     *         if loading fails
+     */
+    @Benchmark
+    public int load() throws Exception {
+        OWLOntology ontology = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(file,
+            documentFormat));
+        int count = ontology.getAxiomCount();
+        manager.removeOntology(ontology);
+        return count;
+    }
+}
@@ -0,0 +1,63 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * Cost of {@code OWLObject.compareTo()} on the axioms of a synthetic ontology,
+ * sorted as the storers sort them: a full sort of a list and the construction
+ * of a sorted set. See {@link StorerBenchmark} for the whole save path.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SortBenchmark {
+
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "20000" })
+    public int classes;
+    private List<OWLAxiom> axioms;
+
+    /** Creates the axioms, in hash order. */
+    @Setup(Level.Trial)
+    public void setUp() {
+        axioms = new ArrayList<>(SyntheticOntologies.axioms(classes, OWLManager.getOWLDataFactory()));
+    }
+
+    /** @return first axiom in the sorted list */
+    @Benchmark
+    public OWLAxiom sortList() {
+        List<OWLAxiom> copy = new ArrayList<>(axioms);
+        Collections.sort(copy);
+        return copy.get(0);
+    }
+
+    /** @return first axiom in the sorted set */
+    @Benchmark
+    public OWLAxiom sortedSet() {
+        return new TreeSet<>(axioms).first();
+    }
+}
@@ -0,0 +1,79 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLStorer;
+import org.semanticweb.owlapi.model.OWLStorerFactory;
+
+/**
+ * Render throughput for each {@code OWLStorerFactory}. Output is discarded, so
+ * only the rendering cost is measured.
+ *
+ * @author ignazio
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorerBenchmark {
+
+    /** Simple class name of the storer factory to measure. */
+    @Param({ "RDFXMLStorerFactory", "FunctionalSyntaxStorerFactory", "OWLXMLStorerFactory", "TurtleStorerFactory",
+        "ManchesterSyntaxStorerFactory", "OBOFormatStorerFactory", "RioRDFXMLStorerFactory", "RioTurtleStorerFactory",
+        "RioNTriplesStorerFactory", "RioJsonLDStorerFactory" })
+    public String storer;
+    /** Number of classes in the synthetic ontology. */
+    @Param({ "5000" })
+    public int classes;
+    private OWLOntology ontology;
+    private OWLStorer owlStorer;
+    private OWLDocumentFormat format;
+
+    /**
+     * @throws Exception
+     *         if the ontology cannot be created or no storer matches
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        for (OWLStorerFactory f : manager.getOntologyStorers()) {
+            if (f.getClass().getSimpleName().equals(storer)) {
+                owlStorer = f.createStorer();
+                format = f.getFormatFactory().createFormat();
+            }
+        }
+        if (owlStorer == null) {
+            throw new IllegalArgumentException("No storer factory named " + storer);
+        }
+        ontology = SyntheticOntologies.create(manager, classes);
+    }
+
+    /**
+     * @throws Exception
+     *         if rendering fails
+     */
+    @Benchmark
+    public void store() throws Exception {
+        owlStorer.storeOntology(ontology, new StreamDocumentTarget(new NullOutputStream()), format);
+    }
+}
@@ -0,0 +1,136 @@
+package org.semanticweb.owlapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
+
+/**
+ * Generates deterministic synthetic ontologies for benchmarks, so that no
+ * external files are needed to run the suite. The shape is loosely modelled on
+ * OBO style ontologies: a class tree with labels and comments, existential
+ * restrictions on a handful of object properties, some disjointness, and an
+ * ABox of individuals with class and property assertions.
+ *
+ * @author ignazio
+ */
+public final class SyntheticOntologies {
+
+    /** Namespace for all generated entities. */
+    public static final String NS = "http://owlapi.sourceforge.net/benchmarks/synthetic#";
+    private static final int BRANCHING = 5;
+    private static final int OBJECT_PROPERTIES = 8;
+    private static final int DATA_PROPERTIES = 4;
+
+    private SyntheticOntologies() {}
+
+    /**
+     * @param classCount
+     *        number of classes to generate; the number of individuals is a
+     *        fifth of this
+     * @param df
+     *        data factory
+     * @return axioms for a synthetic ontology of the requested size
+     */
+    @Nonnull
+    public static Set<OWLAxiom> axioms(int classCount, @Nonnull OWLDataFactory df) {
+        Random random = new Random(classCount);
+        Set<OWLAxiom> axioms = new HashSet<>();
+        List<OWLObjectProperty> objectProperties = new ArrayList<>();
+        for (int i = 0; i < OBJECT_PROPERTIES; i++) {
+            OWLObjectProperty p = df.getOWLObjectProperty(IRI.create(NS, "op" + i));
+            objectProperties.add(p);
+            axioms.add(df.getOWLDeclarationAxiom(p));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(p.getIRI(), df.getOWLAnnotation(df.getRDFSLabel(), df
+                .getOWLLiteral("object property " + i))));
+            if (i > 0) {
+                axioms.add(df.getOWLSubObjectPropertyOfAxiom(p, objectProperties.get((i - 1) / 2)));
+            }
+        }
+        axioms.add(df.getOWLTransitiveObjectPropertyAxiom(objectProperties.get(0)));
+        List<OWLDataProperty> dataProperties = new ArrayList<>();
+        for (int i = 0; i < DATA_PROPERTIES; i++) {
+            OWLDataProperty p = df.getOWLDataProperty(IRI.create(NS, "dp" + i));
+            dataProperties.add(p);
+            axioms.add(df.getOWLDeclarationAxiom(p));
+            axioms.add(df.getOWLDataPropertyRangeAxiom(p, OWL2Datatype.XSD_STRING.getDatatype(df)));
+        }
+        List<OWLClass> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            OWLClass c = cls(df, i);
+            classes.add(c);
+            axioms.add(df.getOWLDeclarationAxiom(c));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getOWLAnnotation(df.getRDFSLabel(), df
+                .getOWLLiteral("class " + i))));
+            axioms.add(df.getOWLAnnotationAssertionAxiom(c.getIRI(), df.getOWLAnnotation(df.getRDFSComment(), df
+                .getOWLLiteral("Synthetic class number " + i + " for benchmarking", "en"))));
+            if (i > 0) {
+                OWLClass parent = classes.get((i - 1) / BRANCHING);
+                axioms.add(df.getOWLSubClassOfAxiom(c, parent));
+                if (i % BRANCHING == 0) {
+                    axioms.add(df.getOWLDisjointClassesAxiom(c, classes.get(i - 1)));
+                }
+                OWLObjectProperty p = objectProperties.get(random.nextInt(OBJECT_PROPERTIES));
+                OWLClass filler = classes.get(random.nextInt(i));
+                axioms.add(df.getOWLSubClassOfAxiom(c, df.getOWLObjectSomeValuesFrom(p, filler)));
+            }
+        }
+        int individualCount = Math.max(1, classCount / 5);
+        for (int i = 0; i < individualCount; i++) {
+            OWLNamedIndividual ind = df.getOWLNamedIndividual(IRI.create(NS, "i" + i));
+            axioms.add(df.getOWLDeclarationAxiom(ind));
+            axioms.add(df.getOWLClassAssertionAxiom(classes.get(random.nextInt(classCount)), ind));
+            if (i > 0) {
+                OWLNamedIndividual other = df.getOWLNamedIndividual(IRI.create(NS, "i" + random.nextInt(i)));
+                axioms.add(df.getOWLObjectPropertyAssertionAxiom(objectProperties.get(random.nextInt(
+                    OBJECT_PROPERTIES)), ind, other));
+            }
+            axioms.add(df.getOWLDataPropertyAssertionAxiom(dataProperties.get(random.nextInt(DATA_PROPERTIES)), ind,
+                "value " + i));
+        }
+        return axioms;
+    }
+
+    /**
+     * @param df
+     *        data factory
+     * @param index
+     *        class index
+     * @return the synthetic class with the given index
+     */
+    @Nonnull
+    public static OWLClass cls(@Nonnull OWLDataFactory df, int index) {
+        return df.getOWLClass(IRI.create(NS, "C" + index));
+    }
+
+    /**
+     * @param manager
+     *        manager to create the ontology with
+     * @param classCount
+     *        number of classes
+     * @return new ontology containing the synthetic axioms
+     * @throws OWLOntologyCreationException
+     *         if the ontology cannot be created
+     */
+    @Nonnull
+    public static OWLOntology create(@Nonnull OWLOntologyManager manager, int classCount)
+        throws OWLOntologyCreationException {
+        return manager.createOntology(axioms(classCount, manager.getOWLDataFactory()), IRI.create(
+            "http://owlapi.sourceforge.net/benchmarks/synthetic"));
+    }
+}
@@ -17,7 +17,7 @@ public class LoadCellTestCase {
     @Test
     public void shouldParse() throws OWLOntologyCreationException {
         OWLOntologyManager m = OWLManager.createOWLOntologyManager();
-        assertEquals(19, m.getOntologyParsers().size());
+        assertEquals(20, m.getOntologyParsers().size());
         OWLOntologyDocumentSource source = new StreamDocumentSource(getClass().getResourceAsStream("/celltype.obo"),
             OWLOntologyDocumentSourceBase.getNextDocumentIRI("obo"), new OBO12DocumentFormat(), null);
         m.loadOntologyFromOntologyDocument(source);
@@ -26,7 +26,7 @@ public class LoadCellTestCase {
     @Test
     public void shouldParseOBO12() throws OWLOntologyCreationException {
         OWLOntologyManager m = OWLManager.createOWLOntologyManager();
-        assertEquals(19, m.getOntologyParsers().size());
+        assertEquals(20, m.getOntologyParsers().size());
         OWLOntologyDocumentSource source = new StreamDocumentSource(getClass().getResourceAsStream("/behavior.obo"),
             OWLOntologyDocumentSourceBase.getNextDocumentIRI("obo"), new OBO12DocumentFormat(), null);
         m.loadOntologyFromOntologyDocument(source);
@@ -35,7 +35,7 @@ public class LoadCellTestCase {
     @Test
     public void shouldParseGenericOBO() throws OWLOntologyCreationException {
         OWLOntologyManager m = OWLManager.createOWLOntologyManager();
-        assertEquals(19, m.getOntologyParsers().size());
+        assertEquals(20, m.getOntologyParsers().size());
         OWLOntologyDocumentSource source = new StreamDocumentSource(getClass().getResourceAsStream("/behavior.obo"));
         m.loadOntologyFromOntologyDocument(source);
     }
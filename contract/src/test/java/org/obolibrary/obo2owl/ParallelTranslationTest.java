@@ -0,0 +1,92 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.writer.OBOFormatWriter;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+@SuppressWarnings("javadoc")
+public class ParallelTranslationTest extends OboFormatTestBasics {
+
+    private static String obo() {
+        StringBuilder obo = new StringBuilder("format-version: 1.2\nontology: test\n\n");
+        obo.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\n\n");
+        obo.append("[Typedef]\nid: seeAlso\nis_metadata_tag: true\n\n");
+        // enough term frames to be translated in parallel, and to be written
+        // in more chunks than two writer threads keep pending
+        for (int i = 1; i < 5000; i++) {
+            obo.append("[Term]\nid: TEST:").append(i).append("\nname: term ").append(i).append('\n');
+            obo.append("def: \"Definition ").append(i).append(".\" [PMID:").append(i).append("]\n");
+            obo.append("synonym: \"syn ").append(i).append("\" EXACT []\n");
+            obo.append("alt_id: TEST:").append(i + 100000).append('\n');
+            obo.append("is_a: TEST:").append(i / 2).append('\n');
+            obo.append("relationship: part_of TEST:").append(i / 3).append('\n');
+            obo.append("relationship: seeAlso TEST:").append(i / 5).append("\n\n");
+        }
+        return obo.toString();
+    }
+
+    private static String write(OBODoc doc, int threads) throws IOException {
+        OBOFormatWriter writer = new OBOFormatWriter();
+        writer.setThreads(threads);
+        StringWriter out = new StringWriter();
+        BufferedWriter stream = new BufferedWriter(out);
+        writer.write(doc, stream);
+        stream.close();
+        return out.toString();
+    }
+
+    @Test
+    public void shouldTranslateSameAxiomsInParallel() throws Exception {
+        OBODoc doc = parseOboToString(obo());
+        OWLAPIObo2Owl serial = new OWLAPIObo2Owl(setupManager());
+        serial.setTranslationThreads(0);
+        OWLOntology expected = serial.convert(doc);
+        OWLAPIObo2Owl parallel = new OWLAPIObo2Owl(setupManager());
+        parallel.setTranslationThreads(4);
+        OWLOntology actual = parallel.convert(doc);
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+        assertTrue(actual.containsClassInSignature(IRI.create("http://purl.obolibrary.org/obo/TEST_4999")));
+    }
+
+    @Test
+    public void shouldTranslateAndWriteSameDocumentInParallel() throws Exception {
+        OWLOntology ontology = convert(parseOboToString(obo()));
+        OWLAPIOwl2Obo serial = new OWLAPIOwl2Obo(setupManager());
+        serial.setTranslationThreads(0);
+        String expected = write(serial.convert(ontology), 0);
+        OWLAPIOwl2Obo parallel = new OWLAPIOwl2Obo(setupManager());
+        parallel.setTranslationThreads(4);
+        OBODoc doc = parallel.convert(ontology);
+        assertEquals(serial.getUntranslatableAxioms(), parallel.getUntranslatableAxioms());
+        assertEquals(expected, write(doc, 0));
+        assertEquals(expected, write(doc, 4));
+        assertEquals(expected, write(doc, 2));
+        assertTrue(expected.contains("id: TEST:4999\nname: term 4999\n"));
+    }
+
+    @Test
+    public void shouldSaveSameDocumentWithThreadsFromFormat() throws Exception {
+        OWLOntology ontology = convert(parseOboToString(obo()));
+        StringDocumentTarget expected = new StringDocumentTarget();
+        ontology.getOWLOntologyManager().saveOntology(ontology, new OBODocumentFormat(), expected);
+        OBODocumentFormat format = new OBODocumentFormat();
+        format.setParameter(ConfigurationOptions.OBO_TRANSLATION_THREADS, Integer.valueOf(4));
+        StringDocumentTarget actual = new StringDocumentTarget();
+        ontology.getOWLOntologyManager().saveOntology(ontology, format, actual);
+        assertEquals(expected.toString(), actual.toString());
+        assertTrue(actual.toString().contains("id: TEST:4999\nname: term 4999\n"));
+    }
+}
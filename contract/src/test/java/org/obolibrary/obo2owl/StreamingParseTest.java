@@ -0,0 +1,97 @@
+package org.obolibrary.obo2owl;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.obolibrary.oboformat.model.Frame;
+import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
+import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParser.TermFrameHandler;
+import org.semanticweb.owlapi.formats.OBODocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+@SuppressWarnings("javadoc")
+public class StreamingParseTest extends OboFormatTestBasics {
+
+    /** Typedefs after the terms, as the writer lays them out. */
+    private static String obo() {
+        StringBuilder obo = new StringBuilder("format-version: 1.2\nontology: test\ndefault-namespace: test_ns\n\n");
+        for (int i = 1; i < 200; i++) {
+            obo.append("[Term]\nid: TEST:").append(i).append("\nname: term ").append(i).append('\n');
+            obo.append("! a comment line\n");
+            obo.append("is_a: TEST:").append(i / 2).append(" ! parent\n");
+            obo.append("relationship: part_of TEST:").append(i / 3).append('\n');
+            obo.append("relationship: seeAlso TEST:").append(i / 5).append("\n\n");
+        }
+        obo.append("[Typedef]\nid: part_of\nname: part of\nxref: BFO:0000050\n\n");
+        obo.append("[Typedef]\nid: seeAlso\nis_metadata_tag: true\n");
+        return obo.toString();
+    }
+
+    @Test
+    public void shouldHandTermFramesAfterTypedefs() throws Exception {
+        final List<Frame> frames = new ArrayList<>();
+        final int[] typedefs = { -1 };
+        OBODoc doc = new OBOFormatParser().parse(new BufferedReader(new StringReader(obo())),
+            new TermFrameHandler() {
+
+                @Override
+                public void startTermFrames(OBODoc d, int termFrameCount) {
+                    assertEquals(199, termFrameCount);
+                    typedefs[0] = d.getTypedefFrames().size();
+                }
+
+                @Override
+                public void handleTermFrame(Frame frame) {
+                    assertEquals(2, typedefs[0]);
+                    frames.add(frame);
+                }
+            });
+        assertTrue(doc.getTermFrames().isEmpty());
+        assertEquals(2, doc.getTypedefFrames().size());
+        assertEquals(199, frames.size());
+        OBODoc expected = parseOboToString(obo());
+        for (Frame f : frames) {
+            assertEquals(expected.getTermFrame(f.getId()).getClauses(), f.getClauses());
+            assertEquals("test_ns", f.getTagValue(OboFormatTag.TAG_NAMESPACE));
+        }
+    }
+
+    @Test
+    public void shouldTranslateSameAxiomsWhileParsing() throws Exception {
+        OWLOntology expected = convert(parseOboToString(obo()));
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(setupManager());
+        OWLOntology actual = bridge.convert(new BufferedReader(new StringReader(obo())), bridge.getManager()
+            .createOntology());
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+    }
+
+    @Test
+    public void shouldReadStreamingParseFromLoaderConfiguration() throws Exception {
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration();
+        assertFalse(config.isStreamingOBO());
+        OWLOntologyLoaderConfiguration streaming = config.setStreamingOBO(true);
+        assertTrue(streaming.isStreamingOBO());
+        assertFalse(config.isStreamingOBO());
+        OWLOntology expected = load(config);
+        OWLOntology actual = load(streaming);
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+    }
+
+    private static OWLOntology load(OWLOntologyLoaderConfiguration config) throws Exception {
+        return setupManager().loadOntologyFromOntologyDocument(new StringDocumentSource(obo(), IRI.create(
+            "urn:test:obo"), new OBODocumentFormat(), null), config);
+    }
+}
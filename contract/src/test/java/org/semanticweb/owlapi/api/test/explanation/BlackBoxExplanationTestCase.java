@@ -0,0 +1,68 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.explanation;
+
+import static org.junit.Assert.*;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+import com.clarkparsia.owlapi.explanation.BlackBoxExplanation;
+import com.clarkparsia.owlapi.explanation.HSTExplanationGenerator;
+
+@SuppressWarnings("javadoc")
+public class BlackBoxExplanationTestCase extends TestBase {
+
+    private static OWLClass c(int i) {
+        return Class(IRI("urn:test#C" + i));
+    }
+
+    @Test
+    public void shouldExplainWithOneDebuggingOntology() throws OWLOntologyCreationException {
+        OWLClass a = Class(IRI("urn:test#A"));
+        OWLClass b = Class(IRI("urn:test#B"));
+        Set<OWLAxiom> justification = new HashSet<>();
+        justification.add(SubClassOf(a, b));
+        justification.add(SubClassOf(b, a));
+        justification.add(EquivalentClasses(b, OWLNothing()));
+        Set<OWLAxiom> axioms = new HashSet<>(justification);
+        // outside the module for A
+        for (int i = 0; i < 200; i++) {
+            axioms.add(SubClassOf(c(i), c(i + 1)));
+        }
+        axioms.add(SubClassOf(c(5), a));
+        OWLOntology o = m.createOntology(axioms);
+        OWLReasonerFactory factory = new StructuralReasonerFactory();
+        BlackBoxExplanation explanation = new BlackBoxExplanation(o, factory, factory.createReasoner(o));
+        int ontologies = m.getOntologies().size();
+        assertEquals(justification, explanation.getExplanation(a));
+        HSTExplanationGenerator generator = new HSTExplanationGenerator(explanation);
+        Set<Set<OWLAxiom>> explanations = generator.getExplanations(a);
+        assertEquals(1, explanations.size());
+        assertTrue(explanations.contains(justification));
+        // the debugging ontology is reused, and removed on dispose
+        assertEquals(ontologies + 1, m.getOntologies().size());
+        explanation.dispose();
+        assertEquals(ontologies, m.getOntologies().size());
+    }
+}
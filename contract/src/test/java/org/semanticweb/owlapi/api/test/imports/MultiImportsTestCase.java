@@ -12,17 +12,29 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.api.test.imports;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 import static org.semanticweb.owlapi.model.parameters.Imports.INCLUDED;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.MissingImportEvent;
+import org.semanticweb.owlapi.model.MissingImportHandlingStrategy;
+import org.semanticweb.owlapi.model.MissingImportListener;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderListener;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.profiles.OWLProfileReport;
 import org.semanticweb.owlapi.profiles.Profiles;
 import org.semanticweb.owlapi.util.AutoIRIMapper;
@@ -42,6 +54,70 @@ public class MultiImportsTestCase extends TestBase {
         m.loadOntologyFromOntologyDocument(new File(RESOURCES, "/imports/D.owl"));
     }
 
+    @Test
+    public void shouldLoadImportsInParallel() throws OWLOntologyCreationException {
+        m.getIRIMappers().add(new AutoIRIMapper(new File(RESOURCES, "imports"), true));
+        OWLOntology sequential = m.loadOntologyFromOntologyDocument(new File(RESOURCES, "/imports/D.owl"));
+        m1.getIRIMappers().add(new AutoIRIMapper(new File(RESOURCES, "imports"), true));
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration().setParallelImports(4);
+        OWLOntology parallel = m1.loadOntologyFromOntologyDocument(new FileDocumentSource(new File(RESOURCES,
+            "/imports/D.owl")), config);
+        assertEquals(ids(sequential.getImportsClosure()), ids(parallel.getImportsClosure()));
+        assertEquals(4, m1.getOntologies().size());
+        for (OWLOntology o : parallel.getImportsClosure()) {
+            assertSame(m1, o.getOWLOntologyManager());
+        }
+        assertEquals(sequential.getAxiomCount(INCLUDED), parallel.getAxiomCount(INCLUDED));
+    }
+
+    @Test
+    public void shouldReportMissingNestedImportInParallel() throws OWLOntologyCreationException {
+        OWLOntologyLoaderConfiguration config = new OWLOntologyLoaderConfiguration()
+            .setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT);
+        List<String> sequential = loadWithEvents(m, config);
+        List<String> parallel = loadWithEvents(m1, config.setParallelImports(4));
+        assertTrue(sequential.toString(), sequential.contains("missing file:/nonexistent/importsmissing/missing.owl"));
+        assertEquals(sequential, parallel);
+    }
+
+    private static List<String> loadWithEvents(OWLOntologyManager manager, OWLOntologyLoaderConfiguration config)
+        throws OWLOntologyCreationException {
+        final List<String> events = new ArrayList<>();
+        manager.getIRIMappers().add(new AutoIRIMapper(new File(RESOURCES, "importsmissing"), true));
+        manager.addMissingImportListener(new MissingImportListener() {
+
+            @Override
+            public void importMissing(MissingImportEvent event) {
+                events.add("missing " + event.getImportedOntologyURI());
+            }
+        });
+        manager.addOntologyLoaderListener(new OWLOntologyLoaderListener() {
+
+            @Override
+            public void startedLoadingOntology(LoadingStartedEvent event) {
+                events.add("started " + event.getDocumentIRI().getShortForm() + ' ' + event.isImported());
+            }
+
+            @Override
+            public void finishedLoadingOntology(LoadingFinishedEvent event) {
+                events.add("finished " + event.getDocumentIRI().getShortForm() + ' ' + event.isImported() + ' '
+                    + event.isSuccessful());
+            }
+        });
+        OWLOntology o = manager.loadOntologyFromOntologyDocument(new FileDocumentSource(new File(RESOURCES,
+            "importsmissing/top.ofn")), config);
+        assertEquals(2, o.getImportsClosure().size());
+        return events;
+    }
+
+    private static Set<OWLOntologyID> ids(Set<OWLOntology> ontologies) {
+        Set<OWLOntologyID> ids = new HashSet<>();
+        for (OWLOntology o : ontologies) {
+            ids.add(o.getOntologyID());
+        }
+        return ids;
+    }
+
     @Test
     public void testCyclicImports() throws OWLOntologyCreationException {
         m.getIRIMappers().add(new AutoIRIMapper(new File(RESOURCES, "importscyclic"), true));
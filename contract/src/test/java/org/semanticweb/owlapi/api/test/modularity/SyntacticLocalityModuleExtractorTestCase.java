@@ -0,0 +1,65 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.modularity;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+@SuppressWarnings("javadoc")
+public class SyntacticLocalityModuleExtractorTestCase extends TestBase {
+
+    private static OWLClass c(int i) {
+        return Class(IRI("urn:test#C" + i));
+    }
+
+    @Test
+    public void shouldExtractSameModulesWithAndWithoutIndex() throws OWLOntologyCreationException {
+        // large enough for the first round of checks to run in parallel
+        Set<OWLAxiom> axioms = new HashSet<>();
+        OWLObjectProperty p = ObjectProperty(IRI("urn:test#p"));
+        for (int i = 1; i < 3000; i++) {
+            axioms.add(SubClassOf(c(i), c(i / 3)));
+            axioms.add(SubClassOf(c(i), ObjectSomeValuesFrom(p, c((i * 7) % 3000))));
+            if (i % 5 == 0) {
+                axioms.add(DisjointClasses(c(i), c(i - 1)));
+            }
+        }
+        axioms.add(SubClassOf(ObjectSomeValuesFrom(p, c(2999)), c(1)));
+        OWLOntology o = m.createOntology(axioms);
+        for (ModuleType type : ModuleType.values()) {
+            SyntacticLocalityModuleExtractor indexed = new SyntacticLocalityModuleExtractor(m, o, type);
+            SyntacticLocalityModuleExtractor scan = new SyntacticLocalityModuleExtractor(m, o, type);
+            scan.setUseSignatureIndex(false);
+            for (int i : new int[] { 0, 17, 1500, 2999 }) {
+                Set<OWLEntity> signature = Collections.<OWLEntity> singleton(c(i));
+                assertEquals(type + " module for " + c(i), scan.extract(signature), indexed.extract(signature));
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.NodeSet;
@@ -56,6 +57,132 @@ public class StructuralReasonerTestCase extends TestBase {
         testClassHierarchy(reasoner);
     }
 
+    @Test
+    public void shouldMatchFreshReasonerAfterIncrementalChanges() {
+        OWLClass clsA = Class(iri("A"));
+        OWLClass clsB = Class(iri("B"));
+        OWLClass clsC = Class(iri("C"));
+        OWLClass clsD = Class(iri("D"));
+        OWLOntology ont = getOWLOntology("incremental");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        man.addAxiom(ont, SubClassOf(clsB, clsA));
+        man.addAxiom(ont, SubClassOf(clsC, clsB));
+        man.addAxiom(ont, SubClassOf(clsD, clsC));
+        StructuralReasoner reasoner = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        assertSameHierarchy(ont, reasoner, clsA, clsB, clsC, clsD);
+        // close a cycle over A, B, C
+        man.addAxiom(ont, SubClassOf(clsA, clsC));
+        man.addAxiom(ont, SubClassOf(clsC, clsA));
+        assertEquals(3, reasoner.getEquivalentClasses(clsB).getSize());
+        assertSameHierarchy(ont, reasoner, clsA, clsB, clsC, clsD);
+        // break it again, through an axiom that does not mention A
+        man.removeAxiom(ont, SubClassOf(clsC, clsB));
+        assertEquals(2, reasoner.getEquivalentClasses(clsA).getSize());
+        assertEquals(1, reasoner.getEquivalentClasses(clsB).getSize());
+        assertSameHierarchy(ont, reasoner, clsA, clsB, clsC, clsD);
+        man.removeAxiom(ont, SubClassOf(clsA, clsC));
+        assertSameHierarchy(ont, reasoner, clsA, clsB, clsC, clsD);
+        assertTrue(reasoner.getSubClasses(OWLThing(), true).containsEntity(clsA));
+        assertFalse(reasoner.getSubClasses(OWLThing(), true).containsEntity(clsC));
+    }
+
+    @Test
+    public void shouldComputeSameHierarchiesInParallel() {
+        OWLOntology ont = getOWLOntology("parallel");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        // enough classes to fetch the raw hierarchy in parallel
+        OWLClass[] classes = new OWLClass[3000];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Class(iri("C" + i));
+            if (i > 0) {
+                man.addAxiom(ont, SubClassOf(classes[i], classes[(i - 1) / 3]));
+            }
+        }
+        man.addAxiom(ont, SubClassOf(classes[0], classes[40]));
+        man.addAxiom(ont, SubObjectPropertyOf(ObjectProperty(iri("p")), ObjectProperty(iri("q"))));
+        man.addAxiom(ont, SubDataPropertyOf(DataProperty(iri("d")), DataProperty(iri("e"))));
+        StructuralReasoner serial = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        StructuralReasoner parallel = new StructuralReasoner(ont, new SimpleConfiguration().setOption(
+            ConfigurationOptions.STRUCTURAL_REASONER_THREADS, Integer.valueOf(4)), BufferingMode.NON_BUFFERING);
+        // C0, C1, C4, C13 and C40 form a cycle
+        assertEquals(5, parallel.getEquivalentClasses(classes[13]).getSize());
+        for (int i = 0; i < classes.length; i += 7) {
+            assertEquals(serial.getEquivalentClasses(classes[i]), parallel.getEquivalentClasses(classes[i]));
+            assertEquals(serial.getSuperClasses(classes[i], true), parallel.getSuperClasses(classes[i], true));
+        }
+        assertEquals(serial.getSubClasses(OWLThing(), true), parallel.getSubClasses(OWLThing(), true));
+        assertEquals(serial.getSuperClasses(OWLNothing(), true), parallel.getSuperClasses(OWLNothing(), true));
+        assertEquals(serial.getSuperObjectProperties(ObjectProperty(iri("p")), true), parallel
+            .getSuperObjectProperties(ObjectProperty(iri("p")), true));
+        assertEquals(serial.getSuperDataProperties(DataProperty(iri("d")), true), parallel.getSuperDataProperties(
+            DataProperty(iri("d")), true));
+    }
+
+    @Test
+    public void shouldAnswerNonDirectQueriesFromReachabilityIndex() {
+        OWLOntology ont = getOWLOntology("reachability");
+        OWLOntologyManager man = ont.getOWLOntologyManager();
+        OWLClass[] classes = new OWLClass[200];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = Class(iri("C" + i));
+            if (i > 0) {
+                man.addAxiom(ont, SubClassOf(classes[i], classes[(i - 1) / 2]));
+            }
+        }
+        // a diamond and a cycle
+        man.addAxiom(ont, SubClassOf(classes[150], classes[3]));
+        man.addAxiom(ont, SubClassOf(classes[1], classes[9]));
+        StructuralReasoner plain = new StructuralReasoner(ont, new SimpleConfiguration(),
+            BufferingMode.NON_BUFFERING);
+        StructuralReasoner indexed = new StructuralReasoner(ont, new SimpleConfiguration().setOption(
+            ConfigurationOptions.STRUCTURAL_REASONER_REACHABILITY_INDEX, Boolean.TRUE), BufferingMode.NON_BUFFERING);
+        // options not set in the configuration take the global value
+        String property = ConfigurationOptions.class.getName() + '.'
+            + ConfigurationOptions.STRUCTURAL_REASONER_REACHABILITY_INDEX.name();
+        System.setProperty(property, "true");
+        StructuralReasoner global;
+        try {
+            global = new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        } finally {
+            System.clearProperty(property);
+        }
+        assertTrue(global.isEntailed(SubClassOf(classes[150], classes[1])));
+        assertSameNonDirectHierarchy(plain, indexed, classes);
+        assertTrue(indexed.isEntailed(SubClassOf(classes[150], classes[1])));
+        assertTrue(indexed.isEntailed(SubClassOf(classes[9], classes[1])));
+        assertFalse(indexed.isEntailed(SubClassOf(classes[1], classes[150])));
+        assertFalse(plain.isEntailed(SubClassOf(classes[150], classes[1])));
+        // C1, C4 and C9 are equivalent until the cycle is broken
+        assertTrue(indexed.isEntailed(SubClassOf(classes[4], classes[9])));
+        man.removeAxiom(ont, SubClassOf(classes[1], classes[9]));
+        assertFalse(indexed.isEntailed(SubClassOf(classes[4], classes[9])));
+        assertSameNonDirectHierarchy(plain, indexed, classes);
+    }
+
+    private static void assertSameNonDirectHierarchy(@Nonnull StructuralReasoner plain,
+        @Nonnull StructuralReasoner indexed, OWLClass... classes) {
+        for (OWLClass c : classes) {
+            assertEquals(plain.getSuperClasses(c, false), indexed.getSuperClasses(c, false));
+            assertEquals(plain.getSubClasses(c, false), indexed.getSubClasses(c, false));
+        }
+        assertEquals(plain.getSubClasses(OWLThing(), false), indexed.getSubClasses(OWLThing(), false));
+        assertEquals(plain.getSuperClasses(OWLNothing(), false), indexed.getSuperClasses(OWLNothing(), false));
+    }
+
+    private static void assertSameHierarchy(@Nonnull OWLOntology ont, @Nonnull StructuralReasoner reasoner,
+        OWLClass... classes) {
+        StructuralReasoner fresh = new StructuralReasoner(ont, new SimpleConfiguration(), BufferingMode.NON_BUFFERING);
+        for (OWLClass c : classes) {
+            assertEquals(fresh.getEquivalentClasses(c), reasoner.getEquivalentClasses(c));
+            assertEquals(fresh.getSubClasses(c, true), reasoner.getSubClasses(c, true));
+            assertEquals(fresh.getSuperClasses(c, true), reasoner.getSuperClasses(c, true));
+        }
+        assertEquals(fresh.getSubClasses(OWLThing(), true), reasoner.getSubClasses(OWLThing(), true));
+        assertEquals(fresh.getSuperClasses(OWLNothing(), true), reasoner.getSuperClasses(OWLNothing(), true));
+    }
+
     private void testClassHierarchy(@Nonnull StructuralReasoner reasoner) {
         OWLClass clsX = Class(iri("X"));
         OWLClass clsA = Class(iri("A"));
@@ -0,0 +1,113 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.Builder;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.binary.BinarySnapshotVocabulary;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentTarget;
+import org.semanticweb.owlapi.io.UnparsableOntologyException;
+import org.semanticweb.owlapi.model.AddOntologyAnnotation;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+import com.google.common.base.Optional;
+
+@SuppressWarnings("javadoc")
+public class BinarySnapshotTestCase extends TestBase {
+
+    private OWLOntology ontology() throws Exception {
+        OWLOntology o = m.createOntology(new OWLOntologyID(Optional.of(IRI.create("urn:test:snapshot")), Optional
+            .of(IRI.create("urn:test:snapshot:1"))));
+        m.applyChange(new AddOntologyAnnotation(o, df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral(
+            "snapshot", "en"))));
+        m.addAxioms(o, new HashSet<>(new Builder().all()));
+        return o;
+    }
+
+    private static void assertSameContent(OWLOntology expected, OWLOntology actual) {
+        assertEquals(expected.getOntologyID(), actual.getOntologyID());
+        assertEquals(expected.getAnnotations(), actual.getAnnotations());
+        assertEquals(expected.getImportsDeclarations(), actual.getImportsDeclarations());
+        assertEquals(expected.getAxioms(), actual.getAxioms());
+    }
+
+    @Test
+    public void shouldRoundTripThroughStreams() throws Exception {
+        OWLOntology o = ontology();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.saveOntology(o, new BinarySnapshotDocumentFormat(), new StreamDocumentTarget(out));
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(new StreamDocumentSource(new ByteArrayInputStream(
+            out.toByteArray()), IRI.create("urn:test:document"), new BinarySnapshotDocumentFormat(), null));
+        assertSameContent(o, loaded);
+        assertTrue(m1.getOntologyFormat(loaded) instanceof BinarySnapshotDocumentFormat);
+    }
+
+    @Test
+    public void shouldRoundTripThroughMappedFile() throws Exception {
+        OWLOntology o = ontology();
+        File file = folder.newFile("snapshot.owls");
+        m.saveOntology(o, new BinarySnapshotDocumentFormat(), IRI.create(file));
+        OWLOntology loaded = m1.loadOntologyFromOntologyDocument(file);
+        assertSameContent(o, loaded);
+        assertTrue(m1.getOntologyFormat(loaded) instanceof BinarySnapshotDocumentFormat);
+    }
+
+    @Test(expected = UnparsableOntologyException.class)
+    public void shouldRejectTextDocuments() throws Exception {
+        OWLOntology o = m.createOntology(IRI.create("urn:test:text"));
+        m.addAxioms(o, new HashSet<>(new Builder().all()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.saveOntology(o, new FunctionalSyntaxDocumentFormat(), new StreamDocumentTarget(out));
+        m1.loadOntologyFromOntologyDocument(new StreamDocumentSource(new ByteArrayInputStream(out.toByteArray()), IRI
+            .create("urn:test:document"), new BinarySnapshotDocumentFormat(), null));
+    }
+
+    private void assertCorruptCountRejected(int... count) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BinarySnapshotDocumentFormat.MAGIC.getBytes(StandardCharsets.US_ASCII));
+        out.write(BinarySnapshotVocabulary.VERSION);
+        out.write(BinarySnapshotVocabulary.STRINGS);
+        out.write(count.length);
+        for (int b : count) {
+            out.write(b);
+        }
+        try {
+            m1.loadOntologyFromOntologyDocument(new StreamDocumentSource(new ByteArrayInputStream(out
+                .toByteArray()), IRI.create("urn:test:document"), new BinarySnapshotDocumentFormat(), null));
+            fail("corrupt count accepted");
+        } catch (UnparsableOntologyException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldRejectCorruptCounts() throws Exception {
+        // -1 and Integer.MAX_VALUE as string table sizes
+        assertCorruptCountRejected(0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        assertCorruptCountRejected(0xFF, 0xFF, 0xFF, 0xFF, 0x07);
+    }
+}
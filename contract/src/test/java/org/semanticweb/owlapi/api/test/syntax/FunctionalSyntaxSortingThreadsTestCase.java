@@ -0,0 +1,82 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.api.test.syntax;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.*;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.functional.renderer.FunctionalSyntaxObjectRenderer;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+@SuppressWarnings("javadoc")
+public class FunctionalSyntaxSortingThreadsTestCase extends TestBase {
+
+    private static String render(OWLOntology o, int threads) {
+        StringWriter w = new StringWriter();
+        FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(o, w);
+        renderer.setSortingThreads(threads);
+        o.accept(renderer);
+        return w.toString();
+    }
+
+    private String save(OWLOntology o, int threads) throws OWLOntologyStorageException {
+        FunctionalSyntaxDocumentFormat format = new FunctionalSyntaxDocumentFormat();
+        format.setParameter(ConfigurationOptions.SORTING_THREADS, Integer.valueOf(threads));
+        StringDocumentTarget target = new StringDocumentTarget();
+        m.saveOntology(o, format, target);
+        return target.toString();
+    }
+
+    private OWLOntology createOntology() throws OWLOntologyCreationException {
+        OWLOntology o = m.createOntology(IRI("urn:test:sorting"));
+        OWLObjectProperty p = ObjectProperty(IRI("urn:test#p"));
+        for (int i = 1; i < 1000; i++) {
+            OWLClass c = Class(IRI("urn:test#C" + i));
+            OWLClass parent = Class(IRI("urn:test#C" + i / 4));
+            m.addAxiom(o, Declaration(c));
+            m.addAxiom(o, SubClassOf(c, parent));
+            m.addAxiom(o, SubClassOf(c, ObjectSomeValuesFrom(p, Class(IRI("urn:test#C" + (i * 7) % 1000)))));
+            m.addAxiom(o, AnnotationAssertion(RDFSLabel(), c.getIRI(), Literal("class " + i)));
+            if (i % 3 == 0) {
+                m.addAxiom(o, DisjointClasses(c, parent));
+            }
+        }
+        return o;
+    }
+
+    @Test
+    public void shouldRenderSameOutputWithSortingThreads() throws OWLOntologyCreationException {
+        OWLOntology o = createOntology();
+        String expected = render(o, 0);
+        assertEquals(expected, render(o, 2));
+        assertEquals(expected, render(o, 8));
+    }
+
+    @Test
+    public void shouldSaveSameOutputWithSortingThreadsFromFormat() throws Exception {
+        OWLOntology o = createOntology();
+        String expected = save(o, 0);
+        assertEquals(expected, save(o, 4));
+    }
+}
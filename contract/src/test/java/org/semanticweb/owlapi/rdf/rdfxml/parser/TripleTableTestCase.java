@@ -0,0 +1,126 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
+
+@SuppressWarnings("javadoc")
+public class TripleTableTestCase {
+
+    private static final IRI S = IRI.create("urn:test#s");
+    private static final IRI P = IRI.create("urn:test#p");
+    private static final IRI Q = IRI.create("urn:test#q");
+    private static final IRI A = IRI.create("urn:test#a");
+    private static final IRI B = IRI.create("urn:test#b");
+    private static final IRI ON_PROPERTY = OWLRDFVocabulary.OWL_ON_PROPERTY.getIRI();
+    private final NodeIds ids = new NodeIds();
+    private final TripleTable triples = new TripleTable(ids);
+
+    @Test
+    public void shouldShareEqualIRIs() {
+        IRI first = ids.canonical(IRI.create("urn:test#shared"));
+        assertSame(first, ids.canonical(IRI.create("urn:test#shared")));
+        assertSame(first, ids.get(ids.find(IRI.create("urn:test#", "shared"))));
+    }
+
+    @Test
+    public void shouldKeepSetSemantics() {
+        triples.add(S, P, A);
+        triples.add(S, P, A);
+        triples.add(S, P, B);
+        OWLLiteral literal = new OWLDataFactoryImpl().getOWLLiteral("x");
+        triples.add(S, P, literal);
+        triples.add(S, P, literal);
+        assertEquals(3, triples.size());
+        assertEquals(Collections.singleton(P), triples.getPredicates(S));
+        assertTrue(triples.contains(S, P, literal, true));
+        assertTrue(triples.contains(S, P, A, true));
+        assertFalse(triples.contains(S, P, A, false));
+        assertEquals(B, triples.getResource(S, P, true));
+        assertEquals(0, triples.size());
+        assertFalse(triples.hasPredicate(S, P));
+        assertTrue(triples.getPredicates(S).isEmpty());
+    }
+
+    @Test
+    public void shouldReplaceObjectsOfSingleValuedPredicates() {
+        triples.addSingleValuedPredicate(ON_PROPERTY);
+        triples.add(S, ON_PROPERTY, A);
+        triples.add(S, ON_PROPERTY, B);
+        triples.add(S, Q, A);
+        assertEquals(2, triples.size());
+        assertEquals(Collections.singleton(B), triples.getResources(S, ON_PROPERTY));
+        // single valued predicates are not listed, nor iterated over
+        assertEquals(Collections.singleton(Q), triples.getPredicates(S));
+        final List<IRI> visited = new ArrayList<>();
+        triples.iterateResources(new ResourceTripleIterator() {
+
+            @Override
+            public void handleResourceTriple(IRI subject, IRI predicate, IRI object) {
+                visited.add(predicate);
+            }
+        }, false);
+        assertEquals(Arrays.asList(Q), visited);
+        // any object matches the triple for a single valued predicate
+        assertTrue(triples.contains(S, ON_PROPERTY, A, true));
+        assertNull(triples.getResource(S, ON_PROPERTY, false));
+    }
+
+    @Test
+    public void shouldSkipTriplesConsumedDuringIteration() {
+        triples.add(S, P, A);
+        triples.add(S, P, B);
+        triples.add(S, Q, A);
+        final List<IRI> visited = new ArrayList<>();
+        triples.iterateResources(S, new ResourceTripleIterator() {
+
+            @Override
+            public void handleResourceTriple(IRI subject, IRI predicate, IRI object) {
+                visited.add(predicate);
+                triples.contains(subject, predicate, object, true);
+                triples.contains(S, Q, A, true);
+            }
+        });
+        // objects for a predicate are collected before visiting them
+        assertEquals(Arrays.asList(P, P), visited);
+        assertEquals(0, triples.size());
+    }
+
+    @Test
+    public void shouldKeepNodeSetsByIds() {
+        NodeSet set = new NodeSet(ids);
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(set.add(IRI.create("urn:test#n" + i)));
+        }
+        assertFalse(set.add(IRI.create("urn:test#n10")));
+        assertTrue(set.contains(IRI.create("urn:test#n4999")));
+        assertFalse(set.contains(IRI.create("urn:test#none")));
+        assertFalse(set.contains("urn:test#n1"));
+        assertTrue(set.remove(IRI.create("urn:test#n0")));
+        assertEquals(4999, set.size());
+        assertEquals(IRI.create("urn:test#n1"), set.iterator().next());
+        assertEquals(5000, ids.size());
+    }
+}
@@ -13,7 +13,7 @@ import org.semanticweb.owlapi.util.PriorityCollection;
 @SuppressWarnings("javadoc")
 public class OWLOntologyStorerFactoryRegistryTest extends TestBase {
 
-    private static final int EXPECTED_STORERS = 20;
+    private static final int EXPECTED_STORERS = 21;
 
     @Test
     public void setUp() {
@@ -10,10 +10,12 @@ import javax.annotation.Nonnull;
 import org.junit.Before;
 import org.junit.Test;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormatFactory;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.RioRDFXMLDocumentFormat;
 import org.semanticweb.owlapi.formats.RioRDFXMLDocumentFormatFactory;
 import org.semanticweb.owlapi.io.StreamDocumentSource;
+import org.semanticweb.owlapi.io.StringDocumentSource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
@@ -149,4 +151,82 @@ public class RioParserTest extends TestBase {
         equal(owlapiOntologyPrimer, rioOntologyPrimer);
         assertEquals(4, rioOntologyPrimer.getAxiomCount());
     }
+
+    private static void triple(StringBuilder b, String subject, String predicate, String object) {
+        b.append(subject).append(' ').append(predicate).append(' ').append(object).append(" .\n");
+    }
+
+    /** Schema first, then the data grouped by subject, as in a sorted dump. */
+    @Nonnull
+    private static String subjectGroupedTriples() {
+        String type = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+        String owl = "http://www.w3.org/2002/07/owl#";
+        StringBuilder b = new StringBuilder();
+        triple(b, "<urn:test>", type, "<" + owl + "Ontology>");
+        triple(b, "<urn:test#knows>", type, "<" + owl + "ObjectProperty>");
+        triple(b, "<urn:test#age>", type, "<" + owl + "DatatypeProperty>");
+        for (int i = 0; i < 100; i++) {
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#knows>", "<urn:test#i" + (i + 1) % 100 + '>');
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#age>", "\"" + i + '"');
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#declaredLater>", "<urn:test#i0>");
+        }
+        // an annotated assertion, and a property declared after its use
+        triple(b, "_:x", type, "<" + owl + "Axiom>");
+        triple(b, "_:x", "<" + owl + "annotatedSource>", "<urn:test#i1>");
+        triple(b, "_:x", "<" + owl + "annotatedProperty>", "<urn:test#knows>");
+        triple(b, "_:x", "<" + owl + "annotatedTarget>", "<urn:test#i2>");
+        triple(b, "_:x", "<http://www.w3.org/2000/01/rdf-schema#comment>", "\"annotated\"");
+        triple(b, "<urn:test#declaredLater>", type, "<" + owl + "ObjectProperty>");
+        return b.toString();
+    }
+
+    @Test
+    public void shouldTranslateSameAxiomsWhenStreaming() throws Exception {
+        RioParserImpl rioParser = new RioParserImpl(new NTriplesDocumentFormatFactory());
+        OWLOntology expected = m.createOntology();
+        rioParser.parse(new StringDocumentSource(subjectGroupedTriples()), expected, config);
+        OWLOntology actual = m1.createOntology();
+        rioParser.parse(new StringDocumentSource(subjectGroupedTriples()), actual, config.setStreamingRDF(true));
+        equal(expected, actual);
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+    }
+
+    /**
+     * Declarations and reification node types first, as streaming expects;
+     * the properties have several kinds and the reification node is named.
+     */
+    @Nonnull
+    private static String declarationsFirstTriples() {
+        String type = "<http://www.w3.org/1999/02/22-rdf-syntax-ns#type>";
+        String owl = "http://www.w3.org/2002/07/owl#";
+        StringBuilder b = new StringBuilder();
+        triple(b, "<urn:test>", type, "<" + owl + "Ontology>");
+        triple(b, "<urn:test#p>", type, "<" + owl + "ObjectProperty>");
+        triple(b, "<urn:test#p>", type, "<" + owl + "AnnotationProperty>");
+        triple(b, "<urn:test#q>", type, "<" + owl + "DatatypeProperty>");
+        triple(b, "<urn:test#q>", type, "<" + owl + "AnnotationProperty>");
+        triple(b, "<urn:test#r>", type, "<" + owl + "ObjectProperty>");
+        triple(b, "<urn:test#ax>", type, "<" + owl + "Axiom>");
+        for (int i = 0; i < 20; i++) {
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#p>", "<urn:test#i" + (i + 1) + '>');
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#q>", "\"" + i + '"');
+            triple(b, "<urn:test#i" + i + '>', "<urn:test#r>", "<urn:test#i" + (i + 2) + '>');
+        }
+        triple(b, "<urn:test#ax>", "<" + owl + "annotatedSource>", "<urn:test#i1>");
+        triple(b, "<urn:test#ax>", "<" + owl + "annotatedProperty>", "<urn:test#r>");
+        triple(b, "<urn:test#ax>", "<" + owl + "annotatedTarget>", "<urn:test#i3>");
+        triple(b, "<urn:test#ax>", "<http://www.w3.org/2000/01/rdf-schema#comment>", "\"annotated\"");
+        return b.toString();
+    }
+
+    @Test
+    public void shouldTranslateSameAxiomsWhenStreamingDeclarationsFirst() throws Exception {
+        RioParserImpl rioParser = new RioParserImpl(new NTriplesDocumentFormatFactory());
+        OWLOntology expected = m.createOntology();
+        rioParser.parse(new StringDocumentSource(declarationsFirstTriples()), expected, config);
+        OWLOntology actual = m1.createOntology();
+        rioParser.parse(new StringDocumentSource(declarationsFirstTriples()), actual, config.setStreamingRDF(true));
+        equal(expected, actual);
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+    }
 }
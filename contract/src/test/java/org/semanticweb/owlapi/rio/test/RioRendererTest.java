@@ -8,6 +8,7 @@ import static org.junit.Assert.*;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.HashSet;
 
 import javax.annotation.Nonnull;
@@ -25,8 +26,12 @@ import org.openrdf.rio.RDFWriter;
 import org.openrdf.rio.Rio;
 import org.openrdf.rio.helpers.StatementCollector;
 import org.semanticweb.owlapi.api.test.baseclasses.TestBase;
+import org.semanticweb.owlapi.formats.NTriplesDocumentFormat;
+import org.semanticweb.owlapi.io.StringDocumentTarget;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.semanticweb.owlapi.model.parameters.DuplicateTripleCheck;
 import org.semanticweb.owlapi.rio.RioManchesterSyntaxParserFactory;
 import org.semanticweb.owlapi.rio.RioNTriplesStorerFactory;
 import org.semanticweb.owlapi.rio.RioRDFXMLStorerFactory;
@@ -154,6 +159,42 @@ public class RioRendererTest extends TestBase {
         assertEquals("Duplicate statements were emitted", 171, resultStatements.size());
     }
 
+    @Test
+    public void testRenderKoalaWithFingerprintCheck() throws IOException {
+        RioRenderer testRenderer = new RioRenderer(testOntologyKoala, testHandlerStatementCollector, null);
+        testRenderer.setDuplicateTripleCheck(DuplicateTripleCheck.FINGERPRINT);
+        testRenderer.render();
+        assertEquals(171, testHandlerStatementCollector.getStatements().size());
+        HashSet<Statement> resultStatements = new HashSet<>(testHandlerStatementCollector.getStatements());
+        assertEquals("Duplicate statements were emitted", 171, resultStatements.size());
+    }
+
+    @Test
+    public void testRenderKoalaWithEntityCheck() throws IOException {
+        RioRenderer testRenderer = new RioRenderer(testOntologyKoala, testHandlerStatementCollector, null);
+        testRenderer.setDuplicateTripleCheck(DuplicateTripleCheck.ENTITY);
+        testRenderer.render();
+        // statements shared by two entities can be emitted twice, but the
+        // graph is the same
+        assertTrue(testHandlerStatementCollector.getStatements().size() >= 171);
+        HashSet<Statement> resultStatements = new HashSet<>(testHandlerStatementCollector.getStatements());
+        assertEquals(171, resultStatements.size());
+    }
+
+    @Test
+    public void testSaveKoalaWithEntityCheckFromFormat() throws Exception {
+        StringDocumentTarget exact = new StringDocumentTarget();
+        m.saveOntology(testOntologyKoala, new NTriplesDocumentFormat(), exact);
+        NTriplesDocumentFormat format = new NTriplesDocumentFormat();
+        format.setParameter(ConfigurationOptions.DUPLICATE_TRIPLE_CHECK, DuplicateTripleCheck.ENTITY);
+        StringDocumentTarget entity = new StringDocumentTarget();
+        m.saveOntology(testOntologyKoala, format, entity);
+        String[] exactLines = exact.toString().split("\n");
+        String[] entityLines = entity.toString().split("\n");
+        assertTrue(entityLines.length > exactLines.length);
+        assertEquals(new HashSet<>(Arrays.asList(exactLines)), new HashSet<>(Arrays.asList(entityLines)));
+    }
+
     /*
      * Test method for
      * {@link org.semanticweb.owlapi.rio.RioRenderer#render(org.semanticweb.owlapi.io.RDFResource)}
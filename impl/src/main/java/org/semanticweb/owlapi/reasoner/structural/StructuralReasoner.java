@@ -17,12 +17,17 @@ import static org.semanticweb.owlapi.search.Searcher.*;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.reasoner.*;
 import org.semanticweb.owlapi.reasoner.impl.*;
 import org.semanticweb.owlapi.search.Filters;
@@ -48,10 +53,14 @@ public class StructuralReasoner extends OWLReasonerBase {
     private final DataPropertyHierarchyInfo dataPropertyHierarchyInfo = new DataPropertyHierarchyInfo();
     @Nonnull
     private static final Version VERSION = new Version(1, 0, 0, 0);
-    private boolean interrupted = false;
+    /** Entities below this count have their raw parents and children fetched on one thread. */
+    private static final int PARALLEL_FETCH_SIZE = 1024;
+    private volatile boolean interrupted = false;
     @Nonnull
     protected final ReasonerProgressMonitor pm;
     private boolean prepared = false;
+    private final int threads;
+    private final boolean useReachabilityIndex;
 
     /**
      * @param rootOntology
@@ -66,9 +75,21 @@ public class StructuralReasoner extends OWLReasonerBase {
         super(rootOntology, configuration, bufferingMode);
         checkNotNull(configuration, "configuration cannot be null");
         pm = configuration.getProgressMonitor();
+        threads = getValue(ConfigurationOptions.STRUCTURAL_REASONER_THREADS, Integer.class, configuration)
+            .intValue();
+        useReachabilityIndex = getValue(ConfigurationOptions.STRUCTURAL_REASONER_REACHABILITY_INDEX, Boolean.class,
+            configuration).booleanValue();
         prepareReasoner();
     }
 
+    private static <T> T getValue(ConfigurationOptions option, Class<T> type,
+        OWLReasonerConfiguration configuration) {
+        if (configuration instanceof SimpleConfiguration) {
+            return ((SimpleConfiguration) configuration).getValue(option, type);
+        }
+        return option.getValue(type, Collections.<ConfigurationOptions, Object> emptyMap());
+    }
+
     @Nonnull
     @Override
     public String getReasonerName() {
@@ -123,12 +144,66 @@ public class StructuralReasoner extends OWLReasonerBase {
      *         on timeout
      */
     public final void prepareReasoner() {
-        classHierarchyInfo.computeHierarchy();
-        objectPropertyHierarchyInfo.computeHierarchy();
-        dataPropertyHierarchyInfo.computeHierarchy();
+        if (threads < 2) {
+            classHierarchyInfo.computeHierarchy(pm, null);
+            objectPropertyHierarchyInfo.computeHierarchy(pm, null);
+            dataPropertyHierarchyInfo.computeHierarchy(pm, null);
+            prepared = true;
+            return;
+        }
+        // the hierarchies are independent; progress is reported for the
+        // whole task, as monitors do not expect concurrent tasks
+        pm.reasonerTaskStarted("Computing class and property hierarchies");
+        pm.reasonerTaskBusy();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<HierarchyTask> tasks = Arrays.asList(new HierarchyTask(classHierarchyInfo, pool), new HierarchyTask(
+                objectPropertyHierarchyInfo, pool), new HierarchyTask(dataPropertyHierarchyInfo, pool));
+            for (Future<Void> f : pool.invokeAll(tasks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReasonerInterruptedException(e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            pool.shutdown();
+            pm.reasonerTaskStopped();
+        }
         prepared = true;
     }
 
+    @Nonnull
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            // interruptions and timeouts keep their type
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new OWLRuntimeException(cause);
+    }
+
+    /** Computes one hierarchy, sharing the pool with the other hierarchies. */
+    private static class HierarchyTask implements Callable<Void> {
+
+        private final AbstractHierarchyInfo<?> hierarchyInfo;
+        private final ForkJoinPool pool;
+
+        HierarchyTask(AbstractHierarchyInfo<?> hierarchyInfo, ForkJoinPool pool) {
+            this.hierarchyInfo = hierarchyInfo;
+            this.pool = pool;
+        }
+
+        @Override
+        public Void call() {
+            hierarchyInfo.computeHierarchy(new NullReasonerProgressMonitor(), pool);
+            return null;
+        }
+    }
+
     @Override
     public void precomputeInferences(InferenceType... inferenceTypes) {
         prepareReasoner();
@@ -171,6 +246,15 @@ public class StructuralReasoner extends OWLReasonerBase {
 
     @Override
     public boolean isEntailed(OWLAxiom axiom) {
+        if (useReachabilityIndex && axiom instanceof OWLSubClassOfAxiom) {
+            OWLSubClassOfAxiom ax = (OWLSubClassOfAxiom) axiom;
+            if (!ax.getSubClass().isAnonymous() && !ax.getSuperClass().isAnonymous()) {
+                ensurePrepared();
+                if (classHierarchyInfo.isAncestor(ax.getSubClass().asOWLClass(), ax.getSuperClass().asOWLClass())) {
+                    return true;
+                }
+            }
+        }
         return getRootOntology().containsAxiom(axiom, INCLUDED, AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS);
     }
 
@@ -178,7 +262,7 @@ public class StructuralReasoner extends OWLReasonerBase {
     public boolean isEntailed(@Nonnull Set<? extends OWLAxiom> axioms) {
         for (OWLAxiom ax : axioms) {
             assert ax != null;
-            if (!getRootOntology().containsAxiom(ax, INCLUDED, AxiomAnnotations.IGNORE_AXIOM_ANNOTATIONS)) {
+            if (!isEntailed(ax)) {
                 return false;
             }
         }
@@ -684,6 +768,11 @@ public class StructuralReasoner extends OWLReasonerBase {
         private final NodeCache<T> nodeCache;
         private final String name;
         private int classificationSize;
+        @Nonnull
+        private ReasonerProgressMonitor monitor = new NullReasonerProgressMonitor();
+        /** Built on the first non direct query, dropped on changes. */
+        @Nullable
+        private volatile ReachabilityIndex<T> reachability;
 
         AbstractHierarchyInfo(String name, @Nonnull T topEntity, @Nonnull T bottomEntity,
             RawHierarchyProvider<T> rawParentChildProvider) {
@@ -742,10 +831,21 @@ public class StructuralReasoner extends OWLReasonerBase {
             return result;
         }
 
-        public void computeHierarchy() {
-            pm.reasonerTaskStarted("Computing " + name + " hierarchy");
-            pm.reasonerTaskBusy();
+        /**
+         * @param progressMonitor
+         *        monitor for this computation
+         * @param pool
+         *        pool to fetch the raw parents and children with; if
+         *        {@code null}, all work happens on the calling thread
+         */
+        public void computeHierarchy(@Nonnull ReasonerProgressMonitor progressMonitor, @Nullable ForkJoinPool pool) {
+            monitor = progressMonitor;
+            reachability = null;
+            monitor.reasonerTaskStarted("Computing " + name + " hierarchy");
+            monitor.reasonerTaskBusy();
             nodeCache.clear();
+            directChildrenOfTopNode.clear();
+            directParentsOfBottomNode.clear();
             Map<T, Collection<T>> cache = new HashMap<>();
             Set<T> entities = new HashSet<>();
             for (OWLOntology ont : getRootOntology().getImportsClosure()) {
@@ -753,30 +853,62 @@ public class StructuralReasoner extends OWLReasonerBase {
                 entities.addAll(getEntities(ont));
             }
             classificationSize = entities.size();
-            pm.reasonerTaskProgressChanged(0, classificationSize);
-            updateForSignature(entities, cache);
-            pm.reasonerTaskStopped();
+            monitor.reasonerTaskProgressChanged(0, classificationSize);
+            updateForSignature(entities, cache, null, pool);
+            monitor.reasonerTaskStopped();
         }
 
-        private void updateForSignature(@Nonnull Set<T> signature, @Nullable Map<T, Collection<T>> cache) {
+        /**
+         * Recomputes the nodes of the specified entities. Nodes of entities
+         * outside the signature are left untouched, so the signature must
+         * contain all the members of the nodes that can change.
+         * 
+         * @param signature
+         *        entities to recompute
+         * @param cache
+         *        cache of raw parents, may be {@code null}
+         * @param scope
+         *        if not {@code null}, the search for cycles does not leave
+         *        this set of entities
+         * @param pool
+         *        if not {@code null}, the raw parents and children of the
+         *        signature are fetched in parallel before the search; needs
+         *        a cache
+         */
+        private void updateForSignature(@Nonnull Set<T> signature, @Nullable Map<T, Collection<T>> cache,
+            @Nullable Set<T> scope, @Nullable ForkJoinPool pool) {
             HashSet<Set<T>> cyclesResult = new HashSet<>();
             Set<T> processed = new HashSet<>();
-            nodeCache.clearTopNode();
-            nodeCache.clearBottomNode();
             nodeCache.clearNodes(signature);
-            directChildrenOfTopNode.removeAll(signature);
+            if (signature.contains(topEntity)) {
+                nodeCache.clearTopNode();
+            }
+            if (signature.contains(bottomEntity)) {
+                nodeCache.clearBottomNode();
+            }
             Set<T> equivTopOrChildrenOfTop = new HashSet<>();
             Set<T> equivBottomOrParentsOfBottom = new HashSet<>();
+            if (pool != null && cache != null && signature.size() >= PARALLEL_FETCH_SIZE) {
+                fetchRawEdges(signature, cache, equivTopOrChildrenOfTop, equivBottomOrParentsOfBottom, pool);
+            }
+            // one search over all the roots: shared ancestors are visited once
+            Stack<T> stack = new Stack<>();
+            Map<T, Integer> indexMap = new HashMap<>();
+            Map<T, Integer> lowlinkMap = new HashMap<>();
+            Set<T> stackEntities = new HashSet<>();
+            int index = 0;
             for (T entity : signature) {
                 assert entity != null;
-                if (!processed.contains(entity)) {
-                    pm.reasonerTaskProgressChanged(processed.size(), signature.size());
-                    tarjan(entity, 0, new Stack<T>(), new HashMap<T, Integer>(), new HashMap<T, Integer>(),
-                        cyclesResult, processed, new HashSet<T>(), cache, equivTopOrChildrenOfTop,
-                        equivBottomOrParentsOfBottom);
+                if (!indexMap.containsKey(entity)) {
+                    monitor.reasonerTaskProgressChanged(processed.size(), signature.size());
+                    index = tarjan(entity, index, stack, indexMap, lowlinkMap, cyclesResult, processed,
+                        stackEntities, cache, scope, equivTopOrChildrenOfTop, equivBottomOrParentsOfBottom);
                     throwExceptionIfInterrupted();
                 }
             }
+            // the flags of all visited entities are computed again below
+            directChildrenOfTopNode.removeAll(processed);
+            directParentsOfBottomNode.removeAll(processed);
             // Store new cycles
             for (Set<T> cycle : cyclesResult) {
                 assert cycle != null;
@@ -823,7 +955,12 @@ public class StructuralReasoner extends OWLReasonerBase {
 
         /**
          * Processes the specified signature that represents the signature of
-         * potential changes.
+         * potential changes. Only the nodes of the changed entities are
+         * recomputed: removing axioms can only split the existing nodes of
+         * those entities, so the search for cycles stays within them; added
+         * axioms can merge nodes along any path through the new edges, so the
+         * search follows the ancestors of the changed entities, visiting each
+         * of them once.
          * 
          * @param signature
          *        The signature
@@ -832,10 +969,81 @@ public class StructuralReasoner extends OWLReasonerBase {
          * @param removed
          *        removed axioms
          */
-        @SuppressWarnings("unused")
         public void processChanges(@Nonnull Set<T> signature, @Nonnull Set<OWLAxiom> added,
             @Nonnull Set<OWLAxiom> removed) {
-            updateForSignature(signature, null);
+            if (signature.isEmpty()) {
+                return;
+            }
+            Set<T> affected = new HashSet<>();
+            for (T entity : signature) {
+                assert entity != null;
+                affected.addAll(nodeCache.getNode(entity).getEntities());
+            }
+            Set<T> scope = getEntitiesInSignature(added).isEmpty() ? affected : null;
+            monitor = pm;
+            reachability = null;
+            updateForSignature(affected, new HashMap<T, Collection<T>>(), scope, null);
+        }
+
+        /**
+         * Fetches the raw parents of the specified entities into the cache,
+         * and notes which ones are children of top or parents of bottom, in
+         * parallel. The search for cycles then runs on the cached parents.
+         */
+        private void fetchRawEdges(@Nonnull Set<T> entities, @Nonnull Map<T, Collection<T>> cache,
+            @Nonnull Set<T> childrenOfTop, @Nonnull Set<T> parentsOfBottom, @Nonnull ForkJoinPool pool) {
+            List<T> list = new ArrayList<>(entities);
+            List<RawEdgesFetch> fetches = new ArrayList<>();
+            int chunk = (list.size() + threads - 1) / threads;
+            for (int from = 0; from < list.size(); from += chunk) {
+                fetches.add(new RawEdgesFetch(list.subList(from, Math.min(list.size(), from + chunk))));
+            }
+            try {
+                for (Future<Void> f : pool.invokeAll(fetches)) {
+                    f.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ReasonerInterruptedException(e);
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            }
+            for (RawEdgesFetch fetch : fetches) {
+                cache.putAll(fetch.parents);
+                childrenOfTop.addAll(fetch.childrenOfTop);
+                parentsOfBottom.addAll(fetch.parentsOfBottom);
+            }
+        }
+
+        /** Raw parents and children of a slice of the entities. */
+        private class RawEdgesFetch implements Callable<Void> {
+
+            private final List<T> entities;
+            final Map<T, Collection<T>> parents = new HashMap<>();
+            final Set<T> childrenOfTop = new HashSet<>();
+            final Set<T> parentsOfBottom = new HashSet<>();
+
+            RawEdgesFetch(List<T> entities) {
+                this.entities = entities;
+            }
+
+            @Override
+            public Void call() {
+                for (T entity : entities) {
+                    assert entity != null;
+                    Collection<T> rawParents = rawParentChildProvider.getParents(entity);
+                    if (rawParents.isEmpty() || rawParents.contains(topEntity)) {
+                        childrenOfTop.add(entity);
+                    }
+                    parents.put(entity, rawParents);
+                    Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
+                    if (rawChildren.isEmpty() || rawChildren.contains(bottomEntity)) {
+                        parentsOfBottom.add(entity);
+                    }
+                    throwExceptionIfInterrupted();
+                }
+                return null;
+            }
         }
 
         /**
@@ -861,26 +1069,31 @@ public class StructuralReasoner extends OWLReasonerBase {
          * @param cache
          *        A cache of children to parents - may be {@code null} if no
          *        caching is to take place.
+         * @param scope
+         *        entities the search is restricted to - may be {@code null}
+         *        for no restriction
          * @param childrenOfTop
          *        A set of entities that have a raw parent that is the top
          *        entity
          * @param parentsOfBottom
          *        A set of entities that have a raw parent that is the bottom
          *        entity
+         * @return the next free index
          */
-        public void tarjan(@Nonnull T entity, int inputIndex, @Nonnull Stack<T> stack,
+        public int tarjan(@Nonnull T entity, int inputIndex, @Nonnull Stack<T> stack,
             @Nonnull Map<T, Integer> indexMap, @Nonnull Map<T, Integer> lowlinkMap, @Nonnull Set<Set<T>> result,
             @Nonnull Set<T> processed, @Nonnull Set<T> stackEntities, @Nullable Map<T, Collection<T>> cache,
-            @Nonnull Set<T> childrenOfTop, @Nonnull Set<T> parentsOfBottom) {
+            @Nullable Set<T> scope, @Nonnull Set<T> childrenOfTop, @Nonnull Set<T> parentsOfBottom) {
             int index = inputIndex;
             throwExceptionIfInterrupted();
-            if (processed.add(entity)) {
+            // entities already in the cache were fetched ahead of the search
+            if (processed.add(entity) && (cache == null || !cache.containsKey(entity))) {
                 Collection<T> rawChildren = rawParentChildProvider.getChildren(entity);
                 if (rawChildren.isEmpty() || rawChildren.contains(bottomEntity)) {
                     parentsOfBottom.add(entity);
                 }
             }
-            pm.reasonerTaskProgressChanged(processed.size(), classificationSize);
+            monitor.reasonerTaskProgressChanged(processed.size(), classificationSize);
             indexMap.put(entity, index);
             lowlinkMap.put(entity, index);
             index += 1;
@@ -909,9 +1122,13 @@ public class StructuralReasoner extends OWLReasonerBase {
             }
             for (T superEntity : rawParents) {
                 assert superEntity != null;
+                if (scope != null && !scope.contains(superEntity)) {
+                    continue;
+                }
                 if (!indexMap.containsKey(superEntity)) {
-                    tarjan(superEntity, index, stack, indexMap, lowlinkMap, result, processed, stackEntities, cache,
-                        childrenOfTop, parentsOfBottom);
+                    // indexes must be unique across the whole search
+                    index = tarjan(superEntity, index, stack, indexMap, lowlinkMap, result, processed,
+                        stackEntities, cache, scope, childrenOfTop, parentsOfBottom);
                     lowlinkMap.put(entity, Math.min(lowlinkMap.get(entity), lowlinkMap.get(superEntity)));
                 } else if (stackEntities.contains(superEntity)) {
                     lowlinkMap.put(entity, Math.min(lowlinkMap.get(entity), indexMap.get(superEntity)));
@@ -932,10 +1149,131 @@ public class StructuralReasoner extends OWLReasonerBase {
                     result.add(scc);
                 }
             }
+            return index;
+        }
+
+        /**
+         * @return the reachability index, built if necessary, or {@code null}
+         *         if the index is not in use
+         */
+        @Nullable
+        private ReachabilityIndex<T> getReachability() {
+            if (!useReachabilityIndex) {
+                return null;
+            }
+            ReachabilityIndex<T> index = reachability;
+            if (index == null) {
+                synchronized (this) {
+                    index = reachability;
+                    if (index == null) {
+                        index = buildReachabilityIndex();
+                        reachability = index;
+                    }
+                }
+            }
+            return index;
+        }
+
+        /**
+         * @param entity
+         *        entity
+         * @param ancestor
+         *        candidate ancestor
+         * @return true if the candidate is equivalent to or an ancestor of the
+         *         entity according to the reachability index; false if the
+         *         index is not in use or does not know either entity
+         */
+        boolean isAncestor(@Nonnull T entity, @Nonnull T ancestor) {
+            ReachabilityIndex<T> index = getReachability();
+            return index != null && index.isAncestor(entity, ancestor);
+        }
+
+        /**
+         * Computes the ancestors and descendants of every node, following the
+         * same edges as the non direct queries below, so that the index gives
+         * the same answers.
+         */
+        @Nonnull
+        private ReachabilityIndex<T> buildReachabilityIndex() {
+            Map<T, Integer> ids = new HashMap<>();
+            List<Node<T>> nodes = new ArrayList<>();
+            int top = id(topEntity, ids, nodes);
+            int bottom = id(bottomEntity, ids, nodes);
+            for (OWLOntology ont : getRootOntology().getImportsClosure()) {
+                assert ont != null;
+                for (T entity : getEntities(ont)) {
+                    id(entity, ids, nodes);
+                }
+            }
+            List<int[]> up = new ArrayList<>();
+            List<int[]> down = new ArrayList<>();
+            BitSet scratch = new BitSet();
+            // raw parents and children can add nodes to the list
+            for (int i = 0; i < nodes.size(); i++) {
+                Node<T> node = nodes.get(i);
+                if (i != top) {
+                    for (T equiv : node) {
+                        assert equiv != null;
+                        for (T parent : rawParentChildProvider.getParents(equiv)) {
+                            scratch.set(id(parent, ids, nodes));
+                        }
+                        if (directChildrenOfTopNode.contains(equiv)) {
+                            scratch.set(top);
+                        }
+                    }
+                    if (i == bottom) {
+                        for (T parent : directParentsOfBottomNode) {
+                            scratch.set(id(parent, ids, nodes));
+                        }
+                    }
+                }
+                scratch.clear(i);
+                up.add(ReachabilityIndex.drain(scratch));
+                if (i != bottom) {
+                    for (T equiv : node) {
+                        assert equiv != null;
+                        for (T child : rawParentChildProvider.getChildren(equiv)) {
+                            scratch.set(id(child, ids, nodes));
+                        }
+                        if (directParentsOfBottomNode.contains(equiv)) {
+                            scratch.set(bottom);
+                        }
+                    }
+                    if (i == top) {
+                        for (T child : directChildrenOfTopNode) {
+                            scratch.set(id(child, ids, nodes));
+                        }
+                    }
+                }
+                scratch.clear(i);
+                down.add(ReachabilityIndex.drain(scratch));
+                throwExceptionIfInterrupted();
+            }
+            return new ReachabilityIndex<>(ids, nodes, ReachabilityIndex.closures(up), ReachabilityIndex
+                .closures(down));
+        }
+
+        private int id(@Nonnull T entity, @Nonnull Map<T, Integer> ids, @Nonnull List<Node<T>> nodes) {
+            Integer id = ids.get(entity);
+            if (id == null) {
+                id = Integer.valueOf(nodes.size());
+                Node<T> node = nodeCache.getNode(entity);
+                nodes.add(node);
+                for (T equiv : node) {
+                    ids.put(equiv, id);
+                }
+            }
+            return id.intValue();
         }
 
         @Nonnull
         public NodeSet<T> getNodeHierarchyChildren(@Nonnull T parent, boolean direct, @Nonnull DefaultNodeSet<T> ns) {
+            if (!direct) {
+                ReachabilityIndex<T> index = getReachability();
+                if (index != null && index.addDescendants(parent, ns)) {
+                    return ns;
+                }
+            }
             Node<T> node = nodeCache.getNode(parent);
             if (node.isBottomNode()) {
                 return ns;
@@ -968,6 +1306,12 @@ public class StructuralReasoner extends OWLReasonerBase {
 
         @Nonnull
         public NodeSet<T> getNodeHierarchyParents(@Nonnull T child, boolean direct, @Nonnull DefaultNodeSet<T> ns) {
+            if (!direct) {
+                ReachabilityIndex<T> index = getReachability();
+                if (index != null && index.addAncestors(child, ns)) {
+                    return ns;
+                }
+            }
             Node<T> node = nodeCache.getNode(child);
             if (node.isTopNode()) {
                 return ns;
@@ -1004,6 +1348,123 @@ public class StructuralReasoner extends OWLReasonerBase {
         }
     }
 
+    /**
+     * Transitive closure of a hierarchy: nodes have dense ids, and the
+     * ancestors and descendants of each node are kept as sorted arrays of ids.
+     */
+    private static class ReachabilityIndex<T extends OWLObject> {
+
+        private static final int[] NONE = new int[0];
+        @Nonnull
+        private final Map<T, Integer> ids;
+        @Nonnull
+        private final List<Node<T>> nodes;
+        @Nonnull
+        private final int[][] ancestors;
+        @Nonnull
+        private final int[][] descendants;
+
+        ReachabilityIndex(@Nonnull Map<T, Integer> ids, @Nonnull List<Node<T>> nodes, @Nonnull int[][] ancestors,
+            @Nonnull int[][] descendants) {
+            this.ids = ids;
+            this.nodes = nodes;
+            this.ancestors = ancestors;
+            this.descendants = descendants;
+        }
+
+        boolean addAncestors(@Nonnull T entity, @Nonnull DefaultNodeSet<T> ns) {
+            return addNodes(ancestors, entity, ns);
+        }
+
+        boolean addDescendants(@Nonnull T entity, @Nonnull DefaultNodeSet<T> ns) {
+            return addNodes(descendants, entity, ns);
+        }
+
+        private boolean addNodes(@Nonnull int[][] closures, @Nonnull T entity, @Nonnull DefaultNodeSet<T> ns) {
+            Integer id = ids.get(entity);
+            if (id == null) {
+                return false;
+            }
+            for (int i : closures[id.intValue()]) {
+                ns.addNode(nodes.get(i));
+            }
+            return true;
+        }
+
+        boolean isAncestor(@Nonnull T entity, @Nonnull T ancestor) {
+            Integer id = ids.get(entity);
+            Integer other = ids.get(ancestor);
+            if (id == null || other == null) {
+                return false;
+            }
+            return id.equals(other) || Arrays.binarySearch(ancestors[id.intValue()], other.intValue()) >= 0;
+        }
+
+        /**
+         * @param edges
+         *        successors of each node
+         * @return nodes reachable from each node
+         */
+        @Nonnull
+        static int[][] closures(@Nonnull List<int[]> edges) {
+            int[][] result = new int[edges.size()][];
+            BitSet scratch = new BitSet(edges.size());
+            BitSet inProgress = new BitSet(edges.size());
+            for (int i = 0; i < result.length; i++) {
+                closure(i, edges, result, scratch, inProgress);
+            }
+            return result;
+        }
+
+        private static void closure(int id, @Nonnull List<int[]> edges, @Nonnull int[][] result,
+            @Nonnull BitSet scratch, @Nonnull BitSet inProgress) {
+            if (result[id] != null) {
+                return;
+            }
+            inProgress.set(id);
+            int[] next = edges.get(id);
+            for (int n : next) {
+                // edges back to a node in progress can only come from a
+                // cycle through top or bottom; the node is skipped
+                if (!inProgress.get(n)) {
+                    closure(n, edges, result, scratch, inProgress);
+                }
+            }
+            // the scratch set is only used after the recursive calls
+            for (int n : next) {
+                scratch.set(n);
+                if (result[n] != null) {
+                    for (int reached : result[n]) {
+                        scratch.set(reached);
+                    }
+                }
+            }
+            scratch.clear(id);
+            result[id] = drain(scratch);
+            inProgress.clear(id);
+        }
+
+        /**
+         * @param bits
+         *        bits to read; cleared on return
+         * @return the set bits, in increasing order
+         */
+        @Nonnull
+        static int[] drain(@Nonnull BitSet bits) {
+            int size = bits.cardinality();
+            if (size == 0) {
+                return NONE;
+            }
+            int[] result = new int[size];
+            int j = 0;
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                result[j++] = i;
+            }
+            bits.clear();
+            return result;
+        }
+    }
+
     private static class NodeCache<T extends OWLObject> {
 
         @Nonnull
@@ -44,42 +44,49 @@ public class ClassAxiomByClassPointer extends
         super(t, v, initialized, i);
     }
 
-    @Nonnull
     @Override
-    public synchronized ClassAxiomByClassPointer init() {
-        if (isInitialized()) {
-            return this;
-        }
-        super.init();
+    protected void loadAxioms() {
         // special case: this map needs other maps to be initialized first
+        loadClassAxioms(i, this);
+    }
+
+    /**
+     * Copies into the target pointer the class axioms indexed by the
+     * equivalent, subclass, disjoint and disjoint union pointers.
+     * 
+     * @param i
+     *        internals holding the source pointers
+     * @param target
+     *        pointer to fill
+     */
+    static void loadClassAxioms(@Nonnull Internals i, @Nonnull MapPointer<OWLClass, OWLClassAxiom> target) {
         MapPointer<OWLClass, OWLEquivalentClassesAxiom> equivalent = i.get(
                 OWLClass.class, OWLEquivalentClassesAxiom.class).get();
         for (OWLClass c : equivalent.keySet()) {
             for (OWLClassAxiom ax : equivalent.getValues(c)) {
-                put(c, ax);
+                target.putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLSubClassOfAxiom> lhs = i.get(OWLClass.class,
                 OWLSubClassOfAxiom.class).get();
         for (OWLClass c : lhs.keySet()) {
             for (OWLClassAxiom ax : lhs.getValues(c)) {
-                put(c, ax);
+                target.putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLDisjointClassesAxiom> disjoints = i.get(
                 OWLClass.class, OWLDisjointClassesAxiom.class).get();
         for (OWLClass c : disjoints.keySet()) {
             for (OWLClassAxiom ax : disjoints.getValues(c)) {
-                put(c, ax);
+                target.putInternal(c, ax);
             }
         }
         MapPointer<OWLClass, OWLDisjointUnionAxiom> disjointUnion = i.get(
                 OWLClass.class, OWLDisjointUnionAxiom.class).get();
         for (OWLClass c : disjointUnion.keySet()) {
             for (OWLClassAxiom ax : disjointUnion.getValues(c)) {
-                put(c, ax);
+                target.putInternal(c, ax);
             }
         }
-        return this;
     }
 }
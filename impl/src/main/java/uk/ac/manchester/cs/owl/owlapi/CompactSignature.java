@@ -0,0 +1,157 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+
+/**
+ * Immutable view of a signature kept as an array of entities sorted by hash
+ * code. Small signatures are scanned, larger ones are searched by hash code;
+ * the array costs a fraction of a hash set, and does not depend on the
+ * garbage collector to stay around.
+ *
+ * @author ignazio
+ */
+final class CompactSignature extends AbstractSet<OWLEntity> {
+
+    /**
+     * True if axioms keep their signature once computed; read from
+     * {@link ConfigurationOptions#COMPACT_AXIOM_SIGNATURES} once per JVM.
+     */
+    private static volatile boolean enabled = ConfigurationOptions.COMPACT_AXIOM_SIGNATURES.getValue(Boolean.class,
+        Collections.<ConfigurationOptions, Object> emptyMap()).booleanValue();
+    /** Signatures up to this size are scanned rather than searched. */
+    private static final int SCAN_SIZE = 8;
+    private static final Comparator<OWLEntity> BY_HASH = new Comparator<OWLEntity>() {
+
+        @Override
+        public int compare(OWLEntity o1, OWLEntity o2) {
+            return Integer.compare(o1.hashCode(), o2.hashCode());
+        }
+    };
+    @Nonnull
+    private final OWLEntity[] entities;
+
+    /**
+     * @param entities
+     *        entities sorted with {@link #sort(Collection)}; not copied
+     */
+    CompactSignature(@Nonnull OWLEntity[] entities) {
+        this.entities = entities;
+    }
+
+    /**
+     * @return true if axioms keep their signature as a sorted array
+     */
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Overrides the configured value; meant for tests, as axioms created
+     * earlier keep the signature they have already computed.
+     * 
+     * @param b
+     *        true if axioms should keep their signature as a sorted array
+     */
+    static void setEnabled(boolean b) {
+        enabled = b;
+    }
+
+    /**
+     * @param signature
+     *        entities without duplicates
+     * @return the entities, in the order used for searching
+     */
+    @Nonnull
+    static OWLEntity[] sort(@Nonnull Collection<OWLEntity> signature) {
+        OWLEntity[] array = signature.toArray(new OWLEntity[signature.size()]);
+        if (array.length > SCAN_SIZE) {
+            Arrays.sort(array, BY_HASH);
+        }
+        return array;
+    }
+
+    /**
+     * @param entities
+     *        entities sorted with {@link #sort(Collection)}
+     * @param o
+     *        object to look for
+     * @return true if the object is one of the entities
+     */
+    static boolean contains(@Nonnull OWLEntity[] entities, Object o) {
+        if (!(o instanceof OWLEntity)) {
+            return false;
+        }
+        if (entities.length <= SCAN_SIZE) {
+            for (OWLEntity e : entities) {
+                if (e.equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int hash = o.hashCode();
+        int low = 0;
+        int high = entities.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int h = entities[mid].hashCode();
+            if (h < hash) {
+                low = mid + 1;
+            } else if (h > hash) {
+                high = mid - 1;
+            } else {
+                // check all entities with the same hash code
+                for (int i = mid; i >= 0 && entities[i].hashCode() == hash; i--) {
+                    if (entities[i].equals(o)) {
+                        return true;
+                    }
+                }
+                for (int i = mid + 1; i < entities.length && entities[i].hashCode() == hash; i++) {
+                    if (entities[i].equals(o)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return contains(entities, o);
+    }
+
+    @Override
+    public Iterator<OWLEntity> iterator() {
+        // the iterator of a fixed size list does not support removal
+        return Arrays.asList(entities).iterator();
+    }
+
+    @Override
+    public int size() {
+        return entities.length;
+    }
+}
@@ -0,0 +1,293 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+
+/**
+ * A map pointer whose reads rarely block. Values are kept in a
+ * {@code ConcurrentHashMap}; each bucket is an immutable list, replaced on
+ * write, until it grows past {@value #COPY_ON_WRITE_LIMIT} elements, at which
+ * point it is replaced by a concurrent set so that large buckets (e.g., the
+ * references to a very common class) do not make writes quadratic. Writers
+ * synchronize on the pointer; lazy initialization happens once, under the same
+ * lock, and is published through a volatile flag, so readers only take the
+ * lock the first time an uninitialized index is queried, or to rebuild the
+ * cache of referenced IRIs after a write. Small buckets are returned as they
+ * are; only the large, mutable ones are copied on read.
+ *
+ * @author ignazio
+ * @param <K>
+ *        key
+ * @param <V>
+ *        value
+ */
+public class ConcurrentMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    private static final int COPY_ON_WRITE_LIMIT = 16;
+    private final ConcurrentMap<K, Collection<V>> buckets = new ConcurrentHashMap<>(17, 0.75F, 4);
+    private volatile boolean loaded;
+    private volatile int valueCount = 0;
+    @Nullable
+    private volatile SoftReference<Set<IRI>> referencedIRIs;
+
+    /**
+     * @param t
+     *        type of axioms contained
+     * @param v
+     *        visitor
+     * @param initialized
+     *        true if initialized
+     * @param i
+     *        internals containing this pointer
+     */
+    public ConcurrentMapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        @Nonnull Internals i) {
+        super(t, v, initialized, i, false);
+        loaded = initialized;
+    }
+
+    @Override
+    public boolean containsReference(OWLEntity e) {
+        return buckets.containsKey(e);
+    }
+
+    @Override
+    public boolean containsReference(IRI e) {
+        Set<IRI> set = cachedIRIs();
+        if (set == null) {
+            // built and published under the writers' lock, so that a write
+            // cannot clear the cache while a stale set is being built
+            synchronized (this) {
+                set = cachedIRIs();
+                if (set == null) {
+                    set = CollectionFactory.createSet();
+                    for (K k : buckets.keySet()) {
+                        if (k instanceof OWLEntity) {
+                            set.add(((OWLEntity) k).getIRI());
+                        } else if (k instanceof IRI) {
+                            set.add((IRI) k);
+                        }
+                    }
+                    referencedIRIs = new SoftReference<>(set);
+                }
+            }
+        }
+        return set.contains(e);
+    }
+
+    @Nullable
+    private Set<IRI> cachedIRIs() {
+        SoftReference<Set<IRI>> reference = referencedIRIs;
+        return reference == null ? null : reference.get();
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return loaded;
+    }
+
+    @Override
+    public MapPointer<K, V> init() {
+        if (loaded) {
+            return this;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                loadAxioms();
+                loaded = true;
+            }
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return loaded + buckets.toString();
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<K> keySet() {
+        init();
+        Set<K> keySet = Collections.unmodifiableSet(buckets.keySet());
+        assert keySet != null;
+        return keySet;
+    }
+
+    @Nonnull
+    @Override
+    public List<V> getValues(K key) {
+        init();
+        Collection<V> t = buckets.get(key);
+        if (t == null) {
+            return CollectionFactory.emptyList();
+        }
+        if (t instanceof ImmutableList) {
+            // small buckets are immutable snapshots, safe to share
+            return (ImmutableList<V>) t;
+        }
+        return ImmutableList.copyOf(t);
+    }
+
+    @Nonnull
+    @Override
+    public <T> Collection<OWLAxiom> filterAxioms(@Nonnull OWLAxiomSearchFilter filter, @Nonnull T key) {
+        init();
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            Collection<V> collection = buckets.get(at);
+            if (collection != null) {
+                for (OWLAxiom ax : collection) {
+                    assert ax != null;
+                    if (filter.pass(ax, key)) {
+                        toReturn.add(ax);
+                    }
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public boolean hasValues(K key) {
+        init();
+        return buckets.containsKey(key);
+    }
+
+    @Override
+    public synchronized boolean put(K key, V value) {
+        // lazy init: no elements added until a recall is made
+        if (!loaded) {
+            return false;
+        }
+        referencedIRIs = null;
+        return putInternal(key, value);
+    }
+
+    @Override
+    public synchronized boolean remove(K key, V value) {
+        if (!loaded) {
+            return false;
+        }
+        referencedIRIs = null;
+        return removeInternal(key, value);
+    }
+
+    @Nonnull
+    @Override
+    public Boolean containsKey(K key) {
+        init();
+        return Boolean.valueOf(buckets.containsKey(key));
+    }
+
+    @Override
+    public boolean contains(K key, V value) {
+        init();
+        Collection<V> t = buckets.get(key);
+        return t != null && t.contains(value);
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<V> getAllValues() {
+        init();
+        return Iterables.unmodifiableIterable(Iterables.concat(buckets.values()));
+    }
+
+    @Override
+    public int size() {
+        init();
+        return valueCount;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        init();
+        return valueCount == 0;
+    }
+
+    @Override
+    public void trimToSize() {
+        // buckets are either immutable or concurrent sets; nothing to trim
+    }
+
+    @Override
+    protected boolean putInternal(K k, V v) {
+        Collection<V> t = buckets.get(k);
+        if (t == null) {
+            buckets.put(k, ImmutableList.of(v));
+            valueCount++;
+            return true;
+        }
+        if (t.contains(v)) {
+            return false;
+        }
+        if (t instanceof Set) {
+            t.add(v);
+        } else if (t.size() < COPY_ON_WRITE_LIMIT) {
+            buckets.put(k, ImmutableList.<V> builder().addAll(t).add(v).build());
+        } else {
+            Set<V> set = Collections.newSetFromMap(new ConcurrentHashMap<V, Boolean>(t.size() * 2, 0.75F, 1));
+            set.addAll(t);
+            set.add(v);
+            buckets.put(k, set);
+        }
+        valueCount++;
+        return true;
+    }
+
+    @Override
+    protected boolean removeInternal(K k, V v) {
+        Collection<V> t = buckets.get(k);
+        if (t == null || !t.contains(v)) {
+            return false;
+        }
+        if (t instanceof Set) {
+            t.remove(v);
+            if (t.isEmpty()) {
+                buckets.remove(k);
+            }
+        } else if (t.size() == 1) {
+            buckets.remove(k);
+        } else {
+            List<V> copy = new ArrayList<>(t);
+            copy.remove(v);
+            buckets.put(k, ImmutableList.copyOf(copy));
+        }
+        valueCount--;
+        return true;
+    }
+}
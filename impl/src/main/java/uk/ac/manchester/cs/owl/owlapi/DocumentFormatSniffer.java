@@ -0,0 +1,226 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Guesses the format of a document from its first few kilobytes, so that the
+ * parsers for the likely formats can be tried before the others. The guess is
+ * a list of format keys, most likely first; keys are matched against
+ * {@code OWLDocumentFormatFactory.getKey()}.
+ *
+ * @author ignazio
+ */
+public final class DocumentFormatSniffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentFormatSniffer.class);
+    /** Number of characters inspected. */
+    private static final int SNIFF_SIZE = 4096;
+    private static final List<String> RDFXML = Arrays.asList("RDF/XML Syntax", "RDF/XML");
+    private static final List<String> OWLXML = Arrays.asList("OWL/XML Syntax", "RDF/XML Syntax", "RDF/XML");
+    private static final List<String> FUNCTIONAL = Arrays.asList("OWL Functional Syntax");
+    private static final List<String> MANCHESTER = Arrays.asList("Manchester OWL Syntax");
+    /** Rio first, as in the parser registry, so that the same parser is used with or without sniffing. */
+    private static final List<String> TURTLE = Arrays.asList("Turtle", "Turtle Syntax", "N-Triples", "N3");
+    private static final List<String> OBO = Arrays.asList("OBO Format");
+    private static final List<String> JSON = Arrays.asList("JSON-LD", "RDF/JSON");
+    private static final List<String> BINARY_SNAPSHOT = Arrays.asList("OWL Binary Snapshot");
+
+    private DocumentFormatSniffer() {}
+
+    /**
+     * @param documentSource
+     *        document source; sources without a reader or input stream, e.g.,
+     *        remote IRIs, are not inspected, as that would require fetching
+     *        the document twice
+     * @return keys of the likely formats, most likely first; empty if no guess
+     *         can be made
+     */
+    @Nonnull
+    public static List<String> sniff(@Nonnull OWLOntologyDocumentSource documentSource) {
+        try {
+            if (documentSource.isReaderAvailable()) {
+                try (Reader r = documentSource.getReader()) {
+                    return sniff(head(r));
+                }
+            }
+            if (documentSource.isInputStreamAvailable()) {
+                try (InputStream in = documentSource.getInputStream();
+                    Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    return sniff(head(r));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the parsers will report the problem, if there is one
+            LOGGER.debug("Document cannot be inspected: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    @Nonnull
+    private static String head(Reader r) throws IOException {
+        char[] buffer = new char[SNIFF_SIZE];
+        int read = 0;
+        int n = 0;
+        while (read < buffer.length && (n = r.read(buffer, read, buffer.length - read)) > -1) {
+            read += n;
+        }
+        return new String(buffer, 0, read);
+    }
+
+    /**
+     * @param head
+     *        start of the document
+     * @return keys of the likely formats, most likely first
+     */
+    @Nonnull
+    public static List<String> sniff(@Nonnull String head) {
+        if (head.startsWith(BinarySnapshotDocumentFormat.MAGIC)) {
+            return BINARY_SNAPSHOT;
+        }
+        int i = skipBlanksAndComments(head, 0);
+        if (i >= head.length()) {
+            return Collections.emptyList();
+        }
+        char c = head.charAt(i);
+        if (c == '<') {
+            if (head.startsWith("<?xml", i) || head.startsWith("<!", i) || isNameStart(head, i + 1)
+                && !isIRI(head, i)) {
+                return xmlRoot(head, i);
+            }
+            // <iri> <iri> ... is N-Triples, or Turtle
+            return TURTLE;
+        }
+        String rest = head.substring(i, Math.min(head.length(), i + 20));
+        String lower = rest.toLowerCase(Locale.ENGLISH);
+        if (rest.startsWith("Prefix(") || rest.startsWith("Ontology(") || rest.startsWith("Import(")) {
+            return FUNCTIONAL;
+        }
+        if (rest.startsWith("Prefix:") || rest.startsWith("Ontology:")) {
+            return MANCHESTER;
+        }
+        if (lower.startsWith("@prefix") || lower.startsWith("@base") || lower.startsWith("prefix ")
+            || lower.startsWith("base ")) {
+            return TURTLE;
+        }
+        if (rest.startsWith("format-version:") || rest.startsWith("[Term]") || rest.startsWith("[Typedef]")
+            || rest.startsWith("data-version:") || rest.startsWith("ontology:")) {
+            return OBO;
+        }
+        if (c == '{' || c == '[') {
+            return JSON;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Skips the XML declaration, comments, processing instructions and doctype,
+     * then looks at the root element.
+     */
+    @Nonnull
+    private static List<String> xmlRoot(String head, int start) {
+        int i = start;
+        while (i < head.length() && head.charAt(i) == '<') {
+            if (head.startsWith("<?", i)) {
+                i = head.indexOf("?>", i);
+            } else if (head.startsWith("<!--", i)) {
+                i = head.indexOf("-->", i);
+            } else if (head.startsWith("<!", i)) {
+                // doctype, possibly with an internal subset of entities
+                int subset = head.indexOf('[', i);
+                int end = head.indexOf('>', i);
+                if (subset > -1 && subset < end) {
+                    i = head.indexOf("]>", subset);
+                } else {
+                    i = end;
+                }
+            } else {
+                int end = i + 1;
+                while (end < head.length() && !Character.isWhitespace(head.charAt(end)) && head.charAt(end) != '>'
+                    && head.charAt(end) != '/') {
+                    end++;
+                }
+                String root = head.substring(i + 1, end);
+                if (root.equals("Ontology")) {
+                    return OWLXML;
+                }
+                if (root.indexOf(':') > -1) {
+                    // rdf:RDF, or a typed node such as owl:Ontology
+                    return RDFXML;
+                }
+                return OWLXML;
+            }
+            if (i < 0) {
+                break;
+            }
+            i = skipBlanks(head, head.indexOf('>', i) + 1);
+        }
+        // root element beyond the inspected text
+        return RDFXML;
+    }
+
+    private static boolean isIRI(String s, int start) {
+        int end = s.indexOf('>', start);
+        if (end < 0) {
+            return false;
+        }
+        String token = s.substring(start + 1, end);
+        return token.contains("://") || token.startsWith("urn:");
+    }
+
+    private static boolean isNameStart(String s, int i) {
+        return i < s.length() && (Character.isLetter(s.charAt(i)) || s.charAt(i) == '_');
+    }
+
+    private static int skipBlanks(String s, int start) {
+        int i = start;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipBlanksAndComments(String s, int start) {
+        int i = start;
+        // byte order mark
+        if (i < s.length() && s.charAt(i) == '\uFEFF') {
+            i++;
+        }
+        i = skipBlanks(s, i);
+        // comment lines, as in Turtle, functional and Manchester syntax, OBO
+        while (i < s.length() && (s.charAt(i) == '#' || s.charAt(i) == '!')) {
+            int eol = s.indexOf('\n', i);
+            if (eol < 0) {
+                return s.length();
+            }
+            i = skipBlanks(s, eol + 1);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,262 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAxiom;
+
+import gnu.trove.list.array.TIntArrayList;
+
+/**
+ * Internals whose indexes are {@link IntIdMapPointer}s: axioms are interned
+ * once per ontology to dense int ids, and the indexes store posting lists of
+ * ids in primitive maps and int arrays, with no object allocated per key.
+ * Selected by {@link OWLAPIImplModule} when compact indexes are requested.
+ * <p>
+ * Memory: no collection is allocated per key, but the id table costs about 12
+ * bytes per axiom, and ids take as much space as compressed references. On the
+ * synthetic ontology of {@code IndexMemoryBenchmark} in the benchmarks module
+ * (600,000 axioms, all lazy indexes initialized, after {@link #trimToSize()},
+ * compressed references) the indexes retain about 51 bytes per axiom, against
+ * about 34 for the default {@link Internals}; the saving on per key
+ * collections does not make up for the id table when most keys have few
+ * values. Measure on the ontologies at hand before choosing these indexes.
+ * <p>
+ * Reads are slower than with the default indexes: values are resolved through
+ * the id table and sorted, so that results do not depend on insertion order.
+ * Axiom ids are reused after the axiom is removed.
+ *
+ * @author ignazio
+ */
+public class IntIdInternals extends Internals {
+
+    private static final long serialVersionUID = 40000L;
+    // created on first use: the indexes are built by the superclass
+    // constructor, before the fields of this class are initialized
+    @Nullable private transient IdTable<OWLAxiom> axioms;
+
+    @Nonnull
+    synchronized IdTable<OWLAxiom> axioms() {
+        IdTable<OWLAxiom> table = axioms;
+        if (table == null) {
+            table = new IdTable<>();
+            axioms = table;
+        }
+        return table;
+    }
+
+    @Override
+    public boolean removeAxiom(OWLAxiom axiom) {
+        if (super.removeAxiom(axiom)) {
+            // no index refers to the axiom any longer
+            axioms().release(axiom);
+            return true;
+        }
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    protected <K, V extends OWLAxiom> MapPointer<K, V> buildLazy(AxiomType<?> t, OWLAxiomVisitorEx<?> v) {
+        return new IntIdMapPointer<>(t, v, false, this);
+    }
+
+    @Nonnull
+    @Override
+    protected MapPointer<OWLClass, OWLClassAxiom> buildClassAxiomByClass() {
+        return new IntIdClassAxiomByClassPointer(this);
+    }
+
+    @Nonnull
+    @Override
+    protected <K, V extends OWLAxiom> MapPointer<K, V> build(@Nullable AxiomType<?> t,
+        @Nullable OWLAxiomVisitorEx<?> v) {
+        return new IntIdMapPointer<>(t, v, true, this);
+    }
+
+    private static class IntIdClassAxiomByClassPointer extends IntIdMapPointer<OWLClass, OWLClassAxiom> {
+
+        IntIdClassAxiomByClassPointer(@Nonnull IntIdInternals i) {
+            super(null, null, false, i);
+        }
+
+        @Override
+        protected void loadAxioms() {
+            ClassAxiomByClassPointer.loadClassAxioms(i, this);
+        }
+    }
+
+    /**
+     * Bidirectional map between objects and dense int ids, shared by all the
+     * indexes of one ontology. Ids are kept in an open addressing table of
+     * ints, probed by the hash code of the objects, so that the only
+     * references held are the ones in the id to object array.
+     *
+     * @param <T>
+     *        type of interned objects
+     */
+    static class IdTable<T> {
+
+        /** Returned by {@link #id(Object)} for objects without an id. */
+        static final int NO_ID = -1;
+        private static final int REMOVED = -2;
+        private Object[] objects = new Object[64];
+        private int[] slots = newSlots(128);
+        private int next = 0;
+        private int size = 0;
+        private int removedSlots = 0;
+        private final TIntArrayList free = new TIntArrayList(0);
+
+        private static int[] newSlots(int capacity) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, NO_ID);
+            return slots;
+        }
+
+        /**
+         * Axiom hash codes are combinations of the hash codes of their parts
+         * and cluster in the low bits; linear probing needs them spread.
+         */
+        private static int start(Object o, int mask) {
+            int h = o.hashCode();
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h & mask;
+        }
+
+        private int slot(Object o) {
+            int mask = slots.length - 1;
+            int index = start(o, mask);
+            int firstRemoved = -1;
+            while (slots[index] != NO_ID) {
+                int id = slots[index];
+                if (id == REMOVED) {
+                    if (firstRemoved == -1) {
+                        firstRemoved = index;
+                    }
+                } else if (objects[id].equals(o)) {
+                    return index;
+                }
+                index = index + 1 & mask;
+            }
+            // not found: the encoding distinguishes the insertion point
+            return -(firstRemoved == -1 ? index : firstRemoved) - 1;
+        }
+
+        /**
+         * @param o
+         *        object to intern
+         * @return the id of the object, assigned if necessary
+         */
+        synchronized int intern(@Nonnull T o) {
+            int index = slot(o);
+            if (index >= 0) {
+                return slots[index];
+            }
+            int id;
+            if (free.isEmpty()) {
+                if (next == objects.length) {
+                    objects = Arrays.copyOf(objects, objects.length + (objects.length >> 1));
+                }
+                id = next++;
+            } else {
+                id = free.removeAt(free.size() - 1);
+            }
+            objects[id] = o;
+            index = -index - 1;
+            if (slots[index] == REMOVED) {
+                removedSlots--;
+            }
+            slots[index] = id;
+            size++;
+            if ((size + removedSlots) * 4 > slots.length * 3) {
+                rehash(size * 2 > slots.length ? slots.length * 2 : slots.length);
+            }
+            return id;
+        }
+
+        private void rehash(int capacity) {
+            int[] old = slots;
+            slots = newSlots(capacity);
+            removedSlots = 0;
+            int mask = capacity - 1;
+            for (int id : old) {
+                if (id >= 0) {
+                    int index = start(objects[id], mask);
+                    while (slots[index] != NO_ID) {
+                        index = index + 1 & mask;
+                    }
+                    slots[index] = id;
+                }
+            }
+        }
+
+        /**
+         * @param o
+         *        object to look up
+         * @return the id of the object, or {@link #NO_ID}
+         */
+        synchronized int id(@Nonnull T o) {
+            int index = slot(o);
+            return index >= 0 ? slots[index] : NO_ID;
+        }
+
+        /**
+         * @param id
+         *        id to look up
+         * @return the object with the id
+         */
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        synchronized T get(int id) {
+            return (T) objects[id];
+        }
+
+        /**
+         * Releases the id of an object; the id can be assigned to a different
+         * object afterwards.
+         *
+         * @param o
+         *        object to release
+         */
+        synchronized void release(@Nonnull T o) {
+            int index = slot(o);
+            if (index >= 0) {
+                int id = slots[index];
+                slots[index] = REMOVED;
+                removedSlots++;
+                size--;
+                objects[id] = null;
+                free.add(id);
+            }
+        }
+
+        /**
+         * @return number of interned objects
+         */
+        synchronized int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,620 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLAxiomVisitorEx;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.util.CollectionFactory;
+import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+
+import gnu.trove.iterator.TObjectIntIterator;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.THashMap;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import uk.ac.manchester.cs.owl.owlapi.IntIdInternals.IdTable;
+
+/**
+ * A map pointer whose posting lists hold axiom ids instead of references:
+ * axioms are interned in the table of the owning {@link IntIdInternals}, and no
+ * object is allocated per key.
+ * <ul>
+ * <li>Posting lists with a single element, which are the majority in most
+ * ontologies, are stored inline in a primitive valued map from keys.</li>
+ * <li>Lists with up to {@value #BLOCK_LIMIT} elements are blocks in an int
+ * arena shared by all the keys of the pointer; the map stores the offset of the
+ * block. Blocks grow by size class, and released blocks are reused.</li>
+ * <li>Longer lists are int arrays sorted by id. Since ids are assigned in
+ * increasing order, adding an axiom is an append in the common case; removed
+ * ids are marked in place and the array is compacted when more than half of it
+ * is marked, so that removing many axioms does not become quadratic.</li>
+ * </ul>
+ * Ids are assigned in insertion order, so posting lists are sorted on read:
+ * keys and values are returned in an order that depends only on the contents
+ * of the index, as it happens for the hash based {@link MapPointer}, which the
+ * renderers rely on for stable output. The sorted key set, the sorted values
+ * of lists longer than {@value #BLOCK_LIMIT} and the sorted list of all values
+ * are cached, softly referenced, until they change, and are unmodifiable;
+ * shorter lists are sorted on each read, which costs less than keeping them.
+ *
+ * @author ignazio
+ * @param <K>
+ *        key
+ * @param <V>
+ *        value
+ */
+public class IntIdMapPointer<K, V extends OWLAxiom> extends MapPointer<K, V> {
+
+    private static final float LOAD_FACTOR = 0.75F;
+    private static final Comparator<Object> CONTENT_ORDER = new Comparator<Object>() {
+
+        @Override
+        public int compare(Object o1, Object o2) {
+            int diff = Integer.compare(o1.hashCode(), o2.hashCode());
+            if (diff != 0) {
+                return diff;
+            }
+            if (o1 instanceof OWLObject && o2 instanceof OWLObject) {
+                return ((OWLObject) o1).compareTo((OWLObject) o2);
+            }
+            return o1.toString().compareTo(o2.toString());
+        }
+    };
+    /** No entry in the heads map. */
+    private static final int NONE = Integer.MIN_VALUE;
+    /** Capacities of the arena blocks, by size class. */
+    private static final int[] CAPACITIES = { 2, 3, 4, 6, 8, 12, 16, 24, 32 };
+    private static final int BLOCK_LIMIT = 32;
+    // values are axiom ids if positive, complements of block offsets if
+    // negative
+    private final TObjectIntHashMap<K> heads = new TObjectIntHashMap<>(17, LOAD_FACTOR, NONE);
+    private final THashMap<K, int[]> large = new THashMap<>(5, LOAD_FACTOR);
+    // a block is a header, with size class and element count, followed by ids
+    private int[] arena = new int[16];
+    private int top = 0;
+    private final TIntArrayList[] freeBlocks = new TIntArrayList[CAPACITIES.length];
+    @Nonnull private final IntIdInternals internals;
+    @Nullable private SoftReference<Set<IRI>> iris;
+    // sorted reads, dropped when the key changes
+    @Nullable private SoftReference<Map<Object, List<V>>> sortedValues;
+    @Nullable private SoftReference<List<K>> sortedKeys;
+    @Nullable private SoftReference<List<V>> sortedAllValues;
+    private int size = 0;
+
+    /**
+     * @param t
+     *        type of axioms contained
+     * @param v
+     *        visitor
+     * @param initialized
+     *        true if initialized
+     * @param i
+     *        internals containing this pointer
+     */
+    public IntIdMapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        @Nonnull IntIdInternals i) {
+        super(t, v, initialized, i, false);
+        internals = i;
+    }
+
+    private IdTable<OWLAxiom> axiomTable() {
+        return internals.axioms();
+    }
+
+    private boolean has(Object key) {
+        return heads.containsKey(key) || large.containsKey(key);
+    }
+
+    @Override
+    public synchronized boolean containsReference(OWLEntity e) {
+        return has(e);
+    }
+
+    @Override
+    public synchronized boolean containsReference(IRI e) {
+        Set<IRI> set = null;
+        if (iris != null) {
+            set = iris.get();
+        }
+        if (set == null) {
+            set = CollectionFactory.createSet();
+            for (K k : keys()) {
+                if (k instanceof OWLEntity) {
+                    set.add(((OWLEntity) k).getIRI());
+                } else if (k instanceof IRI) {
+                    set.add((IRI) k);
+                }
+            }
+            iris = new SoftReference<>(set);
+        }
+        return set.contains(e);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized String toString() {
+        return isInitialized() + " " + size + " postings";
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Iterable<K> keySet() {
+        init();
+        List<K> keys = sortedKeys == null ? null : sortedKeys.get();
+        if (keys == null) {
+            keys = keys();
+            Collections.sort(keys, CONTENT_ORDER);
+            keys = Collections.unmodifiableList(keys);
+            sortedKeys = new SoftReference<>(keys);
+        }
+        return keys;
+    }
+
+    private List<K> keys() {
+        List<K> keys = new ArrayList<>(heads.size() + large.size());
+        for (Object k : heads.keys()) {
+            keys.add(IntIdMapPointer.<K> cast(k));
+        }
+        keys.addAll(large.keySet());
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object o) {
+        return (T) o;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized List<V> getValues(K key) {
+        init();
+        return values(key);
+    }
+
+    private List<V> values(Object key) {
+        IdTable<OWLAxiom> table = axiomTable();
+        int head = heads.get(key);
+        if (head >= 0) {
+            // single values need no sorting
+            return Collections.singletonList(IntIdMapPointer.<V> cast(table.get(head)));
+        }
+        if (head != NONE) {
+            // blocks are short enough to sort on each read
+            List<V> values = new ArrayList<>(count(~head));
+            addBlock(~head, values, table);
+            Collections.sort(values, CONTENT_ORDER);
+            return values;
+        }
+        int[] list = large.get(key);
+        if (list == null) {
+            return CollectionFactory.emptyList();
+        }
+        Map<Object, List<V>> cache = sortedValues == null ? null : sortedValues.get();
+        if (cache == null) {
+            cache = new THashMap<>(5, LOAD_FACTOR);
+            sortedValues = new SoftReference<>(cache);
+        }
+        List<V> values = cache.get(key);
+        if (values == null) {
+            values = new ArrayList<>(list[1]);
+            addSorted(list, values, table);
+            Collections.sort(values, CONTENT_ORDER);
+            values = Collections.unmodifiableList(values);
+            cache.put(key, values);
+        }
+        return values;
+    }
+
+    /**
+     * Drops the sorted reads affected by a change to a key.
+     * 
+     * @param key
+     *        key whose values changed
+     * @param keySetChanged
+     *        true if the key was added or removed
+     */
+    private void changed(Object key, boolean keySetChanged) {
+        Map<Object, List<V>> cache = sortedValues == null ? null : sortedValues.get();
+        if (cache != null) {
+            cache.remove(key);
+        }
+        if (keySetChanged) {
+            sortedKeys = null;
+        }
+        sortedAllValues = null;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <T> Collection<OWLAxiom> filterAxioms(@Nonnull OWLAxiomSearchFilter filter,
+        @Nonnull T key) {
+        init();
+        List<OWLAxiom> toReturn = new ArrayList<>();
+        for (AxiomType<?> at : filter.getAxiomTypes()) {
+            for (V ax : values(at)) {
+                if (filter.pass(ax, key)) {
+                    toReturn.add(ax);
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    @Override
+    public synchronized boolean hasValues(K key) {
+        init();
+        return has(key);
+    }
+
+    @Override
+    public synchronized boolean put(K key, V value) {
+        iris = null;
+        return super.put(key, value);
+    }
+
+    @Override
+    public synchronized boolean remove(K key, V value) {
+        iris = null;
+        return super.remove(key, value);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Boolean containsKey(K key) {
+        return Boolean.valueOf(hasValues(key));
+    }
+
+    @Override
+    public synchronized boolean contains(K key, V value) {
+        init();
+        int id = axiomTable().id(value);
+        if (id == IdTable.NO_ID) {
+            return false;
+        }
+        int head = heads.get(key);
+        if (head == NONE) {
+            int[] list = large.get(key);
+            if (list == null) {
+                return false;
+            }
+            int index = find(list, id);
+            return index >= 0 && list[index] == id;
+        }
+        if (head >= 0) {
+            return head == id;
+        }
+        return indexInBlock(~head, id) >= 0;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Iterable<V> getAllValues() {
+        init();
+        List<V> cached = sortedAllValues == null ? null : sortedAllValues.get();
+        if (cached != null) {
+            return cached;
+        }
+        IdTable<OWLAxiom> table = axiomTable();
+        List<V> values = new ArrayList<>(size);
+        for (TObjectIntIterator<K> it = heads.iterator(); it.hasNext();) {
+            it.advance();
+            int head = it.value();
+            if (head >= 0) {
+                values.add(IntIdMapPointer.<V> cast(table.get(head)));
+            } else {
+                addBlock(~head, values, table);
+            }
+        }
+        for (int[] list : large.values()) {
+            addSorted(list, values, table);
+        }
+        Collections.sort(values, CONTENT_ORDER);
+        values = Collections.unmodifiableList(values);
+        sortedAllValues = new SoftReference<>(values);
+        return values;
+    }
+
+    @Override
+    public synchronized int size() {
+        init();
+        return size;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        init();
+        return size == 0;
+    }
+
+    @Override
+    public synchronized void trimToSize() {
+        if (isInitialized()) {
+            heads.compact();
+            large.compact();
+            if (arena.length > top) {
+                arena = Arrays.copyOf(arena, Math.max(top, 1));
+            }
+            for (Map.Entry<K, int[]> e : large.entrySet()) {
+                int[] list = e.getValue();
+                compact(list);
+                if (list.length > HEADER + list[0]) {
+                    e.setValue(Arrays.copyOf(list, HEADER + list[0]));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean putInternal(K k, V v) {
+        int id = axiomTable().intern(v);
+        int head = heads.get(k);
+        boolean keySetChanged = false;
+        if (head == NONE) {
+            int[] list = large.get(k);
+            if (list == null) {
+                heads.put(k, id);
+                keySetChanged = true;
+            } else {
+                int[] added = addSorted(list, id);
+                if (added == null) {
+                    return false;
+                }
+                if (added != list) {
+                    large.put(k, added);
+                }
+            }
+        } else if (head >= 0) {
+            if (head == id) {
+                return false;
+            }
+            int block = allocate(0);
+            arena[block] = header(0, 2);
+            arena[block + 1] = head;
+            arena[block + 2] = id;
+            heads.put(k, ~block);
+        } else {
+            int block = ~head;
+            if (indexInBlock(block, id) >= 0) {
+                return false;
+            }
+            int sizeClass = arena[block] >>> 24;
+            int count = count(block);
+            if (count < CAPACITIES[sizeClass]) {
+                arena[block + 1 + count] = id;
+                arena[block] = header(sizeClass, count + 1);
+            } else if (sizeClass + 1 < CAPACITIES.length) {
+                int grown = allocate(sizeClass + 1);
+                System.arraycopy(arena, block + 1, arena, grown + 1, count);
+                arena[grown + 1 + count] = id;
+                arena[grown] = header(sizeClass + 1, count + 1);
+                free(block);
+                heads.put(k, ~grown);
+            } else {
+                int[] list = new int[HEADER + count + 1 + (count >> 1)];
+                list[0] = count + 1;
+                list[1] = count + 1;
+                System.arraycopy(arena, block + 1, list, HEADER, count);
+                list[HEADER + count] = id;
+                Arrays.sort(list, HEADER, HEADER + count + 1);
+                free(block);
+                heads.remove(k);
+                large.put(k, list);
+            }
+        }
+        size++;
+        changed(k, keySetChanged);
+        return true;
+    }
+
+    @Override
+    protected boolean removeInternal(K k, V v) {
+        int id = axiomTable().id(v);
+        if (id == IdTable.NO_ID) {
+            return false;
+        }
+        int head = heads.get(k);
+        boolean keySetChanged = false;
+        if (head == NONE) {
+            int[] list = large.get(k);
+            if (list == null || !removeSorted(list, id)) {
+                return false;
+            }
+            if (list[1] <= BLOCK_LIMIT / 2) {
+                compact(list);
+                int sizeClass = sizeClass(list[1]);
+                int block = allocate(sizeClass);
+                System.arraycopy(list, HEADER, arena, block + 1, list[1]);
+                arena[block] = header(sizeClass, list[1]);
+                large.remove(k);
+                heads.put(k, ~block);
+            }
+        } else if (head >= 0) {
+            if (head != id) {
+                return false;
+            }
+            heads.remove(k);
+            keySetChanged = true;
+        } else {
+            int block = ~head;
+            int index = indexInBlock(block, id);
+            if (index < 0) {
+                return false;
+            }
+            int count = count(block) - 1;
+            arena[index] = arena[block + count + 1];
+            if (count == 1) {
+                heads.put(k, arena[block + 1]);
+                free(block);
+            } else {
+                arena[block] = header(arena[block] >>> 24, count);
+            }
+        }
+        size--;
+        changed(k, keySetChanged);
+        return true;
+    }
+
+    private static int header(int sizeClass, int count) {
+        return sizeClass << 24 | count;
+    }
+
+    private int count(int block) {
+        return arena[block] & 0xFFFFFF;
+    }
+
+    private static int sizeClass(int count) {
+        int sizeClass = 0;
+        while (CAPACITIES[sizeClass] < count) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    private int indexInBlock(int block, int id) {
+        int end = block + 1 + count(block);
+        for (int i = block + 1; i < end; i++) {
+            if (arena[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int allocate(int sizeClass) {
+        TIntArrayList free = freeBlocks[sizeClass];
+        if (free != null && !free.isEmpty()) {
+            return free.removeAt(free.size() - 1);
+        }
+        int block = top;
+        top += 1 + CAPACITIES[sizeClass];
+        if (top > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(top, arena.length + (arena.length >> 1)));
+        }
+        return block;
+    }
+
+    private void free(int block) {
+        int sizeClass = arena[block] >>> 24;
+        if (freeBlocks[sizeClass] == null) {
+            freeBlocks[sizeClass] = new TIntArrayList();
+        }
+        freeBlocks[sizeClass].add(block);
+    }
+
+    private <T> void addBlock(int block, Collection<T> values, IdTable<OWLAxiom> table) {
+        int end = block + 1 + count(block);
+        for (int i = block + 1; i < end; i++) {
+            values.add(IntIdMapPointer.<T> cast(table.get(arena[i])));
+        }
+    }
+
+    // Lists longer than BLOCK_LIMIT are sorted by id and have a header:
+    // list[0] is the number of used slots, list[1] the number of ids not
+    // removed; removed ids are stored as their bitwise complement, which is
+    // negative, so that the order is preserved.
+    private static final int HEADER = 2;
+
+    @Nullable
+    private static int[] addSorted(int[] list, int id) {
+        int index = find(list, id);
+        if (index >= 0) {
+            if (list[index] == id) {
+                return null;
+            }
+            // the id was removed and is now added again
+            list[index] = id;
+            list[1]++;
+            return list;
+        }
+        int[] target = list;
+        int used = list[0];
+        if (HEADER + used == list.length) {
+            target = Arrays.copyOf(list, HEADER + used + (used >> 1));
+        }
+        int insertion = -index - 1;
+        System.arraycopy(list, insertion, target, insertion + 1, HEADER + used - insertion);
+        target[insertion] = id;
+        target[0]++;
+        target[1]++;
+        return target;
+    }
+
+    private static boolean removeSorted(int[] list, int id) {
+        int index = find(list, id);
+        if (index < 0 || list[index] != id) {
+            return false;
+        }
+        list[index] = ~id;
+        list[1]--;
+        if (list[1] < list[0] / 2) {
+            compact(list);
+        }
+        return true;
+    }
+
+    private static int find(int[] list, int id) {
+        int low = HEADER;
+        int high = HEADER + list[0] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = list[mid];
+            if (value < 0) {
+                value = ~value;
+            }
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void compact(int[] list) {
+        int end = HEADER + list[0];
+        int j = HEADER;
+        for (int i = HEADER; i < end; i++) {
+            if (list[i] >= 0) {
+                list[j++] = list[i];
+            }
+        }
+        list[0] = j - HEADER;
+    }
+
+    private static <T> void addSorted(int[] list, Collection<T> values, IdTable<OWLAxiom> table) {
+        int end = HEADER + list[0];
+        for (int i = HEADER; i < end; i++) {
+            if (list[i] >= 0) {
+                values.add(IntIdMapPointer.<T> cast(table.get(list[i])));
+            }
+        }
+    }
+}
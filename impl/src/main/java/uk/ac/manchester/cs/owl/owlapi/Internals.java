@@ -22,10 +22,18 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -238,6 +246,7 @@ public class Internals implements Serializable {
      * operation to minimize the storage of the internals instance.
      */
     public void trimToSize() {
+        flushPendingAxioms();
         axiomsByType.trimToSize();
         owlClassReferences.trimToSize();
         owlObjectPropertyReferences.trimToSize();
@@ -286,6 +295,102 @@ public class Internals implements Serializable {
         sameIndividualsAxiomsByIndividual.trimToSize();
     }
 
+    /**
+     * @return the lazily initialized indexes, by name
+     */
+    @Nonnull
+    protected Map<String, MapPointer<?, ?>> getLazyIndexes() {
+        Map<String, MapPointer<?, ?>> map = new LinkedHashMap<>();
+        map.put("classAssertionAxiomsByClass", classAssertionAxiomsByClass);
+        map.put("annotationAssertionAxiomsBySubject", annotationAssertionAxiomsBySubject);
+        map.put("subClassAxiomsBySubPosition", subClassAxiomsBySubPosition);
+        map.put("subClassAxiomsBySuperPosition", subClassAxiomsBySuperPosition);
+        map.put("objectSubPropertyAxiomsBySubPosition", objectSubPropertyAxiomsBySubPosition);
+        map.put("objectSubPropertyAxiomsBySuperPosition", objectSubPropertyAxiomsBySuperPosition);
+        map.put("dataSubPropertyAxiomsBySubPosition", dataSubPropertyAxiomsBySubPosition);
+        map.put("dataSubPropertyAxiomsBySuperPosition", dataSubPropertyAxiomsBySuperPosition);
+        map.put("classAxiomsByClass", classAxiomsByClass);
+        map.put("equivalentClassesAxiomsByClass", equivalentClassesAxiomsByClass);
+        map.put("disjointClassesAxiomsByClass", disjointClassesAxiomsByClass);
+        map.put("disjointUnionAxiomsByClass", disjointUnionAxiomsByClass);
+        map.put("hasKeyAxiomsByClass", hasKeyAxiomsByClass);
+        map.put("equivalentObjectPropertyAxiomsByProperty", equivalentObjectPropertyAxiomsByProperty);
+        map.put("disjointObjectPropertyAxiomsByProperty", disjointObjectPropertyAxiomsByProperty);
+        map.put("objectPropertyDomainAxiomsByProperty", objectPropertyDomainAxiomsByProperty);
+        map.put("objectPropertyRangeAxiomsByProperty", objectPropertyRangeAxiomsByProperty);
+        map.put("functionalObjectPropertyAxiomsByProperty", functionalObjectPropertyAxiomsByProperty);
+        map.put("inverseFunctionalPropertyAxiomsByProperty", inverseFunctionalPropertyAxiomsByProperty);
+        map.put("symmetricPropertyAxiomsByProperty", symmetricPropertyAxiomsByProperty);
+        map.put("asymmetricPropertyAxiomsByProperty", asymmetricPropertyAxiomsByProperty);
+        map.put("reflexivePropertyAxiomsByProperty", reflexivePropertyAxiomsByProperty);
+        map.put("irreflexivePropertyAxiomsByProperty", irreflexivePropertyAxiomsByProperty);
+        map.put("transitivePropertyAxiomsByProperty", transitivePropertyAxiomsByProperty);
+        map.put("inversePropertyAxiomsByProperty", inversePropertyAxiomsByProperty);
+        map.put("equivalentDataPropertyAxiomsByProperty", equivalentDataPropertyAxiomsByProperty);
+        map.put("disjointDataPropertyAxiomsByProperty", disjointDataPropertyAxiomsByProperty);
+        map.put("dataPropertyDomainAxiomsByProperty", dataPropertyDomainAxiomsByProperty);
+        map.put("dataPropertyRangeAxiomsByProperty", dataPropertyRangeAxiomsByProperty);
+        map.put("functionalDataPropertyAxiomsByProperty", functionalDataPropertyAxiomsByProperty);
+        map.put("classAssertionAxiomsByIndividual", classAssertionAxiomsByIndividual);
+        map.put("objectPropertyAssertionsByIndividual", objectPropertyAssertionsByIndividual);
+        map.put("dataPropertyAssertionsByIndividual", dataPropertyAssertionsByIndividual);
+        map.put("negativeObjectPropertyAssertionAxiomsByIndividual",
+            negativeObjectPropertyAssertionAxiomsByIndividual);
+        map.put("negativeDataPropertyAssertionAxiomsByIndividual", negativeDataPropertyAssertionAxiomsByIndividual);
+        map.put("differentIndividualsAxiomsByIndividual", differentIndividualsAxiomsByIndividual);
+        map.put("sameIndividualsAxiomsByIndividual", sameIndividualsAxiomsByIndividual);
+        return map;
+    }
+
+    /**
+     * Initializes all the lazy indexes that have not been initialized yet, in
+     * parallel, so that the first queries do not have to scan the axioms.
+     * Indexes are initialized under their own locks, so concurrent queries
+     * wait for the index they need rather than building it again.
+     *
+     * @return initialization time in nanoseconds for each index that was
+     *         initialized, by index name
+     */
+    @Nonnull
+    public Map<String, Long> warmIndexes() {
+        flushPendingAxioms();
+        Map<String, Callable<Long>> tasks = new LinkedHashMap<>();
+        for (Map.Entry<String, MapPointer<?, ?>> e : getLazyIndexes().entrySet()) {
+            final MapPointer<?, ?> pointer = e.getValue();
+            if (!pointer.isInitialized()) {
+                tasks.put(e.getKey(), new Callable<Long>() {
+
+                    @Override
+                    public Long call() {
+                        long start = System.nanoTime();
+                        pointer.init();
+                        return Long.valueOf(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        Map<String, Long> times = new LinkedHashMap<>();
+        if (tasks.isEmpty()) {
+            return times;
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            List<Future<Long>> results = pool.invokeAll(tasks.values());
+            int index = 0;
+            for (String name : tasks.keySet()) {
+                times.put(name, results.get(index++).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return times;
+    }
+
     private void writeObject(ObjectOutputStream stream) throws IOException {
         axiomsForSerialization = new ArrayList<>();
         Iterables.addAll(axiomsForSerialization, axiomsByType.getAllValues());
@@ -296,6 +401,202 @@ public class Internals implements Serializable {
     @Nonnull private final RemoveAxiomVisitor removeChangeVisitor = new RemoveAxiomVisitor();
     @Nonnull private final ReferenceChecker refChecker = new ReferenceChecker();
     @Nonnull private final ReferencedAxiomsCollector refAxiomsCollector = new ReferencedAxiomsCollector();
+    /** Axioms added during a bulk load and not indexed yet; null outside bulk loads. */
+    @Nullable private transient volatile List<OWLAxiom> pendingAxioms;
+    /** Batches smaller than this are indexed on the calling thread. */
+    private static final int PARALLEL_BATCH_SIZE = 10000;
+    /**
+     * Held while pending axioms are indexed, so that queries wait for the
+     * indexes to be complete. The instance lock is not held while indexing,
+     * since the worker threads may need it.
+     */
+    private final ReentrantLock indexing = new ReentrantLock();
+
+    /**
+     * Starts a bulk load: axioms added from now on are stored in the axiom by
+     * type map, but the other indexes are updated only when
+     * {@link #commitBulkLoad()} is called, or when one of them is queried.
+     */
+    public synchronized void beginBulkLoad() {
+        if (pendingAxioms == null) {
+            pendingAxioms = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Indexes the axioms added since {@link #beginBulkLoad()} and ends the bulk
+     * load.
+     */
+    public void commitBulkLoad() {
+        indexing.lock();
+        try {
+            // the pending list stays set until indexing is done, so that
+            // queries keep waiting on the indexing lock
+            while (true) {
+                List<OWLAxiom> pending;
+                synchronized (this) {
+                    pending = pendingAxioms;
+                    if (pending == null || pending.isEmpty()) {
+                        pendingAxioms = null;
+                        return;
+                    }
+                    pendingAxioms = new ArrayList<>();
+                }
+                indexAxioms(pending);
+            }
+        } finally {
+            indexing.unlock();
+        }
+    }
+
+    /**
+     * Indexes the axioms added so far in a bulk load, so that queries see them;
+     * the bulk load, if any, continues.
+     */
+    protected void flushPendingAxioms() {
+        if (pendingAxioms == null) {
+            return;
+        }
+        indexing.lock();
+        try {
+            List<OWLAxiom> pending;
+            synchronized (this) {
+                pending = pendingAxioms;
+                if (pending == null || pending.isEmpty()) {
+                    return;
+                }
+                pendingAxioms = new ArrayList<>();
+            }
+            indexAxioms(pending);
+        } finally {
+            indexing.unlock();
+        }
+    }
+
+    /**
+     * Updates all indexes for a batch of axioms already in the axiom by type
+     * map. References are collected in one pass over the batch; each reference
+     * index is then updated on its own thread.
+     */
+    private void indexAxioms(@Nonnull List<OWLAxiom> axioms) {
+        ReferenceCollector collector = new ReferenceCollector(this);
+        for (OWLAxiom axiom : axioms) {
+            axiom.accept(addChangeVisitor);
+            collector.collect(axiom);
+        }
+        List<ReferenceBatch<?>> batches = collector.batches();
+        if (axioms.size() < PARALLEL_BATCH_SIZE) {
+            for (ReferenceBatch<?> batch : batches) {
+                batch.call();
+            }
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            for (Future<Void> f : pool.invokeAll(batches)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** References to entities of one type, to be added to one index. */
+    private static class ReferenceBatch<K> implements Callable<Void> {
+
+        private final MapPointer<K, OWLAxiom> pointer;
+        private final List<K> keys = new ArrayList<>();
+        private final List<OWLAxiom> values = new ArrayList<>();
+
+        ReferenceBatch(MapPointer<K, OWLAxiom> pointer) {
+            this.pointer = pointer;
+        }
+
+        void add(K key, OWLAxiom value) {
+            keys.add(key);
+            values.add(value);
+        }
+
+        @Override
+        public Void call() {
+            for (int i = 0; i < keys.size(); i++) {
+                pointer.put(keys.get(i), values.get(i));
+            }
+            return null;
+        }
+    }
+
+    private static class ReferenceCollector extends AbstractEntityRegistrationManager {
+
+        private final ReferenceBatch<OWLClass> classes;
+        private final ReferenceBatch<OWLObjectProperty> objectProperties;
+        private final ReferenceBatch<OWLDataProperty> dataProperties;
+        private final ReferenceBatch<OWLNamedIndividual> individuals;
+        private final ReferenceBatch<OWLAnnotationProperty> annotationProperties;
+        private final ReferenceBatch<OWLDatatype> datatypes;
+        private final ReferenceBatch<OWLAnonymousIndividual> anonymousIndividuals;
+        private OWLAxiom axiom;
+
+        ReferenceCollector(Internals i) {
+            classes = new ReferenceBatch<>(i.owlClassReferences);
+            objectProperties = new ReferenceBatch<>(i.owlObjectPropertyReferences);
+            dataProperties = new ReferenceBatch<>(i.owlDataPropertyReferences);
+            individuals = new ReferenceBatch<>(i.owlIndividualReferences);
+            annotationProperties = new ReferenceBatch<>(i.owlAnnotationPropertyReferences);
+            datatypes = new ReferenceBatch<>(i.owlDatatypeReferences);
+            anonymousIndividuals = new ReferenceBatch<>(i.owlAnonymousIndividualReferences);
+        }
+
+        void collect(OWLAxiom ax) {
+            axiom = ax;
+            ax.accept(this);
+        }
+
+        List<ReferenceBatch<?>> batches() {
+            return Arrays.<ReferenceBatch<?>> asList(classes, objectProperties, dataProperties, individuals,
+                annotationProperties, datatypes, anonymousIndividuals);
+        }
+
+        @Override
+        public void visit(OWLClass ce) {
+            classes.add(ce, axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            objectProperties.add(property, axiom);
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            dataProperties.add(property, axiom);
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            individuals.add(individual, axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            annotationProperties.add(property, axiom);
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            datatypes.add(node, axiom);
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+            anonymousIndividuals.add(individual, axiom);
+        }
+    }
 
     /**
      * @param i
@@ -303,6 +604,7 @@ public class Internals implements Serializable {
      * @return true if a class with this iri exists
      */
     public boolean containsClassInSignature(IRI i) {
+        flushPendingAxioms();
         return owlClassReferences.containsReference(i);
     }
 
@@ -312,6 +614,7 @@ public class Internals implements Serializable {
      * @return true if an object property with this iri exists
      */
     public boolean containsObjectPropertyInSignature(IRI i) {
+        flushPendingAxioms();
         return owlObjectPropertyReferences.containsReference(i);
     }
 
@@ -321,6 +624,7 @@ public class Internals implements Serializable {
      * @return true if a data property with this iri exists
      */
     public boolean containsDataPropertyInSignature(IRI i) {
+        flushPendingAxioms();
         return owlDataPropertyReferences.containsReference(i);
     }
 
@@ -330,6 +634,7 @@ public class Internals implements Serializable {
      * @return true if an annotation property with this iri exists
      */
     public boolean containsAnnotationPropertyInSignature(IRI i) {
+        flushPendingAxioms();
         return owlAnnotationPropertyReferences.containsReference(i);
     }
 
@@ -339,6 +644,7 @@ public class Internals implements Serializable {
      * @return true if a individual with this iri exists
      */
     public boolean containsIndividualInSignature(IRI i) {
+        flushPendingAxioms();
         return owlIndividualReferences.containsReference(i);
     }
 
@@ -348,6 +654,7 @@ public class Internals implements Serializable {
      * @return true if a datatype with this iri exists
      */
     public boolean containsDatatypeInSignature(IRI i) {
+        flushPendingAxioms();
         return owlDatatypeReferences.containsReference(i);
     }
 
@@ -357,6 +664,7 @@ public class Internals implements Serializable {
      * @return true if a class with this iri exists
      */
     public boolean containsClassInSignature(OWLClass i) {
+        flushPendingAxioms();
         return owlClassReferences.containsReference(i);
     }
 
@@ -366,6 +674,7 @@ public class Internals implements Serializable {
      * @return true if an object property with this iri exists
      */
     public boolean containsObjectPropertyInSignature(OWLObjectProperty i) {
+        flushPendingAxioms();
         return owlObjectPropertyReferences.containsReference(i);
     }
 
@@ -375,6 +684,7 @@ public class Internals implements Serializable {
      * @return true if a data property with this iri exists
      */
     public boolean containsDataPropertyInSignature(OWLDataProperty i) {
+        flushPendingAxioms();
         return owlDataPropertyReferences.containsReference(i);
     }
 
@@ -384,6 +694,7 @@ public class Internals implements Serializable {
      * @return true if an annotation property with this iri exists
      */
     public boolean containsAnnotationPropertyInSignature(OWLAnnotationProperty i) {
+        flushPendingAxioms();
         return owlAnnotationPropertyReferences.containsReference(i);
     }
 
@@ -393,6 +704,7 @@ public class Internals implements Serializable {
      * @return true if a individual with this iri exists
      */
     public boolean containsIndividualInSignature(OWLNamedIndividual i) {
+        flushPendingAxioms();
         return owlIndividualReferences.containsReference(i);
     }
 
@@ -402,6 +714,7 @@ public class Internals implements Serializable {
      * @return true if a datatype with this iri exists
      */
     public boolean containsDatatypeInSignature(OWLDatatype i) {
+        flushPendingAxioms();
         return owlDatatypeReferences.containsReference(i);
     }
 
@@ -442,6 +755,7 @@ public class Internals implements Serializable {
     @SuppressWarnings({ "unchecked", })
     <T extends OWLObject, A extends OWLAxiom> Optional<MapPointer<T, A>> get(@Nonnull Class<T> type,
         @Nonnull Class<A> axiom, Navigation position) {
+        flushPendingAxioms();
         if (OWLEntity.class.isAssignableFrom(type) && axiom.equals(OWLDeclarationAxiom.class)) {
             return Optional.of((MapPointer<T, A>) declarationsByEntity);
         }
@@ -602,7 +916,7 @@ public class Internals implements Serializable {
     }
 
     @Nonnull
-    protected ClassAxiomByClassPointer buildClassAxiomByClass() {
+    protected MapPointer<OWLClass, OWLClassAxiom> buildClassAxiomByClass() {
         return new ClassAxiomByClassPointer(null, null, false, this);
     }
 
@@ -619,6 +933,9 @@ public class Internals implements Serializable {
     public boolean addAxiom(@Nonnull final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
         if (getAxiomsByType().put(axiom.getAxiomType(), axiom)) {
+            if (deferIndexing(axiom)) {
+                return true;
+            }
             axiom.accept(addChangeVisitor);
             axiom.accept(new AbstractEntityRegistrationManager() {
 
@@ -662,6 +979,20 @@ public class Internals implements Serializable {
         return false;
     }
 
+    private boolean deferIndexing(OWLAxiom axiom) {
+        if (pendingAxioms == null) {
+            return false;
+        }
+        synchronized (this) {
+            List<OWLAxiom> pending = pendingAxioms;
+            if (pending == null) {
+                return false;
+            }
+            pending.add(axiom);
+            return true;
+        }
+    }
+
     /**
      * @param axiom
      *        axiom to remove
@@ -669,6 +1000,7 @@ public class Internals implements Serializable {
      */
     public boolean removeAxiom(@Nonnull final OWLAxiom axiom) {
         checkNotNull(axiom, "axiom cannot be null");
+        flushPendingAxioms();
         if (getAxiomsByType().remove(axiom.getAxiomType(), axiom)) {
             axiom.accept(removeChangeVisitor);
             AbstractEntityRegistrationManager referenceRemover = new AbstractEntityRegistrationManager() {
@@ -720,6 +1052,7 @@ public class Internals implements Serializable {
      * @return true if the entity is declared in the ontology
      */
     public boolean isDeclared(OWLEntity e) {
+        flushPendingAxioms();
         return declarationsByEntity.containsKey(e);
     }
 
@@ -922,6 +1255,7 @@ public class Internals implements Serializable {
      */
     @Nonnull
     public Set<OWLClassAxiom> getGeneralClassAxioms() {
+        flushPendingAxioms();
         return generalClassAxioms.copy();
     }
 
@@ -1443,6 +1777,7 @@ public class Internals implements Serializable {
      * @return true if reference is contained
      */
     public boolean containsReference(@Nonnull OWLEntity entity) {
+        flushPendingAxioms();
         return entity.accept(refChecker);
     }
 
@@ -1453,6 +1788,7 @@ public class Internals implements Serializable {
      */
     @Nonnull
     public Iterable<OWLAxiom> getReferencingAxioms(@Nonnull OWLEntity owlEntity) {
+        flushPendingAxioms();
         return owlEntity.accept(refAxiomsCollector);
     }
 
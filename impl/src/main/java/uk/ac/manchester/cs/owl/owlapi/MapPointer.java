@@ -53,15 +53,15 @@ public class MapPointer<K, V extends OWLAxiom> {
     private static final float DEFAULT_LOAD_FACTOR = 0.75F;
     private static final int DEFAULT_INITIAL_CAPACITY = 5;
     @Nullable
-    private final AxiomType<?> type;
+    protected final AxiomType<?> type;
     @Nullable
-    private final OWLAxiomVisitorEx<?> visitor;
+    protected final OWLAxiomVisitorEx<?> visitor;
     private boolean initialized;
     @Nonnull
     protected final Internals i;
     private SoftReference<Set<IRI>> iris;
     private int size = 0;
-    private final THashMap<K, Collection<V>> map = new THashMap<>(17, 0.75F);
+    private final THashMap<K, Collection<V>> map;
     private boolean neverTrimmed = true;
 
     /**
@@ -76,10 +76,29 @@ public class MapPointer<K, V extends OWLAxiom> {
      */
     public MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
         @Nonnull Internals i) {
+        this(t, v, initialized, i, true);
+    }
+
+    /**
+     * @param t
+     *        type of axioms contained
+     * @param v
+     *        visitor
+     * @param initialized
+     *        true if initialized
+     * @param i
+     *        internals containing this pointer
+     * @param createMap
+     *        false for subclasses that keep their values elsewhere and
+     *        override all methods that use the map of this class
+     */
+    protected MapPointer(@Nullable AxiomType<?> t, @Nullable OWLAxiomVisitorEx<?> v, boolean initialized,
+        @Nonnull Internals i, boolean createMap) {
         type = t;
         visitor = v;
         this.initialized = initialized;
         this.i = checkNotNull(i, "i cannot be null");
+        map = createMap ? new THashMap<K, Collection<V>>(17, 0.75F) : null;
     }
 
     /**
@@ -134,14 +153,23 @@ public class MapPointer<K, V extends OWLAxiom> {
      * 
      * @return the map pointer
      */
-    @SuppressWarnings({ "unchecked", "null" })
     public synchronized MapPointer<K, V> init() {
         if (initialized) {
             return this;
         }
         initialized = true;
+        loadAxioms();
+        return this;
+    }
+
+    /**
+     * Populates the map from the axioms of the type indexed by this pointer,
+     * using the visitor to extract the keys. Called once, on initialization.
+     */
+    @SuppressWarnings({ "unchecked", "null" })
+    protected void loadAxioms() {
         if (visitor == null) {
-            return this;
+            return;
         }
         if (visitor instanceof InitVisitor) {
             for (V ax : (Collection<V>) i.getAxiomsByType().getValues(type)) {
@@ -160,7 +188,6 @@ public class MapPointer<K, V extends OWLAxiom> {
                 }
             }
         }
-        return this;
     }
 
     @Nonnull
@@ -310,7 +337,17 @@ public class MapPointer<K, V extends OWLAxiom> {
         return size == 0;
     }
 
-    private boolean putInternal(K k, V v) {
+    /**
+     * Adds a mapping without checking initialization; callers must hold the
+     * lock.
+     * 
+     * @param k
+     *        key
+     * @param v
+     *        value
+     * @return true if the mapping was added
+     */
+    protected boolean putInternal(K k, V v) {
         Collection<V> set = map.get(k);
         if (set == null) {
             set = Collections.singleton(v);
@@ -350,7 +387,17 @@ public class MapPointer<K, V extends OWLAxiom> {
         return t.contains(v);
     }
 
-    private boolean removeInternal(K k, V v) {
+    /**
+     * Removes a mapping without checking initialization; callers must hold
+     * the lock.
+     * 
+     * @param k
+     *        key
+     * @param v
+     *        value
+     * @return true if the mapping was removed
+     */
+    protected boolean removeInternal(K k, V v) {
         if (neverTrimmed) {
             trimToSize();
         }
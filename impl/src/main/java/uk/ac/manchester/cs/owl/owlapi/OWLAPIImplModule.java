@@ -28,9 +28,36 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 public class OWLAPIImplModule extends AbstractModule {
 
     private final Concurrency concurrency;
+    private final Class<? extends Internals> internals;
 
     public OWLAPIImplModule(Concurrency concurrency) {
+        this(concurrency, false);
+    }
+
+    /**
+     * @param concurrency
+     *        concurrency for managers and ontologies
+     * @param concurrentIndexes
+     *        true if ontology indexes should allow reads without locking (see
+     *        {@link ConcurrentInternals}); useful with
+     *        {@link Concurrency#CONCURRENT}, where readers would otherwise
+     *        serialize on the index monitors
+     */
+    public OWLAPIImplModule(Concurrency concurrency, boolean concurrentIndexes) {
+        this(concurrency, concurrentIndexes ? ConcurrentInternals.class : Internals.class);
+    }
+
+    /**
+     * @param concurrency
+     *        concurrency for managers and ontologies
+     * @param internals
+     *        implementation of the ontology indexes, e.g.,
+     *        {@link ConcurrentInternals} for reads without locking or
+     *        {@link IntIdInternals} for indexes without per key collections
+     */
+    public OWLAPIImplModule(Concurrency concurrency, Class<? extends Internals> internals) {
         this.concurrency = concurrency;
+        this.internals = internals;
     }
 
     @Override
@@ -40,6 +67,11 @@ public class OWLAPIImplModule extends AbstractModule {
         } else {
             bind(ReadWriteLock.class).to(NoOpReadWriteLock.class).asEagerSingleton();
         }
+        if (internals.equals(Internals.class)) {
+            bind(Internals.class);
+        } else {
+            bind(Internals.class).to(internals);
+        }
         bind(boolean.class).annotatedWith(CompressionEnabled.class).toInstance(Boolean.FALSE);
         bind(OWLDataFactory.class).to(OWLDataFactoryImpl.class).asEagerSingleton();
         bind(OWLDataFactoryInternals.class).to(OWLDataFactoryInternalsImpl.class);
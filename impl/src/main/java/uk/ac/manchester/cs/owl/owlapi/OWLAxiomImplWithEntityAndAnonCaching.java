@@ -71,6 +71,11 @@ public abstract class OWLAxiomImplWithEntityAndAnonCaching extends OWLObjectImpl
         return !annotations.isEmpty();
     }
 
+    /** @return the annotations, in the order used by compareTo(); not a copy */
+    List<OWLAnnotation> annotationList() {
+        return annotations;
+    }
+
     // TODO when processing annotations on OWLOntology:: add axiom, needs
     // optimizing
     @Override
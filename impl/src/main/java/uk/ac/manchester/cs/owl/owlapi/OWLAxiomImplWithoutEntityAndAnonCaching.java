@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.NNF;
@@ -38,6 +39,9 @@ public abstract class OWLAxiomImplWithoutEntityAndAnonCaching extends OWLObjectI
     private static final long serialVersionUID = 40000L;
     @Nonnull
     private final List<OWLAnnotation> annotations;
+    /** Signature, sorted for searching; computed on first use. */
+    @Nullable
+    private transient volatile OWLEntity[] signature;
 
     @Override
     protected int index() {
@@ -68,6 +72,11 @@ public abstract class OWLAxiomImplWithoutEntityAndAnonCaching extends OWLObjectI
         return !annotations.isEmpty();
     }
 
+    /** @return the annotations, in the order used by compareTo(); not a copy */
+    List<OWLAnnotation> annotationList() {
+        return annotations;
+    }
+
     // TODO when processing annotations on OWLOntology:: add axiom, needs
     // optimizing
     @Override
@@ -165,9 +174,39 @@ public abstract class OWLAxiomImplWithoutEntityAndAnonCaching extends OWLObjectI
     @Nonnull
     @Override
     public Set<OWLEntity> getSignature() {
-        Set<OWLEntity> signature = super.getSignature();
-        addEntitiesFromAnnotationsToSet(annotations, signature);
-        return signature;
+        if (CompactSignature.isEnabled()) {
+            return getCopyOnRequestSetFromImmutableCollection(new CompactSignature(signatureArray()));
+        }
+        return computeSignature();
+    }
+
+    @Nonnull
+    private Set<OWLEntity> computeSignature() {
+        Set<OWLEntity> set = super.getSignature();
+        addEntitiesFromAnnotationsToSet(annotations, set);
+        return set;
+    }
+
+    /**
+     * @return the signature, computed once and kept for the lifetime of the
+     *         axiom; concurrent first calls compute equal arrays
+     */
+    @Nonnull
+    OWLEntity[] signatureArray() {
+        OWLEntity[] array = signature;
+        if (array == null) {
+            array = CompactSignature.sort(computeSignature());
+            signature = array;
+        }
+        return array;
+    }
+
+    @Override
+    public boolean containsEntityInSignature(@Nonnull OWLEntity owlEntity) {
+        if (CompactSignature.isEnabled()) {
+            return CompactSignature.contains(signatureArray(), owlEntity);
+        }
+        return super.containsEntityInSignature(owlEntity);
     }
 
     @Nonnull
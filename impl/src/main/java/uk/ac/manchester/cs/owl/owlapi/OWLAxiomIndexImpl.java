@@ -2,8 +2,10 @@ package uk.ac.manchester.cs.owl.owlapi;
 
 import static org.semanticweb.owlapi.model.parameters.Imports.EXCLUDED;
 import static org.semanticweb.owlapi.model.parameters.Navigation.*;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
@@ -65,17 +67,40 @@ import org.semanticweb.owlapi.search.Filters;
  */
 public abstract class OWLAxiomIndexImpl extends
         OWLObjectImplWithEntityAndAnonCaching implements OWLAxiomIndex,
-        HasTrimToSize {
+        HasTrimToSize, HasWarmIndexes, HasBulkLoad {
 
     private static final long serialVersionUID = 40000L;
     @Nonnull
-    protected final Internals ints = new Internals();
+    protected final Internals ints;
+
+    /**
+     * @param ints
+     *        internals holding the axioms and indexes
+     */
+    protected OWLAxiomIndexImpl(@Nonnull Internals ints) {
+        this.ints = checkNotNull(ints, "ints cannot be null");
+    }
 
     @Override
     public void trimToSize() {
         ints.trimToSize();
     }
 
+    @Override
+    public Map<String, Long> warmIndexes() {
+        return ints.warmIndexes();
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        ints.beginBulkLoad();
+    }
+
+    @Override
+    public void commitBulkLoad() {
+        ints.commitBulkLoad();
+    }
+
     @Override
     public Set<OWLDeclarationAxiom> getDeclarationAxioms(OWLEntity subject) {
         return getAxioms(OWLDeclarationAxiom.class, subject, EXCLUDED,
@@ -12,7 +12,11 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package uk.ac.manchester.cs.owl.owlapi;
 
-import java.lang.ref.WeakReference;
+import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -23,12 +27,12 @@ import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.util.WeakIndexCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
@@ -41,46 +45,109 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
     private static Logger logger = LoggerFactory.getLogger(OWLDataFactoryInternalsImpl.class);
     private static final long serialVersionUID = 40000L;
 
-    protected class BuildableWeakIndexCache<V extends OWLEntity> extends
-        WeakIndexCache<IRI, V> {
+    /** Retention of interned entities. */
+    public enum Retention {
+        /** entities are discarded as soon as they are not referenced. */
+        WEAK,
+        /** entities are discarded when memory runs low. */
+        SOFT,
+        /** entities are never discarded, until the factory is purged. */
+        STRONG
+    }
+
+    /**
+     * Thread safe entity interner: concurrent requests for the same IRI always
+     * receive the same instance, as the entity is built at most once per key
+     * while the entry is retained.
+     *
+     * @param <V>
+     *        entity type
+     */
+    protected static class BuildableEntityInterner<V extends OWLEntity> implements Serializable {
 
         private static final long serialVersionUID = 40000L;
+        @Nonnull
+        private final Buildable buildable;
+        @Nonnull
+        private final Retention retention;
+        @Nonnull
+        private transient LoadingCache<IRI, V> cache;
+
+        /**
+         * @param buildable
+         *        builder for the entities
+         * @param retention
+         *        retention of the entities
+         */
+        public BuildableEntityInterner(@Nonnull Buildable buildable, @Nonnull Retention retention) {
+            this.buildable = buildable;
+            this.retention = retention;
+            cache = buildCache();
+        }
 
         @Nonnull
-        public V cache(@Nonnull IRI s, @Nonnull Buildable v) {
-            WeakReference<V> w = prefixCache.get(s);
-            if (w != null) {
-                V toReturn = w.get();
-                if (toReturn != null) {
-                    return toReturn;
-                }
+        private LoadingCache<IRI, V> buildCache() {
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+            if (retention == Retention.WEAK) {
+                builder.weakValues();
+            } else if (retention == Retention.SOFT) {
+                builder.softValues();
             }
-            // need to add the new key and return it
-            @SuppressWarnings("unchecked")
-            V value = (V) v.build(s);
-            prefixCache.put(s, new WeakReference<>(value));
-            return value;
+            return builder.build(new CacheLoader<IRI, V>() {
+
+                @Override
+                public V load(IRI key) {
+                    return buildable.<V> build(key);
+                }
+            });
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            cache = buildCache();
+        }
+
+        /**
+         * @param iri
+         *        entity IRI
+         * @return the unique instance for the IRI
+         */
+        @Nonnull
+        public V cache(@Nonnull IRI iri) {
+            return verifyNotNull(cache.getUnchecked(iri));
+        }
+
+        /** @return hit and miss statistics for this interner */
+        @Nonnull
+        public CacheStats stats() {
+            return verifyNotNull(cache.stats());
+        }
+
+        /** empty the interner. */
+        public void clear() {
+            cache.invalidateAll();
         }
     }
 
     @Nonnull
-    private final BuildableWeakIndexCache<OWLClass> classesByURI;
+    private final BuildableEntityInterner<OWLClass> classesByURI;
     @Nonnull
-    private final BuildableWeakIndexCache<OWLObjectProperty> objectPropertiesByURI;
+    private final BuildableEntityInterner<OWLObjectProperty> objectPropertiesByURI;
     @Nonnull
-    private final BuildableWeakIndexCache<OWLDataProperty> dataPropertiesByURI;
+    private final BuildableEntityInterner<OWLDataProperty> dataPropertiesByURI;
     @Nonnull
-    private final BuildableWeakIndexCache<OWLDatatype> datatypesByURI;
+    private final BuildableEntityInterner<OWLDatatype> datatypesByURI;
     @Nonnull
-    private final BuildableWeakIndexCache<OWLNamedIndividual> individualsByURI;
+    private final BuildableEntityInterner<OWLNamedIndividual> individualsByURI;
     @Nonnull
-    private final BuildableWeakIndexCache<OWLAnnotationProperty> annotationPropertiesByURI;
+    private final BuildableEntityInterner<OWLAnnotationProperty> annotationPropertiesByURI;
     @Nonnull
     transient final private Interner<String> languageTagInterner;
 
     @Nonnull
-    protected final <V extends OWLEntity> BuildableWeakIndexCache<V> buildCache() {
-        return new BuildableWeakIndexCache<>();
+    protected final <V extends OWLEntity> BuildableEntityInterner<V> buildCache(@Nonnull Buildable buildable,
+        @Nonnull Retention retention) {
+        return new BuildableEntityInterner<>(buildable, retention);
     }
 
     /**
@@ -99,13 +166,27 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
      */
     @Inject
     public OWLDataFactoryInternalsImpl(@CompressionEnabled boolean useCompression) {
+        this(useCompression, Retention.WEAK);
+    }
+
+    /**
+     * @param useCompression
+     *        true if literals should be compressed
+     * @param retention
+     *        retention of interned entities; {@link Retention#STRONG} avoids
+     *        rebuilding entities and reference processing overhead at the
+     *        price of keeping all entities ever created until
+     *        {@link #purge()} is called
+     */
+    public OWLDataFactoryInternalsImpl(boolean useCompression, @Nonnull Retention retention) {
         super(useCompression);
-        classesByURI = buildCache();
-        objectPropertiesByURI = buildCache();
-        dataPropertiesByURI = buildCache();
-        datatypesByURI = buildCache();
-        individualsByURI = buildCache();
-        annotationPropertiesByURI = buildCache();
+        checkNotNull(retention, "retention cannot be null");
+        classesByURI = buildCache(Buildable.OWLCLASS, retention);
+        objectPropertiesByURI = buildCache(Buildable.OWLOBJECTPROPERTY, retention);
+        dataPropertiesByURI = buildCache(Buildable.OWLDATAPROPERTY, retention);
+        datatypesByURI = buildCache(Buildable.OWLDATATYPE, retention);
+        individualsByURI = buildCache(Buildable.OWLNAMEDINDIVIDUAL, retention);
+        annotationPropertiesByURI = buildCache(Buildable.OWLANNOTATIONPROPERTY, retention);
         languageTagInterner = Interners.newWeakInterner();
         CacheBuilder<Object, Object> annotationsCacheBuilder = CacheBuilder.newBuilder().maximumSize(512)
             .expireAfterAccess(2, TimeUnit.MINUTES);
@@ -179,7 +260,17 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
     @Nonnull
     @Override
     public OWLClass getOWLClass(IRI iri) {
-        return classesByURI.cache(iri, Buildable.OWLCLASS);
+        return classesByURI.cache(iri);
+    }
+
+    /**
+     * @return hit and miss statistics for the entity interners, summed over
+     *         all entity types
+     */
+    @Nonnull
+    public CacheStats getEntityCacheStats() {
+        return classesByURI.stats().plus(objectPropertiesByURI.stats()).plus(dataPropertiesByURI.stats()).plus(
+            datatypesByURI.stats()).plus(individualsByURI.stats()).plus(annotationPropertiesByURI.stats());
     }
 
     @Override
@@ -196,32 +287,31 @@ public class OWLDataFactoryInternalsImpl extends OWLDataFactoryInternalsImplNoCa
     @Nonnull
     @Override
     public OWLObjectProperty getOWLObjectProperty(IRI iri) {
-        return objectPropertiesByURI.cache(iri, Buildable.OWLOBJECTPROPERTY);
+        return objectPropertiesByURI.cache(iri);
     }
 
     @Nonnull
     @Override
     public OWLDataProperty getOWLDataProperty(IRI iri) {
-        return dataPropertiesByURI.cache(iri, Buildable.OWLDATAPROPERTY);
+        return dataPropertiesByURI.cache(iri);
     }
 
     @Nonnull
     @Override
     public OWLNamedIndividual getOWLNamedIndividual(IRI iri) {
-        return individualsByURI.cache(iri, Buildable.OWLNAMEDINDIVIDUAL);
+        return individualsByURI.cache(iri);
     }
 
     @Nonnull
     @Override
     public OWLDatatype getOWLDatatype(IRI iri) {
-        return datatypesByURI.cache(iri, Buildable.OWLDATATYPE);
+        return datatypesByURI.cache(iri);
     }
 
     @Nonnull
     @Override
     public OWLAnnotationProperty getOWLAnnotationProperty(IRI iri) {
-        return annotationPropertiesByURI.cache(iri,
-            Buildable.OWLANNOTATIONPROPERTY);
+        return annotationPropertiesByURI.cache(iri);
     }
 
     /*
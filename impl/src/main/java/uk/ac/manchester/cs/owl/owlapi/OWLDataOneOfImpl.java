@@ -132,6 +132,10 @@ public class OWLDataOneOfImpl extends OWLObjectImplWithoutEntityAndAnonCaching
 
     @Override
     protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLDataOneOfImpl) {
+            // both lists are sorted, no need to copy them
+            return compareLists(values, ((OWLDataOneOfImpl) object).values);
+        }
         return compareSets(values, ((OWLDataOneOf) object).getValues());
     }
 }
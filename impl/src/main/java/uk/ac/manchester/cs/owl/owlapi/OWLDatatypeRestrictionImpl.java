@@ -158,6 +158,9 @@ public class OWLDatatypeRestrictionImpl extends
         if (diff != 0) {
             return diff;
         }
+        if (other instanceof OWLDatatypeRestrictionImpl) {
+            return compareLists(facetRestrictions, ((OWLDatatypeRestrictionImpl) other).facetRestrictions);
+        }
         return compareSets(facetRestrictions, other.getFacetRestrictions());
     }
 }
@@ -149,6 +149,9 @@ public class OWLDisjointUnionAxiomImpl extends OWLClassAxiomImpl implements
         if (diff != 0) {
             return diff;
         }
+        if (other instanceof OWLDisjointUnionAxiomImpl) {
+            return compareLists(classExpressions, ((OWLDisjointUnionAxiomImpl) other).classExpressions);
+        }
         return compareSets(classExpressions, other.getClassExpressions());
     }
 }
@@ -133,6 +133,9 @@ public class OWLHasKeyAxiomImpl extends
         if (diff != 0) {
             return diff;
         }
+        if (other instanceof OWLHasKeyAxiomImpl) {
+            return compareLists(propertyExpressions, ((OWLHasKeyAxiomImpl) other).propertyExpressions);
+        }
         return compareSets(propertyExpressions, other.getPropertyExpressions());
     }
 
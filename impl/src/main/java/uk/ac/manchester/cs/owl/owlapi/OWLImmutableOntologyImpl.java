@@ -76,6 +76,20 @@ public class OWLImmutableOntologyImpl extends OWLAxiomIndexImpl implements OWLOn
      *        ontology id
      */
     public OWLImmutableOntologyImpl(@Nonnull OWLOntologyManager manager, @Nonnull OWLOntologyID ontologyID) {
+        this(manager, ontologyID, new Internals());
+    }
+
+    /**
+     * @param manager
+     *        ontology manager
+     * @param ontologyID
+     *        ontology id
+     * @param ints
+     *        internals holding the axioms and indexes
+     */
+    public OWLImmutableOntologyImpl(@Nonnull OWLOntologyManager manager, @Nonnull OWLOntologyID ontologyID,
+        @Nonnull Internals ints) {
+        super(ints);
         this.manager = checkNotNull(manager, "manager cannot be null");
         this.ontologyID = checkNotNull(ontologyID, "ontologyID cannot be null");
     }
@@ -241,14 +241,7 @@ public class OWLLiteralImplString implements OWLLiteral {
 
     @Override
     public int compareTo(OWLObject o) {
-        int thisTypeIndex = index();
-        int otherTypeIndex = 0;
-        if (o instanceof OWLObjectImplWithEntityAndAnonCaching) {
-            otherTypeIndex = ((OWLObjectImplWithEntityAndAnonCaching) o).index();
-        } else {
-            otherTypeIndex = OWLObjectImplWithEntityAndAnonCaching.OWLOBJECT_TYPEINDEX_PROVIDER.getTypeIndex(o);
-        }
-        int diff = thisTypeIndex - otherTypeIndex;
+        int diff = index() - OWLObjectComparison.typeIndex(o);
         if (diff == 0) {
             // Objects are the same type
             return compareObjectOfSameType(o);
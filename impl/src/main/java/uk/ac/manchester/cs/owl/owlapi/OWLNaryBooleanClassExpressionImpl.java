@@ -95,6 +95,10 @@ public abstract class OWLNaryBooleanClassExpressionImpl extends
 
     @Override
     protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryBooleanClassExpressionImpl) {
+            // both operand lists are sorted, no need to copy them
+            return compareLists(operands, ((OWLNaryBooleanClassExpressionImpl) object).operands);
+        }
         return compareSets(operands,
             ((OWLNaryBooleanClassExpression) object).getOperands());
     }
@@ -101,6 +101,11 @@ public abstract class OWLNaryClassAxiomImpl extends OWLClassAxiomImpl implements
 
     @Override
     protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryClassAxiomImpl) {
+            // both lists are sorted, no need to copy them
+            return compareLists(classExpressions,
+                    ((OWLNaryClassAxiomImpl) object).classExpressions);
+        }
         return compareSets(classExpressions,
                 ((OWLNaryClassAxiom) object).getClassExpressions());
     }
@@ -106,6 +106,11 @@ public abstract class OWLNaryIndividualAxiomImpl extends
 
     @Override
     protected int compareObjectOfSameType(OWLObject object) {
+        if (object instanceof OWLNaryIndividualAxiomImpl) {
+            // both lists are sorted, no need to copy them
+            return compareLists(individuals,
+                    ((OWLNaryIndividualAxiomImpl) object).individuals);
+        }
         return compareSets(individuals,
                 ((OWLNaryIndividualAxiom) object).getIndividuals());
     }
@@ -0,0 +1,66 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
+
+/**
+ * Helpers shared by the {@code compareTo} implementations of the object
+ * implementation hierarchies, which read the type index and the annotations
+ * of the implementation classes directly instead of allocating.
+ *
+ * @author ignazio
+ */
+final class OWLObjectComparison {
+
+    private OWLObjectComparison() {}
+
+    /**
+     * @param o
+     *        object
+     * @return type index of the object; the implementation classes know their
+     *         own index, other objects go through a fresh visitor, as the
+     *         visitor is stateful and comparisons can run on several threads
+     */
+    static int typeIndex(OWLObject o) {
+        if (o instanceof OWLObjectImplWithoutEntityAndAnonCaching) {
+            return ((OWLObjectImplWithoutEntityAndAnonCaching) o).index();
+        }
+        if (o instanceof OWLObjectImplWithEntityAndAnonCaching) {
+            return ((OWLObjectImplWithEntityAndAnonCaching) o).index();
+        }
+        return new OWLObjectTypeIndexProvider().getTypeIndex(o);
+    }
+
+    /**
+     * @param axiom
+     *        axiom
+     * @return the sorted annotations of the axiom; the list kept by the
+     *         implementation classes is returned as is, without copying
+     */
+    static List<OWLAnnotation> sortedAnnotations(OWLAxiom axiom) {
+        if (axiom instanceof OWLAxiomImplWithoutEntityAndAnonCaching) {
+            return ((OWLAxiomImplWithoutEntityAndAnonCaching) axiom).annotationList();
+        }
+        if (axiom instanceof OWLAxiomImplWithEntityAndAnonCaching) {
+            return ((OWLAxiomImplWithEntityAndAnonCaching) axiom).annotationList();
+        }
+        return new ArrayList<>(axiom.getAnnotations());
+    }
+}
@@ -27,7 +27,6 @@ import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.HashCode;
 import org.semanticweb.owlapi.util.OWLClassExpressionCollector;
-import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 /**
@@ -41,11 +40,13 @@ public abstract class OWLObjectImplWithEntityAndAnonCaching implements OWLObject
     /** a convenience reference for an empty annotation set, saves on typing. */
     @Nonnull
     protected static final Set<OWLAnnotation> NO_ANNOTATIONS = CollectionFactory.emptySet();
-    static final OWLObjectTypeIndexProvider OWLOBJECT_TYPEINDEX_PROVIDER = new OWLObjectTypeIndexProvider();
     private int hashCode = 0;
     @Nullable
     private transient WeakReference<Set<OWLEntity>> signature = null;
     private transient WeakReference<Set<OWLAnonymousIndividual>> anons = null;
+    /** Signature, sorted for searching; computed on first use. */
+    @Nullable
+    private transient volatile OWLEntity[] compactSignature;
     @Nonnull
     protected static final OWLClass OWL_THING = new OWLClassImpl(OWLRDFVocabulary.OWL_THING.getIRI());
 
@@ -57,6 +58,18 @@ public abstract class OWLObjectImplWithEntityAndAnonCaching implements OWLObject
 
     @Override
     public Set<OWLEntity> getSignature() {
+        if (CompactSignature.isEnabled()) {
+            return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(new CompactSignature(
+                signatureArray()));
+        }
+        return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(cachedSignature());
+    }
+
+    /**
+     * @return the signature, kept through a weak reference
+     */
+    @Nonnull
+    private Set<OWLEntity> cachedSignature() {
         Set<OWLEntity> set = null;
         if (signature != null) {
             set = verifyNotNull(signature).get();
@@ -69,18 +82,35 @@ public abstract class OWLObjectImplWithEntityAndAnonCaching implements OWLObject
             signature = new WeakReference<>(set);
             anons = new WeakReference<>(anon);
         }
-        return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(set);
+        return set;
+    }
+
+    /**
+     * @return the signature, computed once and kept for the lifetime of the
+     *         object; concurrent first calls compute equal arrays
+     */
+    @Nonnull
+    OWLEntity[] signatureArray() {
+        OWLEntity[] array = compactSignature;
+        if (array == null) {
+            array = CompactSignature.sort(cachedSignature());
+            compactSignature = array;
+        }
+        return array;
     }
 
     @Override
     public boolean containsEntityInSignature(@Nonnull OWLEntity owlEntity) {
+        if (CompactSignature.isEnabled()) {
+            return CompactSignature.contains(signatureArray(), owlEntity);
+        }
         return getSignature().contains(owlEntity);
     }
 
     @Override
     public Set<OWLAnonymousIndividual> getAnonymousIndividuals() {
         if (signature == null || verifyNotNull(signature).get() == null) {
-            getSignature();
+            cachedSignature();
         }
         return CollectionFactory.getCopyOnRequestSetFromImmutableCollection(anons.get());
     }
@@ -174,14 +204,10 @@ public abstract class OWLObjectImplWithEntityAndAnonCaching implements OWLObject
 
     @Override
     public int compareTo(OWLObject o) {
-        int thisTypeIndex = index();
-        int otherTypeIndex = 0;
-        if (o instanceof OWLObjectImplWithEntityAndAnonCaching) {
-            otherTypeIndex = ((OWLObjectImplWithEntityAndAnonCaching) o).index();
-        } else {
-            otherTypeIndex = OWLOBJECT_TYPEINDEX_PROVIDER.getTypeIndex(o);
+        if (o == this) {
+            return 0;
         }
-        int diff = thisTypeIndex - otherTypeIndex;
+        int diff = index() - OWLObjectComparison.typeIndex(o);
         if (diff != 0) {
             return diff;
         }
@@ -191,8 +217,8 @@ public abstract class OWLObjectImplWithEntityAndAnonCaching implements OWLObject
             return diff;
         }
         if (this instanceof OWLAxiom) {
-            diff = compareLists(new ArrayList<>(((OWLAxiom) this).getAnnotations()), new ArrayList<>(((OWLAxiom) o)
-                .getAnnotations()));
+            diff = compareLists(OWLObjectComparison.sortedAnnotations((OWLAxiom) this), OWLObjectComparison
+                .sortedAnnotations((OWLAxiom) o));
         }
         return diff;
     }
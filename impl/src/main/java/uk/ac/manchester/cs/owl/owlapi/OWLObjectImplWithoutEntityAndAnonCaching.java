@@ -23,7 +23,6 @@ import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.util.HashCode;
 import org.semanticweb.owlapi.util.OWLClassExpressionCollector;
-import org.semanticweb.owlapi.util.OWLObjectTypeIndexProvider;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 
 /**
@@ -38,7 +37,6 @@ public abstract class OWLObjectImplWithoutEntityAndAnonCaching implements OWLObj
     /** a convenience reference for an empty annotation set, saves on typing. */
     @Nonnull
     protected static final Set<OWLAnnotation> NO_ANNOTATIONS = CollectionFactory.emptySet();
-    static final OWLObjectTypeIndexProvider OWLOBJECT_TYPEINDEX_PROVIDER = new OWLObjectTypeIndexProvider();
     protected int hashCode = 0;
     @Nonnull
     protected static final OWLClass OWL_THING = new OWLClassImpl(OWLRDFVocabulary.OWL_THING.getIRI());
@@ -201,14 +199,10 @@ public abstract class OWLObjectImplWithoutEntityAndAnonCaching implements OWLObj
 
     @Override
     public int compareTo(OWLObject o) {
-        int thisTypeIndex = index();
-        int otherTypeIndex = 0;
-        if (o instanceof OWLObjectImplWithoutEntityAndAnonCaching) {
-            otherTypeIndex = ((OWLObjectImplWithoutEntityAndAnonCaching) o).index();
-        } else {
-            otherTypeIndex = OWLOBJECT_TYPEINDEX_PROVIDER.getTypeIndex(o);
+        if (o == this) {
+            return 0;
         }
-        int diff = thisTypeIndex - otherTypeIndex;
+        int diff = index() - OWLObjectComparison.typeIndex(o);
         if (diff != 0) {
             return diff;
         }
@@ -218,8 +212,8 @@ public abstract class OWLObjectImplWithoutEntityAndAnonCaching implements OWLObj
             return diff;
         }
         if (this instanceof OWLAxiom) {
-            diff = compareLists(new ArrayList<>(((OWLAxiom) this).getAnnotations()), new ArrayList<>(((OWLAxiom) o)
-                .getAnnotations()));
+            diff = compareLists(OWLObjectComparison.sortedAnnotations((OWLAxiom) this), OWLObjectComparison
+                .sortedAnnotations((OWLAxiom) o));
         }
         return diff;
     }
@@ -6,9 +6,11 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -71,7 +73,7 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
             return parsers;
         }
         if (!documentSource.isFormatKnown() && !documentSource.isMIMETypeKnown()) {
-            return parsers;
+            return getParsersBySniffing(documentSource, parsers);
         }
         PriorityCollection<OWLParserFactory> candidateParsers = parsers;
         if (documentSource.isFormatKnown()) {
@@ -90,6 +92,45 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
         return candidateParsers;
     }
 
+    /**
+     * Inspect the start of the document to guess its format; the parsers for
+     * the likely formats are moved to the front, so that the other parsers
+     * are only tried if those fail.
+     * 
+     * @param documentSource
+     *        document source
+     * @param parsers
+     *        parsers
+     * @return all parsers, likely ones first
+     */
+    private static PriorityCollection<OWLParserFactory> getParsersBySniffing(
+        OWLOntologyDocumentSource documentSource, PriorityCollection<OWLParserFactory> parsers) {
+        List<String> keys = DocumentFormatSniffer.sniff(documentSource);
+        if (keys.isEmpty()) {
+            return parsers;
+        }
+        // add(T) inserts at the front; collect the parsers in order and add
+        // them in one call to keep that order
+        List<OWLParserFactory> ordered = new ArrayList<>();
+        for (String key : keys) {
+            for (OWLParserFactory parser : parsers) {
+                if (parser.getSupportedFormat().getKey().equals(key)) {
+                    ordered.add(parser);
+                }
+            }
+        }
+        LOGGER.debug("Format guessed for {}: {}", documentSource.getDocumentIRI(), keys);
+        for (OWLParserFactory parser : parsers) {
+            if (!keys.contains(parser.getSupportedFormat().getKey())) {
+                ordered.add(parser);
+            }
+        }
+        PriorityCollection<OWLParserFactory> candidateParsers = new PriorityCollection<>(
+            PriorityCollectionSorting.NEVER);
+        candidateParsers.add(ordered);
+        return candidateParsers;
+    }
+
     /**
      * Use the format to select a sublist of parsers.
      * 
@@ -156,6 +197,27 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
         return false;
     }
 
+    /**
+     * Parses the document into the ontology; unless disabled in the
+     * configuration, the axioms are indexed in one batch when parsing is
+     * complete rather than one at a time.
+     */
+    @Nonnull
+    private static OWLDocumentFormat parse(@Nonnull OWLParser parser,
+        @Nonnull OWLOntologyDocumentSource documentSource, @Nonnull OWLOntology ont,
+        @Nonnull OWLOntologyLoaderConfiguration configuration) throws IOException {
+        if (!configuration.isBulkLoad() || !(ont instanceof HasBulkLoad)) {
+            return parser.parse(documentSource, ont, configuration);
+        }
+        HasBulkLoad bulk = (HasBulkLoad) ont;
+        bulk.beginBulkLoad();
+        try {
+            return parser.parse(documentSource, ont, configuration);
+        } finally {
+            bulk.commitBulkLoad();
+        }
+    }
+
     @Nonnull
     @Override
     public OWLOntology loadOWLOntology(@Nonnull OWLOntologyManager manager,
@@ -194,7 +256,7 @@ public class OWLOntologyFactoryImpl implements OWLOntologyFactory {
                         manager.removeOntology(ont);
                         ont = createOWLOntology(manager, ontologyID, documentSource.getDocumentIRI(), handler);
                     }
-                    OWLDocumentFormat format = parser.parse(documentSource, ont, configuration);
+                    OWLDocumentFormat format = parse(parser, documentSource, ont, configuration);
                     handler.setOntologyFormat(ont, format);
                     return ont;
                 } catch (IOException e) {
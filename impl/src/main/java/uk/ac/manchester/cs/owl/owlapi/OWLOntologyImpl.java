@@ -55,11 +55,25 @@ public class OWLOntologyImpl extends OWLImmutableOntologyImpl implements OWLMuta
      * @param ontologyID
      *        ontology id
      */
-    @Inject
-    public OWLOntologyImpl(@Nonnull @Assisted OWLOntologyManager manager, @Nonnull @Assisted OWLOntologyID ontologyID) {
+    public OWLOntologyImpl(@Nonnull OWLOntologyManager manager, @Nonnull OWLOntologyID ontologyID) {
         super(manager, ontologyID);
     }
 
+    /**
+     * @param manager
+     *        ontology manager
+     * @param ontologyID
+     *        ontology id
+     * @param ints
+     *        internals holding the axioms and indexes; the implementation is
+     *        selected by the injection module
+     */
+    @Inject
+    public OWLOntologyImpl(@Nonnull @Assisted OWLOntologyManager manager, @Nonnull @Assisted OWLOntologyID ontologyID,
+        @Nonnull Internals ints) {
+        super(manager, ontologyID, ints);
+    }
+
     @Override
     public ChangeApplied applyChange(@Nonnull OWLOntologyChange change) {
         OWLOntologyChangeFilter changeFilter = new OWLOntologyChangeFilter();
@@ -31,7 +31,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -68,6 +76,7 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
 import uk.ac.manchester.cs.owl.owlapi.concurrent.ConcurrentPriorityCollection;
+import uk.ac.manchester.cs.owl.owlapi.concurrent.NoOpReadWriteLock;
 
 /**
  * @author Matthew Horridge, The University Of Manchester, Bio-Health
@@ -99,6 +108,9 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     private transient Map<OWLOntologyChangeListener, OWLOntologyChangeBroadcastStrategy> listenerMap = createSyncMap();
     private transient Map<ImpendingOWLOntologyChangeListener, ImpendingOWLOntologyChangeBroadcastStrategy> impendingChangeListenerMap = createSyncMap();
     private transient List<OWLOntologyChangesVetoedListener> vetoListeners = new ArrayList<>();
+    private transient List<PendingImport> pendingImports = createSyncList();
+    @Nullable private transient ExecutorService importsExecutor;
+    @Nullable private transient CompletionService<OWLOntology> importsCompletion;
     @Nonnull private Provider<OWLOntologyLoaderConfiguration> configProvider = new OWLAPIConfigProvider();
     @Nonnull private Optional<OWLOntologyLoaderConfiguration> config = Optional.absent();
     @Nonnull protected final PriorityCollection<OWLOntologyIRIMapper> documentMappers;
@@ -388,6 +400,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
     @Nullable
     @Override
     public OWLOntology getImportedOntology(OWLImportsDeclaration declaration) {
+        joinPendingImports();
         readLock.lock();
         try {
             OWLOntologyID ontologyID = ontologyIDsByImportsDeclaration.get(declaration);
@@ -413,6 +426,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
 
     @Override
     public Set<OWLOntology> getDirectImports(OWLOntology ontology) {
+        joinPendingImports();
         readLock.lock();
         try {
             if (!contains(ontology)) {
@@ -434,6 +448,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
 
     @Override
     public Set<OWLOntology> getImports(OWLOntology ontology) {
+        joinPendingImports();
         readLock.lock();
         try {
             if (!contains(ontology)) {
@@ -472,6 +487,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
 
     @Override
     public Set<OWLOntology> getImportsClosure(OWLOntology ontology) {
+        joinPendingImports();
         readLock.lock();
         try {
             Set<OWLOntology> ontologies = importsClosureCache.get(ontology.getOntologyID());
@@ -1136,7 +1152,9 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
                 loadCount.decrementAndGet();
                 if (loadCount.get() == 0) {
                     broadcastChanges.set(true);
-                    // Completed loading ontology and imports
+                    // Completed loading ontology and imports; imports still
+                    // pending here belong to a load that failed
+                    discardPendingImports();
                 }
                 fireFinishedLoadingEvent(idOfLoadedOntology, documentSource.getDocumentIRI(), loadCount.get() > 0, ex);
             }
@@ -1154,10 +1172,18 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
                 // because it will be added
                 // when the ontology is created.
                 OWLOntology ontology = factory.loadOWLOntology(this, documentSource, this, configuration);
+                if (loadCount.get() == 1) {
+                    // top level ontology parsed: its imports must be available
+                    // before it is returned
+                    joinPendingImports();
+                }
                 fixIllegalPunnings(ontology);
                 // Store the ontology to the document IRI mapping
                 documentIRIsByID.put(ontology.getOntologyID(), documentSource.getDocumentIRI());
                 ontologyConfigurationsByOntologyID.put(ontology.getOntologyID(), configuration);
+                if (configuration.isWarmIndexes() && ontology instanceof HasWarmIndexes) {
+                    warmIndexes(ontology, (HasWarmIndexes) ontology);
+                }
                 if (ontology instanceof HasTrimToSize) {
                     ((HasTrimToSize) ontology).trimToSize();
                 }
@@ -1167,6 +1193,19 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         return null;
     }
 
+    protected void warmIndexes(OWLOntology o, HasWarmIndexes indexes) {
+        long start = System.nanoTime();
+        Map<String, Long> times = indexes.warmIndexes();
+        if (LOGGER.isDebugEnabled()) {
+            for (Map.Entry<String, Long> e : times.entrySet()) {
+                LOGGER.debug("Index {} built in {} ms", e.getKey(), Long.valueOf(TimeUnit.NANOSECONDS.toMillis(e
+                    .getValue().longValue())));
+            }
+        }
+        LOGGER.debug("Built {} indexes for {} in {} ms", Integer.valueOf(times.size()), o.getOntologyID(), Long
+            .valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+    }
+
     protected void fixIllegalPunnings(OWLOntology o) {
         Collection<IRI> illegals = OWLDocumentFormatImpl.determineIllegalPunnings(true, o.getSignature(INCLUDED), o
             .getPunnedIRIs(INCLUDED));
@@ -1560,6 +1599,7 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         listenerMap = new ConcurrentHashMap<>();
         impendingChangeListenerMap = new ConcurrentHashMap<>();
         vetoListeners = new ArrayList<>();
+        pendingImports = createSyncList();
     }
 
     @Override
@@ -1755,6 +1795,10 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
             IRI iri = declaration.getIRI();
             if (!configuration.isIgnoredImport(iri) && !importedIRIs.containsKey(iri)) {
                 importedIRIs.put(iri, new Object());
+                if (canLoadInParallel(iri, configuration)) {
+                    submitImport(declaration, configuration);
+                    return;
+                }
                 try {
                     OWLOntology ont = loadImports(declaration, configuration);
                     if (ont != null) {
@@ -1771,6 +1815,265 @@ public class OWLOntologyManagerImpl implements OWLOntologyManager, OWLOntologyFa
         }
     }
 
+    /**
+     * @param iri
+     *        imported IRI
+     * @param configuration
+     *        loader configuration
+     * @return true if the import can be loaded by a worker thread while the
+     *         importing ontology is being parsed. Managers with a real lock
+     *         share it with their ontologies, and the loading thread holds it
+     *         until the imports are joined, so they always load imports
+     *         sequentially.
+     */
+    protected boolean canLoadInParallel(IRI iri, OWLOntologyLoaderConfiguration configuration) {
+        return configuration.getParallelImports() > 1 && loadCount.get() > 0
+            && readWriteLock instanceof NoOpReadWriteLock && !contains(iri) && !containsVersion(iri);
+    }
+
+    /**
+     * Starts loading an import on a worker thread. The import is loaded, with
+     * its own imports, in a separate manager, and moved to this manager by
+     * {@link #joinPendingImports()}.
+     * 
+     * @param declaration
+     *        import to load
+     * @param configuration
+     *        loader configuration
+     */
+    protected void submitImport(final OWLImportsDeclaration declaration,
+        final OWLOntologyLoaderConfiguration configuration) {
+        writeLock.lock();
+        try {
+            if (importsExecutor == null) {
+                importsExecutor = Executors.newFixedThreadPool(configuration.getParallelImports());
+                importsCompletion = new ExecutorCompletionService<>(verifyNotNull(importsExecutor));
+            }
+            final OWLOntologyManagerImpl importsManager = new OWLOntologyManagerImpl(dataFactory,
+                new NoOpReadWriteLock());
+            importsManager.getIRIMappers().set(documentMappers);
+            importsManager.getOntologyFactories().set(ontologyFactories);
+            importsManager.getOntologyParsers().set(parserFactories);
+            // loading and missing import events are recorded by the worker and
+            // fired by this manager when the import is joined
+            ImportEvents events = new ImportEvents();
+            importsManager.addOntologyLoaderListener(events);
+            importsManager.addMissingImportListener(events);
+            // imports of imports are loaded by the same worker, so that workers
+            // never wait on each other
+            final OWLOntologyLoaderConfiguration sequential = configuration.setParallelImports(0);
+            Future<OWLOntology> future = verifyNotNull(importsCompletion).submit(new Callable<OWLOntology>() {
+
+                @Override
+                public OWLOntology call() throws OWLOntologyCreationException {
+                    return importsManager.loadOntology(verifyNotNull(declaration.getIRI()), true, sequential);
+                }
+            });
+            pendingImports.add(new PendingImport(declaration, configuration, future, events));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the imports submitted by {@link #submitImport} and adds them to
+     * this manager. Imports are joined as they complete, so a slow import does
+     * not hold back the others; the loading and missing import events recorded
+     * for each import are fired when it is joined, so events for different
+     * imports can come in a different order than for sequential loading.
+     */
+    protected void joinPendingImports() {
+        if (pendingImports.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Map<Future<OWLOntology>, PendingImport> toJoin = new HashMap<>();
+            for (PendingImport pending : pendingImports) {
+                toJoin.put(pending.future, pending);
+            }
+            pendingImports.clear();
+            while (!toJoin.isEmpty()) {
+                PendingImport pending = toJoin.remove(nextCompletedImport());
+                if (pending == null) {
+                    // discarded by an earlier load
+                    continue;
+                }
+                try {
+                    OWLOntology ont = pending.get();
+                    pending.events.replay(this);
+                    ont = moveImportsClosure(ont, pending.configuration);
+                    ontologyIDsByImportsDeclaration.put(pending.declaration, ont.getOntologyID());
+                    importedIRIs.put(pending.declaration.getIRI(), ont.getOntologyID());
+                } catch (OWLOntologyCreationException e) {
+                    pending.events.replay(this);
+                    if (pending.configuration
+                        .getMissingImportHandlingStrategy() == MissingImportHandlingStrategy.THROW_EXCEPTION) {
+                        discard(toJoin.values());
+                        throw new UnloadableImportException(e, pending.declaration);
+                    }
+                    fireMissingImportEvent(new MissingImportEvent(pending.declaration.getIRI(), e));
+                } catch (UnloadableImportException e) {
+                    // a missing import of the import, with THROW_EXCEPTION: as
+                    // for sequential loading, it is reported as is
+                    pending.events.replay(this);
+                    discard(toJoin.values());
+                    throw e;
+                }
+            }
+            importsClosureCache.clear();
+        } finally {
+            if (pendingImports.isEmpty() && importsExecutor != null) {
+                verifyNotNull(importsExecutor).shutdown();
+                importsExecutor = null;
+                importsCompletion = null;
+            }
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves an ontology loaded by a worker, with the ontologies it imports, to
+     * this manager. Ontologies already in this manager, e.g., because another
+     * worker loaded them too, are not replaced.
+     * 
+     * @param ont
+     *        ontology loaded by a worker
+     * @param configuration
+     *        loader configuration for the moved ontologies
+     * @return the ontology in this manager with the same id
+     * @throws OWLOntologyCreationException
+     *         if the ontology cannot be moved
+     */
+    @Nonnull
+    private OWLOntology moveImportsClosure(OWLOntology ont, OWLOntologyLoaderConfiguration configuration)
+        throws OWLOntologyCreationException {
+        OWLOntologyManager importsManager = ont.getOWLOntologyManager();
+        OWLOntology toReturn = null;
+        for (OWLOntology o : new ArrayList<>(importsManager.getOntologies())) {
+            assert o != null;
+            OWLOntology moved = ontologiesByID.get(o.getOntologyID());
+            if (moved == null) {
+                moved = copyOntology(o, OntologyCopy.MOVE);
+                ontologyConfigurationsByOntologyID.put(moved.getOntologyID(), configuration);
+            }
+            if (o == ont) {
+                toReturn = moved;
+            }
+        }
+        return verifyNotNull(toReturn);
+    }
+
+    @Nonnull
+    private Future<OWLOntology> nextCompletedImport() {
+        try {
+            return verifyNotNull(importsCompletion).take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        }
+    }
+
+    private void discardPendingImports() {
+        writeLock.lock();
+        try {
+            List<PendingImport> toDiscard = new ArrayList<>(pendingImports);
+            pendingImports.clear();
+            discard(toDiscard);
+            if (importsExecutor != null) {
+                verifyNotNull(importsExecutor).shutdownNow();
+                importsExecutor = null;
+                importsCompletion = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void discard(Collection<PendingImport> imports) {
+        for (PendingImport pending : imports) {
+            pending.future.cancel(true);
+        }
+    }
+
+    /** An import being loaded by a worker thread. */
+    private static class PendingImport {
+
+        @Nonnull final OWLImportsDeclaration declaration;
+        @Nonnull final OWLOntologyLoaderConfiguration configuration;
+        @Nonnull final Future<OWLOntology> future;
+        @Nonnull final ImportEvents events;
+
+        PendingImport(@Nonnull OWLImportsDeclaration declaration,
+            @Nonnull OWLOntologyLoaderConfiguration configuration, @Nonnull Future<OWLOntology> future,
+            @Nonnull ImportEvents events) {
+            this.declaration = declaration;
+            this.configuration = configuration;
+            this.future = future;
+            this.events = events;
+        }
+
+        @Nonnull
+        OWLOntology get() throws OWLOntologyCreationException {
+            try {
+                return verifyNotNull(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLOntologyCreationException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof OWLOntologyCreationException) {
+                    throw (OWLOntologyCreationException) e.getCause();
+                }
+                if (e.getCause() instanceof UnloadableImportException) {
+                    throw (UnloadableImportException) e.getCause();
+                }
+                throw new OWLOntologyCreationException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Loading and missing import events fired by the manager of a worker
+     * thread, kept to be fired again by the importing manager. Every ontology
+     * a worker loads is an import of the importing load.
+     */
+    private static class ImportEvents implements OWLOntologyLoaderListener, MissingImportListener {
+
+        private static final long serialVersionUID = 40000L;
+        /** Only read after the worker has finished. */
+        private final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void startedLoadingOntology(LoadingStartedEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void finishedLoadingOntology(LoadingFinishedEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void importMissing(MissingImportEvent event) {
+            events.add(event);
+        }
+
+        void replay(OWLOntologyManagerImpl manager) {
+            for (Object o : events) {
+                if (o instanceof LoadingStartedEvent) {
+                    LoadingStartedEvent e = (LoadingStartedEvent) o;
+                    manager.fireStartedLoadingEvent(e.getOntologyID(), e.getDocumentIRI(), true);
+                } else if (o instanceof LoadingFinishedEvent) {
+                    LoadingFinishedEvent e = (LoadingFinishedEvent) o;
+                    manager.fireFinishedLoadingEvent(e.getOntologyID(), e.getDocumentIRI(), true, e.getException());
+                } else {
+                    manager.fireMissingImportEvent((MissingImportEvent) o);
+                }
+            }
+            events.clear();
+        }
+    }
+
     @Override
     public void addMissingImportListener(MissingImportListener listener) {
         writeLock.lock();
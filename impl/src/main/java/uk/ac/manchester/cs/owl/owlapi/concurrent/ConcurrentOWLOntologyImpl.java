@@ -4,7 +4,9 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
 import java.io.OutputStream;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -25,12 +27,14 @@ import org.semanticweb.owlapi.model.parameters.ChangeApplied;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.model.parameters.Navigation;
 import org.semanticweb.owlapi.util.OWLAxiomSearchFilter;
+import uk.ac.manchester.cs.owl.owlapi.HasBulkLoad;
 import uk.ac.manchester.cs.owl.owlapi.HasTrimToSize;
+import uk.ac.manchester.cs.owl.owlapi.HasWarmIndexes;
 
 /**
  * Matthew Horridge Stanford Center for Biomedical Informatics Research 03/04/15
  */
-public class ConcurrentOWLOntologyImpl implements OWLMutableOntology,HasTrimToSize {
+public class ConcurrentOWLOntologyImpl implements OWLMutableOntology,HasTrimToSize,HasWarmIndexes,HasBulkLoad {
 
     private final OWLOntology delegate;
     private final ReadWriteLock readWriteLock;
@@ -65,6 +69,43 @@ public class ConcurrentOWLOntologyImpl implements OWLMutableOntology,HasTrimToSi
 
     }
 
+    @Override
+    public Map<String, Long> warmIndexes() {
+        readLock.lock();
+        try {
+            if (delegate instanceof HasWarmIndexes) {
+                return ((HasWarmIndexes) delegate).warmIndexes();
+            }
+            return Collections.emptyMap();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void beginBulkLoad() {
+        writeLock.lock();
+        try {
+            if (delegate instanceof HasBulkLoad) {
+                ((HasBulkLoad) delegate).beginBulkLoad();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void commitBulkLoad() {
+        writeLock.lock();
+        try {
+            if (delegate instanceof HasBulkLoad) {
+                ((HasBulkLoad) delegate).commitBulkLoad();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void accept(@Nonnull OWLNamedObjectVisitor owlNamedObjectVisitor) {
         delegate.accept(owlNamedObjectVisitor);
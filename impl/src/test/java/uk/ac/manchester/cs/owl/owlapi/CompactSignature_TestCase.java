@@ -0,0 +1,102 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+@SuppressWarnings("javadoc")
+public class CompactSignature_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create("urn:test#", "C" + i));
+    }
+
+    @Test
+    public void shouldFindSameEntitiesAsHashSet() {
+        // small sizes are scanned, larger ones searched
+        for (int size : new int[] { 0, 1, 8, 9, 200 }) {
+            Set<OWLEntity> expected = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(c(i));
+                expected.add(df.getOWLObjectProperty(IRI.create("urn:test#", "C" + i)));
+            }
+            OWLEntity[] array = CompactSignature.sort(expected);
+            CompactSignature signature = new CompactSignature(array);
+            assertEquals(expected, signature);
+            assertEquals(expected.hashCode(), signature.hashCode());
+            for (int i = 0; i < size + 10; i++) {
+                assertEquals(expected.contains(c(i)), signature.contains(c(i)));
+                assertEquals(expected.contains(c(i)), CompactSignature.contains(array, c(i)));
+            }
+            assertFalse(signature.contains(IRI.create("urn:test#", "C0")));
+        }
+    }
+
+    private List<OWLAxiom> axioms() {
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("urn:test#", "p"));
+        OWLObjectProperty q = df.getOWLObjectProperty(IRI.create("urn:test#", "q"));
+        OWLNamedIndividual i = df.getOWLNamedIndividual(IRI.create("urn:test#", "i"));
+        OWLNamedIndividual j = df.getOWLNamedIndividual(IRI.create("urn:test#", "j"));
+        // both axiom base classes, with and without annotations
+        OWLAxiom subClassOf = df.getOWLSubClassOfAxiom(c(1), df.getOWLObjectIntersectionOf(c(2), c(3)), Collections
+            .singleton(df.getOWLAnnotation(df.getRDFSComment(), IRI.create("urn:test#", "C4"))));
+        OWLAxiom assertion = df.getOWLObjectPropertyAssertionAxiom(p, i, j);
+        OWLAxiom equivalent = df.getOWLEquivalentObjectPropertiesAxiom(p, q, Collections.singleton(df
+            .getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral("pq"))));
+        return Arrays.asList(subClassOf, assertion, equivalent);
+    }
+
+    @Test
+    public void shouldKeepAxiomSignature() {
+        List<Set<OWLEntity>> expected = new ArrayList<>();
+        for (OWLAxiom axiom : axioms()) {
+            expected.add(axiom.getSignature());
+        }
+        boolean enabled = CompactSignature.isEnabled();
+        CompactSignature.setEnabled(true);
+        try {
+            List<OWLAxiom> axioms = axioms();
+            for (int i = 0; i < axioms.size(); i++) {
+                OWLAxiom axiom = axioms.get(i);
+                assertEquals(expected.get(i), axiom.getSignature());
+                assertEquals(expected.get(i), axiom.getSignature());
+                for (OWLEntity e : expected.get(i)) {
+                    assertTrue(axiom.containsEntityInSignature(e));
+                }
+                assertFalse(axiom.containsEntityInSignature(c(4)));
+            }
+            assertTrue(axioms.get(0).containsEntityInSignature(df.getRDFSComment()));
+            assertTrue(axioms.get(2).containsEntityInSignature(df.getRDFSLabel()));
+        } finally {
+            CompactSignature.setEnabled(enabled);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+@SuppressWarnings("javadoc")
+public class ConcurrentInternals_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create("urn:test#", "C" + i));
+    }
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            axioms.add(df.getOWLSubClassOfAxiom(c(i), c(0)));
+            axioms.add(df.getOWLDeclarationAxiom(c(i)));
+            if (i % 3 == 0) {
+                axioms.add(df.getOWLEquivalentClassesAxiom(c(i), df.getOWLObjectComplementOf(c(i - 1))));
+            }
+        }
+        return axioms;
+    }
+
+    @Test
+    public void shouldAllowReadsDuringWrites() throws Exception {
+        final Internals internals = new ConcurrentInternals();
+        final List<OWLAxiom> axioms = axioms(2000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(new Callable<Void>() {
+
+                @Override
+                public Void call() {
+                    for (OWLAxiom ax : axioms) {
+                        internals.addAxiom(ax);
+                    }
+                    return null;
+                }
+            }));
+            for (int t = 0; t < 3; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() {
+                        for (int i = 0; i < 2000; i++) {
+                            for (OWLSubClassOfAxiom ax : pointer(internals, OWLSubClassOfAxiom.class,
+                                Navigation.IN_SUPER_POSITION).getValues(c(0))) {
+                                assertEquals(c(0), ax.getSuperClass());
+                            }
+                            internals.getReferencingAxioms(c(i));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1999, pointer(internals, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).getValues(c(0))
+            .size());
+        assertEquals(axioms.size(), internals.getAxiomCount());
+    }
+
+    private static <A extends OWLAxiom> MapPointer<OWLClass, A> pointer(Internals i, Class<A> type,
+        Navigation position) {
+        return i.get(OWLClass.class, type, position).get();
+    }
+}
@@ -0,0 +1,55 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DocumentFormatSniffer_TestCase {
+
+    private static String first(String head) {
+        List<String> keys = DocumentFormatSniffer.sniff(head);
+        return keys.isEmpty() ? null : keys.get(0);
+    }
+
+    @Test
+    public void shouldRecognizeXMLRoots() {
+        assertEquals("RDF/XML Syntax", first(
+            "<?xml version=\"1.0\"?>\n<!DOCTYPE rdf:RDF [\n<!ENTITY owl \"urn:x\" >\n]>\n<rdf:RDF xmlns=\"urn:a\">"));
+        assertEquals("RDF/XML Syntax", first("<owl:Ontology rdf:about=\"urn:a\"/>"));
+        assertEquals("OWL/XML Syntax", first(
+            "<?xml version=\"1.0\"?>\n<!-- comment -->\n<Ontology xmlns=\"http://www.w3.org/2002/07/owl#\">"));
+    }
+
+    @Test
+    public void shouldRecognizeTextFormats() {
+        assertEquals("OWL Functional Syntax", first("Prefix(:=<urn:test#>)\nOntology(<urn:test>)"));
+        assertEquals("Manchester OWL Syntax", first("Prefix: : <urn:test#>\nOntology: <urn:test>"));
+        assertEquals("Turtle", first("# comment\n@prefix : <urn:test#> ."));
+        assertEquals("Turtle", first("PREFIX : <urn:test#>"));
+        assertEquals("Turtle", first("<http://a> <http://b> <http://c> ."));
+        assertEquals("OBO Format", first("format-version: 1.2\nontology: test\n"));
+        assertEquals("JSON-LD", first("{ \"@context\": {} }"));
+        assertEquals("OWL Binary Snapshot", first("OWLSNAP\n\u0001\u0001"));
+    }
+
+    @Test
+    public void shouldNotGuessUnknownContent() {
+        assertTrue(DocumentFormatSniffer.sniff("").isEmpty());
+        assertTrue(DocumentFormatSniffer.sniff("Namespace: test").isEmpty());
+    }
+}
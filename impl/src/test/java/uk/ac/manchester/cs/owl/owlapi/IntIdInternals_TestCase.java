@@ -0,0 +1,112 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+
+@SuppressWarnings("javadoc")
+public class IntIdInternals_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create("urn:test#", "C" + i));
+    }
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            axioms.add(df.getOWLSubClassOfAxiom(c(i), c(0)));
+            axioms.add(df.getOWLDeclarationAxiom(c(i)));
+            if (i % 3 == 0) {
+                axioms.add(df.getOWLEquivalentClassesAxiom(c(i), df.getOWLObjectComplementOf(c(i - 1))));
+            }
+        }
+        return axioms;
+    }
+
+    @Test
+    public void shouldCacheSortedReadsUntilChanged() {
+        IntIdInternals internals = new IntIdInternals();
+        for (OWLAxiom ax : axioms(50)) {
+            internals.addAxiom(ax);
+        }
+        MapPointer<OWLClass, OWLSubClassOfAxiom> superClasses = pointer(internals, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION);
+        List<OWLSubClassOfAxiom> values = superClasses.getValues(c(0));
+        Iterable<OWLClass> keys = superClasses.keySet();
+        assertSame(values, superClasses.getValues(c(0)));
+        assertSame(keys, superClasses.keySet());
+        // a change to another key keeps the values of this one
+        internals.addAxiom(df.getOWLSubClassOfAxiom(c(100), c(1)));
+        assertSame(values, superClasses.getValues(c(0)));
+        assertNotSame(keys, superClasses.keySet());
+        internals.addAxiom(df.getOWLSubClassOfAxiom(c(100), c(0)));
+        List<OWLSubClassOfAxiom> changed = superClasses.getValues(c(0));
+        assertEquals(values.size() + 1, changed.size());
+        assertTrue(changed.containsAll(values));
+        // the order does not depend on the order of insertion
+        IntIdInternals reversed = new IntIdInternals();
+        reversed.addAxiom(df.getOWLSubClassOfAxiom(c(100), c(0)));
+        List<OWLAxiom> axioms = axioms(50);
+        Collections.reverse(axioms);
+        for (OWLAxiom ax : axioms) {
+            reversed.addAxiom(ax);
+        }
+        assertEquals(changed, pointer(reversed, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).getValues(
+            c(0)));
+    }
+
+    @Test
+    public void shouldReuseIdsOfRemovedAxioms() {
+        IntIdInternals internals = new IntIdInternals();
+        List<OWLAxiom> first = axioms(50);
+        for (OWLAxiom ax : first) {
+            internals.addAxiom(ax);
+        }
+        int interned = internals.axioms().size();
+        for (OWLAxiom ax : first) {
+            internals.removeAxiom(ax);
+        }
+        assertEquals(0, internals.axioms().size());
+        OWLAxiom other = df.getOWLSubClassOfAxiom(c(1000), c(1001));
+        assertTrue(internals.addAxiom(other));
+        assertEquals(1, internals.axioms().size());
+        assertTrue(internals.axioms().id(other) < interned);
+        assertEquals(Sets.newHashSet(other), Sets.newHashSet(internals.getAxiomsByType().getValues(
+            AxiomType.SUBCLASS_OF)));
+        assertEquals(Sets.newHashSet(other), Sets.newHashSet(internals.getReferencingAxioms(c(1000))));
+        assertTrue(Iterables.isEmpty(internals.getReferencingAxioms(c(1))));
+    }
+
+    private static <A extends OWLAxiom> MapPointer<OWLClass, A> pointer(Internals i, Class<A> type,
+        Navigation position) {
+        return i.get(OWLClass.class, type, position).get();
+    }
+}
@@ -0,0 +1,205 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.parameters.Navigation;
+
+/** Checks each {@link Internals} implementation against the default one. */
+@RunWith(Parameterized.class)
+@SuppressWarnings("javadoc")
+public class Internals_TestCase {
+
+    @Parameter(0) public Class<? extends Internals> type;
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> implementations() {
+        return Arrays.asList(new Object[] { Internals.class }, new Object[] { ConcurrentInternals.class },
+            new Object[] { IntIdInternals.class });
+    }
+
+    private Internals create() throws Exception {
+        return type.newInstance();
+    }
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create("urn:test#", "C" + i));
+    }
+
+    private List<OWLAxiom> axioms(int n) {
+        List<OWLAxiom> axioms = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            axioms.add(df.getOWLSubClassOfAxiom(c(i), c(0)));
+            axioms.add(df.getOWLDeclarationAxiom(c(i)));
+            if (i % 3 == 0) {
+                axioms.add(df.getOWLEquivalentClassesAxiom(c(i), df.getOWLObjectComplementOf(c(i - 1))));
+            }
+        }
+        return axioms;
+    }
+
+    @Test
+    public void shouldMatchDefaultInternals() throws Exception {
+        Internals expected = new Internals();
+        Internals actual = create();
+        for (OWLAxiom ax : axioms(100)) {
+            expected.addAxiom(ax);
+            actual.addAxiom(ax);
+        }
+        assertEquals(expected.getAxiomCount(), actual.getAxiomCount());
+        assertEquals(asSet(expected.getAxioms()), asSet(actual.getAxioms()));
+        assertEquals(new HashSet<>(toList(expected.getAxiomsByType().keySet())), new HashSet<>(toList(actual
+            .getAxiomsByType().keySet())));
+        for (int i = 0; i < 100; i++) {
+            OWLClass c = c(i);
+            assertEquals(new HashSet<>(pointer(expected, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION)
+                .getValues(c)), new HashSet<>(pointer(actual, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION)
+                    .getValues(c)));
+            assertEquals(new HashSet<>(pointer(expected, OWLClassAxiom.class, Navigation.IN_SUB_POSITION).getValues(
+                c)), new HashSet<>(pointer(actual, OWLClassAxiom.class, Navigation.IN_SUB_POSITION).getValues(c)));
+            assertEquals(asSet(expected.getReferencingAxioms(c)), asSet(actual.getReferencingAxioms(c)));
+            assertEquals(Boolean.valueOf(expected.isDeclared(c)), Boolean.valueOf(actual.isDeclared(c)));
+            assertEquals(Boolean.valueOf(expected.containsClassInSignature(c.getIRI())), Boolean.valueOf(actual
+                .containsClassInSignature(c.getIRI())));
+        }
+        // the superclass values grow past the limit of the small
+        // representations; removal must work on all of them
+        for (OWLAxiom ax : axioms(100)) {
+            assertTrue(actual.removeAxiom(ax));
+        }
+        assertTrue(actual.isEmpty());
+        assertFalse(actual.containsReference(c(0)));
+        assertFalse(actual.containsClassInSignature(c(0).getIRI()));
+        assertTrue(pointer(actual, OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).getValues(c(0))
+            .isEmpty());
+    }
+
+    @Test
+    public void shouldRefreshReadsAfterWrites() throws Exception {
+        Internals internals = create();
+        internals.addAxiom(df.getOWLSubClassOfAxiom(c(1), c(0)));
+        MapPointer<OWLClass, OWLClassAxiom> pointer = pointer(internals, OWLClassAxiom.class,
+            Navigation.IN_SUB_POSITION).init();
+        MapPointer<OWLClass, OWLSubClassOfAxiom> superClasses = pointer(internals, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION);
+        assertTrue(pointer.containsReference(c(1).getIRI()));
+        assertFalse(pointer.containsReference(c(2).getIRI()));
+        for (int i = 2; i < 50; i++) {
+            // read between writes, so that cached reads must be refreshed
+            assertEquals(i - 1, superClasses.getValues(c(0)).size());
+            assertEquals(i - 1, toList(pointer.keySet()).size());
+            OWLAxiom ax = df.getOWLSubClassOfAxiom(c(i), c(0));
+            internals.addAxiom(ax);
+            assertTrue(pointer.containsReference(c(i).getIRI()));
+        }
+        assertEquals(49, superClasses.getValues(c(0)).size());
+        for (int i = 49; i > 1; i--) {
+            internals.removeAxiom(df.getOWLSubClassOfAxiom(c(i), c(0)));
+            assertFalse(pointer.containsReference(c(i).getIRI()));
+            assertEquals(i - 1, superClasses.getValues(c(0)).size());
+            assertEquals(i - 1, toList(pointer.keySet()).size());
+        }
+    }
+
+    @Test
+    public void shouldWarmAllLazyIndexes() throws Exception {
+        Internals internals = create();
+        for (int i = 1; i < 50; i++) {
+            internals.addAxiom(df.getOWLSubClassOfAxiom(c(i), c(0)));
+            internals.addAxiom(df.getOWLDeclarationAxiom(c(i)));
+        }
+        Map<String, MapPointer<?, ?>> lazy = internals.getLazyIndexes();
+        Map<String, Long> times = internals.warmIndexes();
+        assertEquals(lazy.keySet(), times.keySet());
+        for (MapPointer<?, ?> pointer : lazy.values()) {
+            assertTrue(pointer.isInitialized());
+        }
+        MapPointer<OWLClass, OWLSubClassOfAxiom> superClasses = internals.get(OWLClass.class,
+            OWLSubClassOfAxiom.class, Navigation.IN_SUPER_POSITION).get();
+        assertEquals(49, new HashSet<>(superClasses.getValues(c(0))).size());
+        // nothing left to build the second time round
+        assertTrue(internals.warmIndexes().isEmpty());
+    }
+
+    @Test
+    public void shouldIndexBulkLoadLikeSingleAdditions() throws Exception {
+        Internals bulk = create();
+        Internals single = new Internals();
+        bulk.beginBulkLoad();
+        // enough axioms to index the references in parallel
+        for (int i = 1; i < 6000; i++) {
+            for (Internals internals : new Internals[] { bulk, single }) {
+                internals.addAxiom(df.getOWLSubClassOfAxiom(c(i), c(0)));
+                internals.addAxiom(df.getOWLDeclarationAxiom(c(i)));
+            }
+            if (i == 10) {
+                // queries during a bulk load see the axioms added so far
+                assertTrue(bulk.isDeclared(c(i)));
+            }
+        }
+        // adding an axiom again does not change the count
+        int count = bulk.getAxiomCount();
+        bulk.addAxiom(df.getOWLDeclarationAxiom(c(1)));
+        assertEquals(count, bulk.getAxiomCount());
+        bulk.commitBulkLoad();
+        assertEquals(single.getAxiomCount(), bulk.getAxiomCount());
+        for (int i = 0; i < 6000; i += 100) {
+            assertEquals(asSet(single.getReferencingAxioms(c(i))), asSet(bulk.getReferencingAxioms(c(i))));
+            assertEquals(single.isDeclared(c(i)), bulk.isDeclared(c(i)));
+        }
+        MapPointer<OWLClass, OWLSubClassOfAxiom> superClasses = bulk.get(OWLClass.class, OWLSubClassOfAxiom.class,
+            Navigation.IN_SUPER_POSITION).get();
+        assertEquals(5999, new HashSet<>(superClasses.getValues(c(0))).size());
+    }
+
+    private static <A extends OWLAxiom> MapPointer<OWLClass, A> pointer(Internals i, Class<A> type,
+        Navigation position) {
+        return i.get(OWLClass.class, type, position).get();
+    }
+
+    private static <T> List<T> toList(Iterable<T> values) {
+        List<T> list = new ArrayList<>();
+        for (T t : values) {
+            list.add(t);
+        }
+        return list;
+    }
+
+    private static Set<OWLAxiom> asSet(Iterable<? extends OWLAxiom> axioms) {
+        Set<OWLAxiom> set = new HashSet<>();
+        for (OWLAxiom ax : axioms) {
+            set.add(ax);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,79 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+
+import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryInternalsImpl.Retention;
+
+@SuppressWarnings("javadoc")
+public class OWLDataFactoryInternalsImpl_TestCase {
+
+    @Test
+    public void shouldReturnOneInstancePerIRIUnderContention() throws Exception {
+        for (Retention retention : Retention.values()) {
+            final OWLDataFactoryInternalsImpl internals = new OWLDataFactoryInternalsImpl(false, retention);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Callable<List<OWLClass>>> tasks = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    tasks.add(new Callable<List<OWLClass>>() {
+
+                        @Override
+                        public List<OWLClass> call() {
+                            List<OWLClass> classes = new ArrayList<>();
+                            for (int i = 0; i < 1000; i++) {
+                                classes.add(internals.getOWLClass(IRI.create("urn:test#", "C" + i)));
+                            }
+                            return classes;
+                        }
+                    });
+                }
+                List<Future<List<OWLClass>>> results = executor.invokeAll(tasks);
+                List<OWLClass> first = results.get(0).get();
+                for (Future<List<OWLClass>> f : results) {
+                    List<OWLClass> classes = f.get();
+                    for (int i = 0; i < classes.size(); i++) {
+                        assertSame(first.get(i), classes.get(i));
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void shouldRecordHitsAndMisses() {
+        OWLDataFactoryInternalsImpl internals = new OWLDataFactoryInternalsImpl(false, Retention.STRONG);
+        IRI iri = IRI.create("urn:test#", "A");
+        OWLClass c = internals.getOWLClass(iri);
+        assertSame(c, internals.getOWLClass(iri));
+        internals.getOWLObjectProperty(iri);
+        assertEquals(1, internals.getEntityCacheStats().hitCount());
+        assertEquals(2, internals.getEntityCacheStats().missCount());
+        internals.purge();
+        assertNotSame(c, internals.getOWLClass(iri));
+    }
+}
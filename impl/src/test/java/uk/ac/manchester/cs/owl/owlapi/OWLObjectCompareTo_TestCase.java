@@ -0,0 +1,119 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package uk.ac.manchester.cs.owl.owlapi;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+@SuppressWarnings("javadoc")
+public class OWLObjectCompareTo_TestCase {
+
+    private final OWLDataFactory df = new OWLDataFactoryImpl();
+
+    private OWLClass c(int i) {
+        return df.getOWLClass(IRI.create("urn:test#", "C" + i));
+    }
+
+    private OWLAnnotation label(String s) {
+        return df.getOWLAnnotation(df.getRDFSLabel(), df.getOWLLiteral(s));
+    }
+
+    /** Axioms and class expressions of mixed types, some of the same type. */
+    private List<OWLObject> objects() {
+        OWLObjectProperty p = df.getOWLObjectProperty(IRI.create("urn:test#p"));
+        OWLDataProperty d = df.getOWLDataProperty(IRI.create("urn:test#d"));
+        OWLClassExpression and12 = df.getOWLObjectIntersectionOf(c(1), c(2));
+        OWLClassExpression and123 = df.getOWLObjectIntersectionOf(c(1), c(2), c(3));
+        OWLClassExpression or12 = df.getOWLObjectUnionOf(c(1), c(2));
+        OWLClassExpression some = df.getOWLObjectSomeValuesFrom(p, and12);
+        List<OWLObject> objects = new ArrayList<>();
+        objects.addAll(Arrays.asList(c(1), c(2), and12, and123, df.getOWLObjectIntersectionOf(c(2), c(3)), or12,
+            df.getOWLObjectComplementOf(c(1)), some, df.getOWLObjectSomeValuesFrom(p, c(1)), df.getOWLDataOneOf(df
+                .getOWLLiteral(1), df.getOWLLiteral(2)), df.getOWLDataOneOf(df.getOWLLiteral(1)), df
+                    .getOWLDatatypeRestriction(df.getIntegerOWLDatatype(), OWLFacet.MIN_INCLUSIVE, df.getOWLLiteral(
+                        1)), df.getOWLDatatypeRestriction(df.getIntegerOWLDatatype(), OWLFacet.MAX_INCLUSIVE, df
+                            .getOWLLiteral(1))));
+        objects.addAll(Arrays.asList(df.getOWLSubClassOfAxiom(c(1), c(2)), df.getOWLSubClassOfAxiom(c(1), c(2),
+            Collections.singleton(label("a"))), df.getOWLSubClassOfAxiom(c(1), c(2), new LinkedHashSet<>(Arrays
+                .asList(label("b"), label("a")))), df.getOWLSubClassOfAxiom(some, c(3)), df.getOWLEquivalentClassesAxiom(
+                    c(1), and12), df.getOWLEquivalentClassesAxiom(c(1), and123), df.getOWLDisjointClassesAxiom(c(1), c(
+                        2), c(3)), df.getOWLDisjointClassesAxiom(c(1), c(2)), df.getOWLDisjointUnionAxiom(c(1),
+                            new LinkedHashSet<>(Arrays.asList(c(3), c(2)))), df.getOWLDisjointUnionAxiom(c(1),
+                                new LinkedHashSet<>(Arrays.asList(c(2), or12))), df.getOWLHasKeyAxiom(c(1), p, d), df
+                                    .getOWLHasKeyAxiom(c(1), p), df.getOWLDeclarationAxiom(c(1)), df
+                                        .getOWLDeclarationAxiom(c(1), Collections.singleton(label("a")))));
+        return objects;
+    }
+
+    /**
+     * @return a view of the object that is not one of the implementation
+     *         classes, so that comparisons with it take the generic path that
+     *         copies sets and annotations and visits for the type index
+     */
+    private static OWLObject generic(final OWLObject o) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> c = o.getClass(); c != null; c = c.getSuperclass()) {
+            interfaces.addAll(Arrays.asList(c.getInterfaces()));
+        }
+        return (OWLObject) Proxy.newProxyInstance(OWLObject.class.getClassLoader(), interfaces.toArray(
+            new Class<?>[interfaces.size()]), new InvocationHandler() {
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    try {
+                        return method.invoke(o, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            });
+    }
+
+    @Test
+    public void shouldOrderAsGenericComparison() {
+        List<OWLObject> objects = objects();
+        for (OWLObject a : objects) {
+            for (OWLObject b : objects) {
+                int expected = Integer.signum(a.compareTo(generic(b)));
+                assertEquals(a + " " + b, expected, Integer.signum(a.compareTo(b)));
+                assertEquals(a + " " + b, -expected, Integer.signum(b.compareTo(a)));
+            }
+        }
+        List<OWLObject> sorted = new ArrayList<>(objects);
+        Collections.sort(sorted);
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).compareTo(generic(sorted.get(i))) < 0);
+        }
+    }
+}
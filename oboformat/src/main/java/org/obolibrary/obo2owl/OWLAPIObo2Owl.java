@@ -3,12 +3,17 @@ package org.obolibrary.obo2owl;
 import static org.obolibrary.obo2owl.Obo2OWLConstants.DEFAULT_IRI_PREFIX;
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -24,10 +29,12 @@ import org.obolibrary.oboformat.parser.OBOFormatConstants;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
 import org.obolibrary.oboformat.parser.OBOFormatException;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
+import org.obolibrary.oboformat.parser.OBOFormatParser.TermFrameHandler;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
 import org.semanticweb.owlapi.io.OWLParserException;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.util.CollectionFactory;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -72,15 +79,18 @@ public class OWLAPIObo2Owl {
     @Nonnull protected final Map<String, OWLAnnotationProperty> typedefToAnnotationProperty;
     private static final Set<String> SKIPPED_QUALIFIERS = Sets.newHashSet("gci_relation", "gci_filler", "cardinality",
         "minCardinality", "maxCardinality", "all_some", "all_only");
-    /** Cache for the id to IRI conversion. */
-    private LoadingCache<String, IRI> idToIRICache = CacheBuilder.newBuilder().maximumSize(1024).build(
-        new CacheLoader<String, IRI>() {
-
-            @Override
-            public IRI load(String key) {
-                return oboIdToIRI_load(key);
-            }
-        });
+    /** Minimum number of term frames worth translating in parallel. */
+    private static final int PARALLEL_TRANSLATION_SIZE = 512;
+    /** Cache for the id to IRI conversion; sized to the input in tr(). */
+    private LoadingCache<String, IRI> idToIRICache = createIdToIRICache(1024);
+    /** Number of threads used to translate the term frames. */
+    private int translationThreads = ConfigurationOptions.OBO_TRANSLATION_THREADS.getValue(Integer.class,
+        Collections.<ConfigurationOptions, Object> emptyMap()).intValue();
+    /**
+     * Axioms of the term frames being translated by the current worker
+     * thread; null when axioms are added straight to the ontology.
+     */
+    private final ThreadLocal<Set<OWLAxiom>> axiomBuffer = new ThreadLocal<>();
 
     /**
      * Instantiates a new oWLAPI obo2 owl.
@@ -90,7 +100,8 @@ public class OWLAPIObo2Owl {
      */
     public OWLAPIObo2Owl(OWLOntologyManager manager) {
         idSpaceMap = new HashMap<>();
-        apToDeclare = new HashSet<>();
+        // term frames translated in parallel declare annotation properties
+        apToDeclare = Collections.newSetFromMap(new ConcurrentHashMap<OWLAnnotationProperty, Boolean>());
         clsToDeclare = new HashMap<>();
         typedefToAnnotationProperty = new HashMap<>();
         init(manager);
@@ -113,6 +124,36 @@ public class OWLAPIObo2Owl {
         typedefToAnnotationProperty.clear();
     }
 
+    @Nonnull
+    private LoadingCache<String, IRI> createIdToIRICache(int size) {
+        return CacheBuilder.newBuilder().maximumSize(size).concurrencyLevel(Math.max(4, translationThreads)).build(
+            new CacheLoader<String, IRI>() {
+
+                @Override
+                public IRI load(String key) {
+                    return oboIdToIRI_load(key);
+                }
+            });
+    }
+
+    /**
+     * @return number of threads used to translate the term frames; values
+     *         lower than 2 translate them on the calling thread
+     */
+    public int getTranslationThreads() {
+        return translationThreads;
+    }
+
+    /**
+     * @param translationThreads
+     *        number of threads used to translate the term frames; values
+     *        lower than 2 translate them on the calling thread. The
+     *        translated ontology is the same either way.
+     */
+    public void setTranslationThreads(int translationThreads) {
+        this.translationThreads = translationThreads;
+    }
+
     /**
      * Static convenience method which: (1) creates an Obo2Owl bridge object (2)
      * parses an obo file from a URL (3) converts that to an OWL ontology (4)
@@ -308,6 +349,54 @@ public class OWLAPIObo2Owl {
         return tr(in);
     }
 
+    /**
+     * Parses and converts an OBO document without keeping its term frames in
+     * memory: each term frame is translated as soon as it is parsed, then
+     * discarded. Term frames with the same id are translated separately
+     * rather than merged.
+     * 
+     * @param reader
+     *        the reader for the OBO document
+     * @param in
+     *        the ontology to fill
+     * @return the oWL ontology
+     * @throws IOException
+     *         if the document cannot be read
+     * @see OBOFormatParser#parse(BufferedReader, TermFrameHandler)
+     */
+    @Nonnull
+    public OWLOntology convert(@Nonnull BufferedReader reader, @Nonnull final OWLOntology in) throws IOException {
+        init(in.getOWLOntologyManager());
+        final List<Frame> batch = new ArrayList<>();
+        new OBOFormatParser().parse(reader, new TermFrameHandler() {
+
+            @Override
+            public void startTermFrames(OBODoc doc, int termFrameCount) {
+                obodoc = doc;
+                trHeaderAndTypedefFrames(in, termFrameCount);
+            }
+
+            @Override
+            public void handleTermFrame(Frame frame) {
+                if (translationThreads < 2) {
+                    trTermFrame(frame);
+                    return;
+                }
+                batch.add(frame);
+                if (batch.size() == PARALLEL_TRANSLATION_SIZE * translationThreads) {
+                    trTermFrames(batch);
+                    batch.clear();
+                }
+            }
+        });
+        if (!batch.isEmpty()) {
+            trTermFrames(batch);
+        }
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
     /**
      * Tr.
      * 
@@ -315,10 +404,29 @@ public class OWLAPIObo2Owl {
      *        the in
      * @return the oWL ontology
      */
-    @SuppressWarnings("null")
     @Nonnull
     protected OWLOntology tr(@Nonnull OWLOntology in) {
+        Collection<Frame> termFrames = obodoc.getTermFrames();
+        trHeaderAndTypedefFrames(in, termFrames.size());
+        if (translationThreads < 2 || termFrames.size() < PARALLEL_TRANSLATION_SIZE) {
+            for (Frame f : termFrames) {
+                trTermFrame(f);
+            }
+        } else {
+            trTermFrames(termFrames);
+        }
+        // TODO - individuals
+        trImports(in);
+        postProcess(in);
+        return in;
+    }
+
+    @SuppressWarnings("null")
+    private void trHeaderAndTypedefFrames(@Nonnull OWLOntology in, int termFrameCount) {
         setOwlOntology(in);
+        // each frame refers to a handful of ids; a cache smaller than the
+        // input keeps evicting ids that are still to be referenced
+        idToIRICache = createIdToIRICache(Math.max(1024, 4 * (termFrameCount + obodoc.getTypedefFrames().size())));
         Frame hf = obodoc.getHeaderFrame();
         Clause ontClause = hf.getClause(OboFormatTag.TAG_ONTOLOGY);
         if (ontClause != null) {
@@ -365,11 +473,10 @@ public class OWLAPIObo2Owl {
         for (Frame f : obodoc.getTypedefFrames()) {
             trTypedefFrame(f);
         }
-        for (Frame f : obodoc.getTermFrames()) {
-            trTermFrame(f);
-        }
-        // TODO - individuals
-        for (Clause cl : hf.getClauses(OboFormatTag.TAG_IMPORT)) {
+    }
+
+    private void trImports(@Nonnull OWLOntology in) {
+        for (Clause cl : obodoc.getHeaderFrame().getClauses(OboFormatTag.TAG_IMPORT)) {
             String path = getURI(cl.getValue().toString());
             IRI importIRI = IRI.create(path);
             OWLImportsDeclaration owlImportsDeclaration = fac.getOWLImportsDeclaration(importIRI);
@@ -377,8 +484,77 @@ public class OWLAPIObo2Owl {
             AddImport ai = new AddImport(in, owlImportsDeclaration);
             manager.applyChange(ai);
         }
-        postProcess(in);
-        return in;
+    }
+
+    /**
+     * Translates the term frames on a pool of worker threads. Each worker
+     * collects the axioms of its share of the frames, and the axioms are
+     * added to the ontology once all frames have been translated. Header and
+     * typedef frames must have been translated already, as term frames refer
+     * to the typedefs.
+     * 
+     * @param termFrames
+     *        the term frames
+     */
+    protected void trTermFrames(@Nonnull Collection<Frame> termFrames) {
+        List<Frame> list = new ArrayList<>(termFrames);
+        List<TermFrameTranslation> translations = new ArrayList<>();
+        int chunk = (list.size() + translationThreads - 1) / translationThreads;
+        for (int from = 0; from < list.size(); from += chunk) {
+            translations.add(new TermFrameTranslation(list.subList(from, Math.min(list.size(), from + chunk))));
+        }
+        ForkJoinPool pool = new ForkJoinPool(translationThreads);
+        try {
+            for (Future<Void> f : pool.invokeAll(translations)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                // parser exceptions keep their type
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        Set<OWLAxiom> axioms = new HashSet<>();
+        for (TermFrameTranslation translation : translations) {
+            axioms.addAll(translation.axioms);
+        }
+        if (!axioms.isEmpty()) {
+            manager.addAxioms(getOwlOntology(), axioms);
+        }
+    }
+
+    /** Translates a slice of the term frames into a buffer of axioms. */
+    private class TermFrameTranslation implements Callable<Void> {
+
+        private final List<Frame> frames;
+        final Set<OWLAxiom> axioms = new HashSet<>();
+
+        TermFrameTranslation(List<Frame> frames) {
+            this.frames = frames;
+        }
+
+        @Override
+        public Void call() {
+            axiomBuffer.set(axioms);
+            try {
+                for (Frame f : frames) {
+                    assert f != null;
+                    trTermFrame(f);
+                }
+            } finally {
+                axiomBuffer.remove();
+            }
+            return null;
+        }
     }
 
     /**
@@ -968,6 +1144,11 @@ public class OWLAPIObo2Owl {
             LOG.error("no axiom");
             return;
         }
+        Set<OWLAxiom> buffer = axiomBuffer.get();
+        if (buffer != null) {
+            buffer.addAll(axioms);
+            return;
+        }
         manager.addAxioms(getOwlOntology(), axioms);
     }
 
@@ -1560,8 +1741,7 @@ public class OWLAPIObo2Owl {
     protected OWLAnnotationProperty trTagToAnnotationProp(@Nonnull String tag) {
         IRI iri = trTagToIRI(tag);
         OWLAnnotationProperty ap = fac.getOWLAnnotationProperty(iri);
-        if (!apToDeclare.contains(ap)) {
-            apToDeclare.add(ap);
+        if (apToDeclare.add(ap)) {
             add(fac.getOWLDeclarationAxiom(ap));
             Obo2OWLVocabulary vocab = Obo2OWLConstants.getVocabularyObj(tag);
             if (vocab != null) {
@@ -6,6 +6,11 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.verifyNotNull;
 import java.io.UnsupportedEncodingException;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,6 +28,7 @@ import org.obolibrary.oboformat.model.Xref;
 import org.obolibrary.oboformat.parser.OBOFormatConstants;
 import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.vocab.Namespaces;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.slf4j.Logger;
@@ -100,12 +106,18 @@ public class OWLAPIOwl2Obo {
      * mute untranslatable axiom warnings
      */
     private boolean muteUntranslatableAxioms = false;
+    /** Minimum number of declarations worth translating in parallel. */
+    private static final int PARALLEL_TRANSLATION_SIZE = 512;
+    /** Number of threads used to translate the declared entities. */
+    private int translationThreads = ConfigurationOptions.OBO_TRANSLATION_THREADS.getValue(Integer.class,
+        Collections.<ConfigurationOptions, Object> emptyMap()).intValue();
 
     protected final void init() {
         idSpaceMap = new HashMap<>();
         // legacy:
         idSpaceMap.put("http://www.obofoundry.org/ro/ro.owl#", "OBO_REL");
-        untranslatableAxioms = new HashSet<>();
+        // entities translated in parallel can be untranslatable
+        untranslatableAxioms = Collections.newSetFromMap(new ConcurrentHashMap<OWLAxiom, Boolean>());
         fac = manager.getOWLDataFactory();
         apToDeclare = new HashSet<>();
     }
@@ -174,6 +186,28 @@ public class OWLAPIOwl2Obo {
         this.discardUntranslatable = discardUntranslatable;
     }
 
+    /**
+     * @return number of threads used to translate the declared entities;
+     *         values lower than 2 translate them on the calling thread.
+     *         Defaults to the global
+     *         {@link ConfigurationOptions#OBO_TRANSLATION_THREADS}; saving an
+     *         ontology uses the value in the format being saved.
+     */
+    public int getTranslationThreads() {
+        return translationThreads;
+    }
+
+    /**
+     * @param translationThreads
+     *        number of threads used to translate the declared entities;
+     *        values lower than 2 translate them on the calling thread. The
+     *        translated document is the same either way, up to the order of
+     *        the clauses in a frame, which the writer sorts.
+     */
+    public void setTranslationThreads(int translationThreads) {
+        this.translationThreads = translationThreads;
+    }
+
     /**
      * Gets the manager.
      * 
@@ -252,9 +286,16 @@ public class OWLAPIOwl2Obo {
         setObodoc(new OBODoc());
         preProcess();
         tr(getOWLOntology());
+        Set<OWLDeclarationAxiom> declarations = getOWLOntology().getAxioms(AxiomType.DECLARATION);
+        Set<OWLDeclarationAxiom> translated = Collections.emptySet();
+        if (translationThreads > 1 && declarations.size() >= PARALLEL_TRANSLATION_SIZE) {
+            translated = trDeclarations(declarations);
+        }
         for (OWLAxiom ax : getOWLOntology().getAxioms()) {
             if (ax instanceof OWLDeclarationAxiom) {
-                tr((OWLDeclarationAxiom) ax);
+                if (!translated.contains(ax)) {
+                    tr((OWLDeclarationAxiom) ax);
+                }
             } else if (ax instanceof OWLSubClassOfAxiom) {
                 tr((OWLSubClassOfAxiom) ax);
             } else if (ax instanceof OWLDisjointClassesAxiom) {
@@ -317,6 +358,114 @@ public class OWLAPIOwl2Obo {
         return getObodoc();
     }
 
+    /**
+     * Translates the annotations of the declared entities on a pool of worker
+     * threads. Each entity is translated into a new frame, which is added to
+     * the document on the calling thread once all entities have been
+     * translated. Alternate identifiers, and entities whose frame already
+     * exists, change frames other than their own and are left to the serial
+     * translation.
+     * 
+     * @param declarations
+     *        the declaration axioms
+     * @return the declaration axioms that have been translated
+     */
+    @Nonnull
+    protected Set<OWLDeclarationAxiom> trDeclarations(@Nonnull Set<OWLDeclarationAxiom> declarations) {
+        List<OWLDeclarationAxiom> list = new ArrayList<>(declarations);
+        List<DeclarationTranslation> translations = new ArrayList<>();
+        int chunk = (list.size() + translationThreads - 1) / translationThreads;
+        for (int from = 0; from < list.size(); from += chunk) {
+            translations.add(new DeclarationTranslation(list.subList(from, Math.min(list.size(), from + chunk))));
+        }
+        ForkJoinPool pool = new ForkJoinPool(translationThreads);
+        try {
+            for (Future<Void> f : pool.invokeAll(translations)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                // strict conversion errors keep their type
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        Set<OWLDeclarationAxiom> translated = new HashSet<>();
+        for (DeclarationTranslation translation : translations) {
+            translated.addAll(translation.skipped);
+            for (Map.Entry<OWLDeclarationAxiom, Frame> e : translation.frames.entrySet()) {
+                Frame f = e.getValue();
+                boolean exists = f.getType() == FrameType.TERM ? getObodoc().getTermFrame(f.getId()) != null
+                    : getObodoc().getTypedefFrame(f.getId()) != null;
+                if (!exists) {
+                    add(f);
+                    translated.add(e.getKey());
+                }
+            }
+        }
+        return translated;
+    }
+
+    /** Translates a slice of the declarations into new frames. */
+    private class DeclarationTranslation implements Callable<Void> {
+
+        private final List<OWLDeclarationAxiom> axioms;
+        final Map<OWLDeclarationAxiom, Frame> frames = new LinkedHashMap<>();
+        /** Declarations that do not produce a frame. */
+        final Set<OWLDeclarationAxiom> skipped = new HashSet<>();
+
+        DeclarationTranslation(List<OWLDeclarationAxiom> axioms) {
+            this.axioms = axioms;
+        }
+
+        @Override
+        public Void call() {
+            for (OWLDeclarationAxiom axiom : axioms) {
+                assert axiom != null;
+                OWLEntity entity = axiom.getEntity();
+                if (entity.isBottomEntity() || entity.isTopEntity()) {
+                    skipped.add(axiom);
+                    continue;
+                }
+                Set<OWLAnnotationAssertionAxiom> set = owlOntology.getAnnotationAssertionAxioms(entity.getIRI());
+                if (set.isEmpty()) {
+                    skipped.add(axiom);
+                    continue;
+                }
+                if (checkForOboAltId(set).isPresent()) {
+                    // changes the frame of the replacing entity
+                    continue;
+                }
+                FrameType type = getFrameType(entity, set);
+                if (type == null) {
+                    skipped.add(axiom);
+                    continue;
+                }
+                String id = type == FrameType.TERM ? getIdentifier(entity.getIRI()) : getIdentifier(entity);
+                if (id == null) {
+                    continue;
+                }
+                Frame f = new Frame(type);
+                f.setId(id);
+                f.addClause(new Clause(OboFormatTag.TAG_ID, id));
+                for (OWLAnnotationAssertionAxiom a : set) {
+                    assert a != null;
+                    tr(a, f);
+                }
+                frames.put(axiom, f);
+            }
+            return null;
+        }
+    }
+
     /**
      * Pre process.
      */
@@ -1458,7 +1607,6 @@ public class OWLAPIOwl2Obo {
         }
         boolean isClass = entity.isOWLClass();
         boolean isObjectProperty = entity.isOWLObjectProperty();
-        boolean isAnnotationProperty = entity.isOWLAnnotationProperty();
         // check whether the entity is an alt_id
         Optional<OboAltIdCheckResult> altIdOptional = checkForOboAltId(set);
         if (altIdOptional.isPresent()) {
@@ -1472,20 +1620,11 @@ public class OWLAPIOwl2Obo {
         }
         // translate
         Frame f = null;
-        if (isClass) {
+        FrameType type = getFrameType(entity, set);
+        if (type == FrameType.TERM) {
             f = getTermFrame(entity.asOWLClass());
-        } else if (isObjectProperty) {
-            f = getTypedefFrame(entity.asOWLObjectProperty());
-        } else if (isAnnotationProperty) {
-            for (OWLAxiom a : set) {
-                OWLAnnotationAssertionAxiom ax = (OWLAnnotationAssertionAxiom) a;
-                OWLAnnotationProperty prop = ax.getProperty();
-                String tag = owlObjectToTag(prop);
-                if (OboFormatTag.TAG_IS_METADATA_TAG.getTag().equals(tag)) {
-                    f = getTypedefFrame(entity);
-                    break;
-                }
-            }
+        } else if (type == FrameType.TYPEDEF) {
+            f = getTypedefFrame(entity);
         }
         if (f != null) {
             for (OWLAnnotationAssertionAxiom a : set) {
@@ -1496,6 +1635,28 @@ public class OWLAPIOwl2Obo {
         }
     }
 
+    /**
+     * @return the type of the frame for the entity, or null if the entity
+     *         does not have a frame
+     */
+    @Nullable
+    private static FrameType getFrameType(@Nonnull OWLEntity entity, @Nonnull Set<OWLAnnotationAssertionAxiom> set) {
+        if (entity.isOWLClass()) {
+            return FrameType.TERM;
+        }
+        if (entity.isOWLObjectProperty()) {
+            return FrameType.TYPEDEF;
+        }
+        if (entity.isOWLAnnotationProperty()) {
+            for (OWLAnnotationAssertionAxiom ax : set) {
+                if (OboFormatTag.TAG_IS_METADATA_TAG.getTag().equals(owlObjectToTag(ax.getProperty()))) {
+                    return FrameType.TYPEDEF;
+                }
+            }
+        }
+        return null;
+    }
+
     private void addAltId(@Nonnull String replacedBy, @Nonnull String altId, boolean isClass, boolean isProperty) {
         Frame replacedByFrame = null;
         if (isClass) {
@@ -5,11 +5,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URL;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -40,6 +42,9 @@ public class OBOFormatParser {
 
     private boolean followImport;
     private Object location;
+    /** Raw text of the term frames, when parsing in streaming mode. */
+    @Nullable
+    private List<DeferredFrame> deferredTermFrames;
     protected final MyStream stream;
     public final com.google.common.cache.LoadingCache<String, String> stringCache;
 
@@ -160,23 +165,42 @@ public class OBOFormatParser {
         }
 
         public boolean consume(@Nonnull String s) {
-            String r = rest();
-            if (r == null) {
-                return false;
-            }
-            if (r.startsWith(s)) {
+            if (startsWith(s)) {
                 pos += s.length();
                 return true;
             }
             return false;
         }
 
+        /**
+         * @param s
+         *        prefix
+         * @return true if the rest of the line starts with the prefix; nothing
+         *         is consumed
+         */
+        public boolean startsWith(@Nonnull String s) {
+            prepare();
+            return line != null && line.startsWith(s, pos);
+        }
+
         public int indexOf(char c) {
             prepare();
             if (line == null) {
                 return -1;
             }
-            return line.substring(pos).indexOf(c);
+            int i = line.indexOf(c, pos);
+            return i < 0 ? -1 : i - pos;
+        }
+
+        /**
+         * @param length
+         *        number of chars
+         * @return the next chars on the line, without advancing
+         */
+        @Nonnull
+        public String substring(int length) {
+            prepare();
+            return line.substring(pos, pos + length);
         }
 
         @Nonnull
@@ -197,6 +221,42 @@ public class OBOFormatParser {
         }
     }
 
+    /**
+     * Receives the term frames of a document parsed with
+     * {@link OBOFormatParser#parse(BufferedReader, TermFrameHandler)}.
+     */
+    public interface TermFrameHandler {
+
+        /**
+         * Called once the header and typedef frames have been parsed, before
+         * the first term frame.
+         * 
+         * @param doc
+         *        the document, with its header and typedef frames
+         * @param termFrameCount
+         *        number of term frames that will be handled
+         */
+        void startTermFrames(@Nonnull OBODoc doc, int termFrameCount);
+
+        /**
+         * @param frame
+         *        a term frame; the parser does not keep it
+         */
+        void handleTermFrame(@Nonnull Frame frame);
+    }
+
+    /** Unparsed term frame, with the number of its first line. */
+    private static class DeferredFrame {
+
+        final String text;
+        final int lineNo;
+
+        DeferredFrame(String text, int lineNo) {
+            this.text = text;
+            this.lineNo = lineNo;
+        }
+    }
+
     /**
      * @param r
      *        r
@@ -333,6 +393,63 @@ public class OBOFormatParser {
         setReader(reader);
         OBODoc obodoc = new OBODoc();
         parseOBODoc(obodoc);
+        parseImports(obodoc);
+        return obodoc;
+    }
+
+    /**
+     * Parses a document without keeping its term frames. Header and typedef
+     * frames are kept in the returned document; term frames are handed to the
+     * handler one at a time, after the header and all typedef frames, which
+     * term frames can refer to, have been parsed. As typedef frames can follow
+     * term frames, the term frames are kept as text until the end of the
+     * input, and parsed only when they are handed over; the text is much
+     * smaller than the parsed frames. Term frames with the same id are
+     * handed over separately rather than merged.
+     * 
+     * @param reader
+     *        reader
+     * @param handler
+     *        handler for the term frames
+     * @return parsed obo document, without term frames
+     * @throws IOException
+     *         io exception
+     * @throws OBOFormatParserException
+     *         parser exception
+     */
+    @Nonnull
+    public OBODoc parse(@Nonnull BufferedReader reader, @Nonnull TermFrameHandler handler) throws IOException {
+        List<DeferredFrame> deferred = new ArrayList<>();
+        deferredTermFrames = deferred;
+        OBODoc obodoc = new OBODoc();
+        try {
+            setReader(reader);
+            parseOBODoc(obodoc);
+        } finally {
+            deferredTermFrames = null;
+        }
+        parseImports(obodoc);
+        handler.startTermFrames(obodoc, deferred.size());
+        String defaultOboNamespace = obodoc.getHeaderFrame().getTagValue(OboFormatTag.TAG_DEFAULT_NAMESPACE,
+            String.class);
+        for (int i = 0; i < deferred.size(); i++) {
+            DeferredFrame d = deferred.get(i);
+            // release the text as soon as the frame is parsed
+            deferred.set(i, null);
+            stream.line = null;
+            stream.pos = 0;
+            stream.lineNo = d.lineNo - 1;
+            setReader(new BufferedReader(new StringReader(d.text)));
+            Frame f = parseTermFrame();
+            if (defaultOboNamespace != null) {
+                addOboNamespace(Collections.singleton(f), defaultOboNamespace);
+            }
+            handler.handleTermFrame(f);
+        }
+        return obodoc;
+    }
+
+    private void parseImports(@Nonnull OBODoc obodoc) throws IOException {
         // handle imports
         Frame hf = obodoc.getHeaderFrame();
         List<OBODoc> imports = new LinkedList<>();
@@ -359,7 +476,6 @@ public class OBOFormatParser {
             }
             obodoc.setImportedOBODocs(imports);
         }
-        return obodoc;
     }
 
     // ----------------------------------------
@@ -561,10 +677,9 @@ public class OBOFormatParser {
      */
     public void parseEntityFrame(@Nonnull OBODoc obodoc) {
         parseZeroOrMoreWsOptCmtNl();
-        String rest = stream.rest();
-        if (rest != null && rest.startsWith("[Term]")) {
+        if (stream.startsWith("[Term]")) {
             parseTermFrame(obodoc);
-        } else if (rest != null && rest.startsWith("[Instance]")) {
+        } else if (stream.startsWith("[Instance]")) {
             LOG.error("Error: Instance frames are not supported yet. Parsing stopped at line: " + stream.getLineNo());
             while (!stream.eof()) {
                 stream.advanceLine();
@@ -587,8 +702,48 @@ public class OBOFormatParser {
      *         parser exception
      */
     public void parseTermFrame(@Nonnull OBODoc obodoc) {
-        Frame f = new Frame(FrameType.TERM);
         parseZeroOrMoreWsOptCmtNl();
+        if (deferredTermFrames != null && stream.startsWith("[Term]")) {
+            deferTermFrame(deferredTermFrames);
+            return;
+        }
+        Frame f = parseTermFrame();
+        try {
+            obodoc.addFrame(f);
+        } catch (FrameMergeException e) {
+            throw new OBOFormatParserException("Could not add frame " + f
+                + " to document, duplicate frame definition?", e, stream.lineNo, stream.line);
+        }
+    }
+
+    /**
+     * Copies the lines of a term frame, up to the next frame or the end of the
+     * input, without parsing them.
+     */
+    private void deferTermFrame(@Nonnull List<DeferredFrame> deferred) {
+        int lineNo = stream.lineNo;
+        StringBuilder text = new StringBuilder(stream.line.substring(stream.pos)).append('\n');
+        stream.advanceLine();
+        while (stream.line != null && !startsFrame(stream.line)) {
+            text.append(stream.line).append('\n');
+            stream.advanceLine();
+        }
+        deferred.add(new DeferredFrame(text.toString(), lineNo));
+    }
+
+    private static boolean startsFrame(@Nonnull String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != ' ' && c != '\t') {
+                return c == '[';
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private Frame parseTermFrame() {
+        Frame f = new Frame(FrameType.TERM);
         if (stream.consume("[Term]")) {
             forceParseNlOrEof();
             parseIdLine(f);
@@ -601,16 +756,11 @@ public class OBOFormatParser {
                 parseTermFrameClauseEOL(f);
                 parseZeroOrMoreWsOptCmtNl();
             }
-            try {
-                f.freeze();
-                obodoc.addFrame(f);
-            } catch (FrameMergeException e) {
-                throw new OBOFormatParserException("Could not add frame " + f
-                    + " to document, duplicate frame definition?", e, stream.lineNo, stream.line);
-            }
+            f.freeze();
         } else {
             error("Expected a [Term] frame, but found unknown stanza type.");
         }
+        return f;
     }
 
     /**
@@ -896,7 +1046,7 @@ public class OBOFormatParser {
         if (i == -1) {
             error("Could not find tag separator ':' in line.");
         }
-        String tag = stream.rest().substring(0, i);
+        String tag = stream.substring(i);
         stream.advance(i + 1);
         parseWs();
         parseZeroOrMoreWs();
@@ -1236,9 +1386,7 @@ public class OBOFormatParser {
 
     private boolean parseQual(@Nonnull Clause cl) {
         parseZeroOrMoreWs();
-        String rest = stream.rest();
-        assert rest != null;
-        if (!rest.contains("=")) {
+        if (stream.indexOf('=') < 0) {
             error(
                 "Missing '=' in trailing qualifier block. This might happen for not properly escaped '{', '}' chars in comments.");
         }
@@ -1402,18 +1550,22 @@ public class OBOFormatParser {
 
     @Nonnull
     private String getParseUntil(@Nonnull String compl, boolean commaWhitespace) {
-        String r = stream.rest();
+        // scan the current line in place; only the token is copied
+        stream.prepare();
+        String r = stream.line;
         assert r != null;
-        int i = 0;
+        int start = stream.pos;
+        int i = start;
         boolean hasEscapedChars = false;
         while (i < r.length()) {
-            if (r.charAt(i) == '\\') {
+            char c = r.charAt(i);
+            if (c == '\\') {
                 hasEscapedChars = true;
                 i += 2;// Escape
                 continue;
             }
-            if (compl.contains(r.subSequence(i, i + 1))) {
-                if (commaWhitespace && r.charAt(i) == ',') {
+            if (compl.indexOf(c) > -1) {
+                if (commaWhitespace && c == ',') {
                     // a comma is only a valid separator with a following
                     // whitespace
                     // see bug and specification update
@@ -1427,10 +1579,10 @@ public class OBOFormatParser {
             }
             i++;
         }
-        if (i == 0) {
+        if (i <= start) {
             return "";
         }
-        String ret = r.substring(0, i);
+        String ret = r.substring(start, i);
         if (hasEscapedChars) {
             StringBuilder sb = new StringBuilder();
             for (int j = 0; j < ret.length(); j++) {
@@ -1465,7 +1617,7 @@ public class OBOFormatParser {
             }
             ret = sb.toString();
         }
-        stream.advance(i);
+        stream.advance(i - start);
         String cachedValue = stringCache.getUnchecked(ret);
         if (LOG.isTraceEnabled()) {
             if (ret != cachedValue) {
@@ -1493,8 +1645,12 @@ public class OBOFormatParser {
     }
 
     private static String removeTrailingWS(@Nonnull String s) {
-        // TODO make this more efficient
-        return s.replaceAll("\\s*$", "");
+        int end = s.length();
+        // same characters as \s in regular expressions
+        while (end > 0 && " \t\n\u000B\f\r".indexOf(s.charAt(end - 1)) > -1) {
+            end--;
+        }
+        return end == s.length() ? s : s.substring(0, end);
     }
 
     private void error(String message) {
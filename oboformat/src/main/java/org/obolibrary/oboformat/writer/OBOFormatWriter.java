@@ -5,6 +5,10 @@ import static org.semanticweb.owlapi.model.parameters.Navigation.IN_SUB_POSITION
 import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -21,6 +25,7 @@ import org.obolibrary.oboformat.parser.OBOFormatConstants.OboFormatTag;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.StringComparator;
 import org.slf4j.Logger;
@@ -37,6 +42,10 @@ public class OBOFormatWriter {
     @Nonnull
     private static final Set<String> TAGSINFORMATIVE = buildTagsInformative();
     private boolean isCheckStructure = true;
+    /** Number of frames formatted by each task when formatting in parallel. */
+    private static final int FRAMES_PER_CHUNK = 1024;
+    private int threads = ConfigurationOptions.OBO_TRANSLATION_THREADS.getValue(Integer.class, Collections
+        .<ConfigurationOptions, Object> emptyMap()).intValue();
 
     /**
      * @return true, if is check structure
@@ -53,6 +62,27 @@ public class OBOFormatWriter {
         this.isCheckStructure = isCheckStructure;
     }
 
+    /**
+     * @return number of threads used to format the frames of a document;
+     *         values lower than 2 format them on the calling thread. The
+     *         global {@link ConfigurationOptions#OBO_TRANSLATION_THREADS} by
+     *         default; ontologies are saved with the value in their format.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @param threads
+     *        number of threads used to format the frames of a document;
+     *        values lower than 2 format them on the calling thread. The
+     *        output is the same either way; name providers must be thread
+     *        safe if more than one thread is used.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
     @Nonnull
     private static Set<String> buildTagsInformative() {
         Set<String> set = new HashSet<>();
@@ -199,19 +229,88 @@ public class OBOFormatWriter {
         List<Frame> instanceFrames = new ArrayList<>();
         typeDefFrames.addAll(doc.getInstanceFrames());
         Collections.sort(instanceFrames, FramesComparator.INSTANCE);
-        for (Frame f : termFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : typeDefFrames) {
-            write(f, writer, nameProvider);
-        }
-        for (Frame f : instanceFrames) {
-            write(f, writer, nameProvider);
+        List<Frame> frames = new ArrayList<>(termFrames.size() + typeDefFrames.size() + instanceFrames.size());
+        frames.addAll(termFrames);
+        frames.addAll(typeDefFrames);
+        frames.addAll(instanceFrames);
+        if (threads < 2 || frames.size() <= FRAMES_PER_CHUNK) {
+            for (Frame f : frames) {
+                assert f != null;
+                write(f, writer, nameProvider);
+            }
+        } else {
+            writeFrames(frames, writer, nameProvider);
         }
         // to be save always flush writer
         writer.flush();
     }
 
+    /**
+     * Formats chunks of frames concurrently and writes the chunks in the
+     * order of the frames, as they are completed. At most two chunks per
+     * thread are pending at any time, so that the formatted text held in
+     * memory does not grow with the size of the document.
+     */
+    private void writeFrames(@Nonnull List<Frame> frames, @Nonnull BufferedWriter writer,
+        @Nullable NameProvider nameProvider) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            int window = 2 * threads;
+            Deque<Future<String>> chunks = new ArrayDeque<>(window);
+            for (int from = 0; from < frames.size(); from += FRAMES_PER_CHUNK) {
+                if (chunks.size() == window) {
+                    writer.write(chunks.removeFirst().get());
+                }
+                chunks.addLast(pool.submit(new FrameFormatting(frames.subList(from, Math.min(frames.size(), from
+                    + FRAMES_PER_CHUNK)), nameProvider)));
+            }
+            while (!chunks.isEmpty()) {
+                writer.write(chunks.removeFirst().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Formats a slice of the frames to a string. */
+    private class FrameFormatting implements Callable<String> {
+
+        private final List<Frame> frames;
+        @Nullable
+        private final NameProvider nameProvider;
+
+        FrameFormatting(List<Frame> frames, @Nullable NameProvider nameProvider) {
+            this.frames = frames;
+            this.nameProvider = nameProvider;
+        }
+
+        @Override
+        public String call() throws IOException {
+            StringWriter out = new StringWriter();
+            BufferedWriter writer = new BufferedWriter(out);
+            for (Frame f : frames) {
+                assert f != null;
+                write(f, writer, nameProvider);
+            }
+            writer.flush();
+            return out.toString();
+        }
+    }
+
     private static void writeLine(@Nonnull StringBuilder ln, @Nonnull BufferedWriter writer) throws IOException {
         ln.append('\n');
         writer.write(ln.toString());
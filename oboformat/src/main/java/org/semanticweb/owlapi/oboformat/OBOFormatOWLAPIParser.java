@@ -22,6 +22,7 @@ import javax.annotation.Nullable;
 
 import org.obolibrary.obo2owl.OWLAPIObo2Owl;
 import org.obolibrary.oboformat.model.OBODoc;
+import org.obolibrary.oboformat.parser.OBOFormatConstants;
 import org.obolibrary.oboformat.parser.OBOFormatParser;
 import org.obolibrary.oboformat.parser.OBOFormatParserException;
 import org.semanticweb.owlapi.formats.OBODocumentFormat;
@@ -40,7 +41,7 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
     @Override
     public OWLDocumentFormat parse(IRI documentIRI, @Nonnull OWLOntology ontology) throws IOException {
         try {
-            parse(documentIRI, null, ontology);
+            parse(documentIRI, null, ontology, ontology.getOWLOntologyManager().getOntologyLoaderConfiguration());
         } catch (OBOFormatParserException e) {
             throw new OWLParserException(e);
         } catch (OWLOntologyCreationException e) {
@@ -53,9 +54,8 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
     @Override
     public OWLDocumentFormat parse(@Nonnull OWLOntologyDocumentSource documentSource, @Nonnull OWLOntology ontology,
         OWLOntologyLoaderConfiguration configuration) throws IOException {
-        // XXX configuration is not used
         try {
-            parse(null, documentSource, ontology);
+            parse(null, documentSource, ontology, configuration);
         } catch (OBOFormatParserException e) {
             throw new OWLParserException(e);
         } catch (OWLOntologyCreationException e) {
@@ -66,10 +66,14 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
 
     @SuppressWarnings("null")
     private static OWLOntology parse(@Nullable IRI iri, @Nullable OWLOntologyDocumentSource source,
-        @Nonnull OWLOntology in) throws IOException, OWLOntologyCreationException {
+        @Nonnull OWLOntology in, @Nonnull OWLOntologyLoaderConfiguration configuration) throws IOException,
+        OWLOntologyCreationException {
         if (iri == null && source == null) {
             throw new IllegalArgumentException("iri and source annot both be null");
         }
+        if (configuration.isStreamingOBO()) {
+            return parseStreaming(iri, source, in);
+        }
         OBOFormatParser p = new OBOFormatParser();
         OBODoc obodoc = null;
         if (iri != null) {
@@ -80,7 +84,7 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
             } else if (source.isInputStreamAvailable()) {
                 obodoc = p.parse(new BufferedReader(new InputStreamReader(source.getInputStream())));
             } else {
-                return parse(source.getDocumentIRI(), null, in);
+                return parse(source.getDocumentIRI(), null, in, configuration);
             }
         }
         // create a translator object and feed it the OBO Document
@@ -92,6 +96,30 @@ public class OBOFormatOWLAPIParser implements OWLParser, Serializable {
         return ontology;
     }
 
+    /**
+     * Translates the term frames as they are parsed, without building the
+     * whole OBO document.
+     */
+    @SuppressWarnings("null")
+    @Nonnull
+    private static OWLOntology parseStreaming(@Nullable IRI iri, @Nullable OWLOntologyDocumentSource source,
+        @Nonnull OWLOntology in) throws IOException {
+        OWLAPIObo2Owl bridge = new OWLAPIObo2Owl(in.getOWLOntologyManager());
+        if (iri != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(iri.toURI().toURL().openStream(),
+                OBOFormatConstants.DEFAULT_CHARACTER_ENCODING))) {
+                return bridge.convert(reader, in);
+            }
+        }
+        if (source.isReaderAvailable()) {
+            return bridge.convert(new BufferedReader(source.getReader()), in);
+        }
+        if (source.isInputStreamAvailable()) {
+            return bridge.convert(new BufferedReader(new InputStreamReader(source.getInputStream())), in);
+        }
+        return parseStreaming(source.getDocumentIRI(), null, in);
+    }
+
     @Nonnull
     @Override
     public String getName() {
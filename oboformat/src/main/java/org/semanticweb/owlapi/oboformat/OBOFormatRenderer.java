@@ -31,6 +31,7 @@ import org.semanticweb.owlapi.io.OWLRenderer;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyStorageException;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
 
 /** renderer for obo */
 public class OBOFormatRenderer implements OWLRenderer {
@@ -53,7 +54,9 @@ public class OBOFormatRenderer implements OWLRenderer {
     public static void render(@Nonnull OWLOntology ontology, @Nonnull Writer writer, OWLDocumentFormat format)
         throws OWLOntologyStorageException {
         try {
+            int threads = ConfigurationOptions.OBO_TRANSLATION_THREADS.getValue(Integer.class, format).intValue();
             OWLAPIOwl2Obo translator = new OWLAPIOwl2Obo(ontology.getOWLOntologyManager());
+            translator.setTranslationThreads(threads);
             final OBODoc result = translator.convert(ontology);
             boolean hasImports = ontology.getImports().isEmpty() == false;
             NameProvider nameProvider;
@@ -83,6 +86,7 @@ public class OBOFormatRenderer implements OWLRenderer {
                 nameProvider = new OBODocNameProvider(result);
             }
             OBOFormatWriter oboFormatWriter = new OBOFormatWriter();
+            oboFormatWriter.setThreads(threads);
             oboFormatWriter.setCheckStructure((Boolean) format.getParameter(OBODocumentFormat.VALIDATION,
                 Boolean.TRUE));
             oboFormatWriter.write(result, new BufferedWriter(writer), nameProvider);
@@ -0,0 +1,141 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary;
+
+/**
+ * Layout and tags of the binary snapshot format. A snapshot starts with
+ * {@code BinarySnapshotDocumentFormat.MAGIC} and a format version, followed by
+ * sections; each section is a tag byte and a payload length, so that a reader
+ * can skip sections it does not know. The string section comes first and
+ * holds every IRI, lexical form, language tag and node id once; the other
+ * sections refer to strings by index. An {@link #END} tag closes the
+ * snapshot.
+ * <p>
+ * Every object is a tag byte followed by its components, in the order of the
+ * corresponding {@code OWLDataFactory} method; axioms end with their
+ * annotations. Integers (string indexes, counts, cardinalities, lengths) are
+ * unsigned variable length quantities, seven bits per byte, least significant
+ * group first.
+ *
+ * @author ignazio
+ */
+public final class BinarySnapshotVocabulary {
+
+    /** Format version written by this release. */
+    public static final int VERSION = 1;
+    // sections
+    /** End of the snapshot. */
+    public static final int END = 0;
+    /** String table: count, then length and UTF-8 bytes of each string. */
+    public static final int STRINGS = 1;
+    /**
+     * Ontology header: ontology IRI and version IRI (string index plus one,
+     * zero if absent), imported IRIs, ontology annotations.
+     */
+    public static final int HEADER = 2;
+    /** Axioms: count, then the axioms. */
+    public static final int AXIOMS = 3;
+    // entities and other primitives
+    public static final int CLASS = 1;
+    public static final int OBJECT_PROPERTY = 2;
+    public static final int DATA_PROPERTY = 3;
+    public static final int ANNOTATION_PROPERTY = 4;
+    public static final int NAMED_INDIVIDUAL = 5;
+    public static final int DATATYPE = 6;
+    public static final int ANONYMOUS_INDIVIDUAL = 7;
+    public static final int IRI_VALUE = 8;
+    /** Lexical form and datatype IRI. */
+    public static final int LITERAL = 9;
+    /** Lexical form and language tag. */
+    public static final int LANG_LITERAL = 10;
+    public static final int ANNOTATION = 11;
+    public static final int OBJECT_INVERSE_OF = 12;
+    public static final int FACET_RESTRICTION = 13;
+    // class expressions
+    public static final int OBJECT_INTERSECTION_OF = 20;
+    public static final int OBJECT_UNION_OF = 21;
+    public static final int OBJECT_COMPLEMENT_OF = 22;
+    public static final int OBJECT_ONE_OF = 23;
+    public static final int OBJECT_SOME_VALUES_FROM = 24;
+    public static final int OBJECT_ALL_VALUES_FROM = 25;
+    public static final int OBJECT_HAS_VALUE = 26;
+    public static final int OBJECT_HAS_SELF = 27;
+    public static final int OBJECT_MIN_CARDINALITY = 28;
+    public static final int OBJECT_EXACT_CARDINALITY = 29;
+    public static final int OBJECT_MAX_CARDINALITY = 30;
+    public static final int DATA_SOME_VALUES_FROM = 31;
+    public static final int DATA_ALL_VALUES_FROM = 32;
+    public static final int DATA_HAS_VALUE = 33;
+    public static final int DATA_MIN_CARDINALITY = 34;
+    public static final int DATA_EXACT_CARDINALITY = 35;
+    public static final int DATA_MAX_CARDINALITY = 36;
+    // data ranges
+    public static final int DATA_INTERSECTION_OF = 40;
+    public static final int DATA_UNION_OF = 41;
+    public static final int DATA_COMPLEMENT_OF = 42;
+    public static final int DATA_ONE_OF = 43;
+    public static final int DATATYPE_RESTRICTION = 44;
+    // SWRL atoms and arguments
+    public static final int SWRL_CLASS_ATOM = 50;
+    public static final int SWRL_DATA_RANGE_ATOM = 51;
+    public static final int SWRL_OBJECT_PROPERTY_ATOM = 52;
+    public static final int SWRL_DATA_PROPERTY_ATOM = 53;
+    public static final int SWRL_BUILT_IN_ATOM = 54;
+    public static final int SWRL_SAME_INDIVIDUAL_ATOM = 55;
+    public static final int SWRL_DIFFERENT_INDIVIDUALS_ATOM = 56;
+    public static final int SWRL_VARIABLE = 57;
+    public static final int SWRL_INDIVIDUAL_ARGUMENT = 58;
+    public static final int SWRL_LITERAL_ARGUMENT = 59;
+    // axioms
+    public static final int DECLARATION = 64;
+    public static final int SUB_CLASS_OF = 65;
+    public static final int EQUIVALENT_CLASSES = 66;
+    public static final int DISJOINT_CLASSES = 67;
+    public static final int DISJOINT_UNION = 68;
+    public static final int SUB_OBJECT_PROPERTY_OF = 69;
+    public static final int SUB_PROPERTY_CHAIN_OF = 70;
+    public static final int EQUIVALENT_OBJECT_PROPERTIES = 71;
+    public static final int DISJOINT_OBJECT_PROPERTIES = 72;
+    public static final int INVERSE_OBJECT_PROPERTIES = 73;
+    public static final int OBJECT_PROPERTY_DOMAIN = 74;
+    public static final int OBJECT_PROPERTY_RANGE = 75;
+    public static final int FUNCTIONAL_OBJECT_PROPERTY = 76;
+    public static final int INVERSE_FUNCTIONAL_OBJECT_PROPERTY = 77;
+    public static final int REFLEXIVE_OBJECT_PROPERTY = 78;
+    public static final int IRREFLEXIVE_OBJECT_PROPERTY = 79;
+    public static final int SYMMETRIC_OBJECT_PROPERTY = 80;
+    public static final int ASYMMETRIC_OBJECT_PROPERTY = 81;
+    public static final int TRANSITIVE_OBJECT_PROPERTY = 82;
+    public static final int SUB_DATA_PROPERTY_OF = 83;
+    public static final int EQUIVALENT_DATA_PROPERTIES = 84;
+    public static final int DISJOINT_DATA_PROPERTIES = 85;
+    public static final int DATA_PROPERTY_DOMAIN = 86;
+    public static final int DATA_PROPERTY_RANGE = 87;
+    public static final int FUNCTIONAL_DATA_PROPERTY = 88;
+    public static final int DATATYPE_DEFINITION = 89;
+    public static final int HAS_KEY = 90;
+    public static final int SAME_INDIVIDUAL = 91;
+    public static final int DIFFERENT_INDIVIDUALS = 92;
+    public static final int CLASS_ASSERTION = 93;
+    public static final int OBJECT_PROPERTY_ASSERTION = 94;
+    public static final int NEGATIVE_OBJECT_PROPERTY_ASSERTION = 95;
+    public static final int DATA_PROPERTY_ASSERTION = 96;
+    public static final int NEGATIVE_DATA_PROPERTY_ASSERTION = 97;
+    public static final int ANNOTATION_ASSERTION = 98;
+    public static final int SUB_ANNOTATION_PROPERTY_OF = 99;
+    public static final int ANNOTATION_PROPERTY_DOMAIN = 100;
+    public static final int ANNOTATION_PROPERTY_RANGE = 101;
+    public static final int SWRL_RULE = 102;
+
+    private BinarySnapshotVocabulary() {}
+}
@@ -0,0 +1,124 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormatFactory;
+import org.semanticweb.owlapi.io.AbstractOWLParser;
+import org.semanticweb.owlapi.io.FileDocumentSource;
+import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDocumentFormat;
+import org.semanticweb.owlapi.model.OWLDocumentFormatFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyLoaderConfiguration;
+
+/**
+ * Loads binary snapshots. Local files are memory mapped rather than read, so
+ * that only the pages actually decoded are brought in; other sources are read
+ * into memory first. Documents that do not start with the snapshot magic
+ * bytes are rejected straight away, so that other parsers can be tried.
+ *
+ * @author ignazio
+ */
+public class BinarySnapshotParser extends AbstractOWLParser {
+
+    private static final long serialVersionUID = 40000L;
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "BinarySnapshotParser";
+    }
+
+    @Override
+    public OWLDocumentFormatFactory getSupportedFormat() {
+        return new BinarySnapshotDocumentFormatFactory();
+    }
+
+    @Override
+    public OWLDocumentFormat parse(OWLOntologyDocumentSource documentSource,
+            OWLOntology ontology, OWLOntologyLoaderConfiguration configuration)
+            throws IOException {
+        ByteBuffer buffer = getBuffer(documentSource, configuration);
+        new BinarySnapshotReader(buffer, ontology.getOWLOntologyManager()
+                .getOWLDataFactory()).load(ontology, configuration);
+        return new BinarySnapshotDocumentFormat();
+    }
+
+    @Nonnull
+    private ByteBuffer getBuffer(OWLOntologyDocumentSource documentSource,
+            OWLOntologyLoaderConfiguration configuration) throws IOException {
+        IRI documentIRI = documentSource.getDocumentIRI();
+        boolean sourceIsFile = documentSource instanceof FileDocumentSource
+                || !documentSource.isInputStreamAvailable()
+                && !documentSource.isReaderAvailable();
+        if (sourceIsFile && "file".equals(documentIRI.getScheme())) {
+            File file = new File(documentIRI.toURI());
+            if (file.isFile()) {
+                return map(file);
+            }
+        }
+        if (documentSource.isInputStreamAvailable()) {
+            try (InputStream in = documentSource.getInputStream()) {
+                return read(in);
+            }
+        }
+        if (documentSource.isReaderAvailable()) {
+            throw new BinarySnapshotParserException(
+                    "A binary snapshot cannot be read from a character stream; declare the format on the document source");
+        }
+        try (InputStream in = getInputStream(documentIRI, configuration)) {
+            return read(in);
+        }
+    }
+
+    @Nonnull
+    private static ByteBuffer map(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+                FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new BinarySnapshotParserException("Snapshot too large to map: " + size + " bytes");
+            }
+            // the mapping stays valid after the channel is closed
+            ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+            assert buffer != null;
+            return buffer;
+        }
+    }
+
+    @Nonnull
+    private static ByteBuffer read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[65536];
+        int n;
+        while ((n = in.read(chunk)) > -1) {
+            out.write(chunk, 0, n);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        assert buffer != null;
+        return buffer;
+    }
+}
@@ -0,0 +1,508 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.parser;
+
+import static org.semanticweb.owlapi.binary.BinarySnapshotVocabulary.*;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+import com.google.common.base.Optional;
+
+/**
+ * Decodes a binary snapshot from a buffer into an ontology. Strings are
+ * decoded once; IRIs are created the first time they are referred to.
+ *
+ * @author ignazio
+ */
+class BinarySnapshotReader {
+
+    @Nonnull
+    private final ByteBuffer in;
+    @Nonnull
+    private final OWLDataFactory df;
+    @Nonnull
+    private String[] strings = new String[0];
+    @Nonnull
+    private IRI[] iris = new IRI[0];
+    @Nonnull
+    private byte[] scratch = new byte[256];
+
+    BinarySnapshotReader(@Nonnull ByteBuffer in, @Nonnull OWLDataFactory df) {
+        this.in = in;
+        this.df = df;
+    }
+
+    /**
+     * @param ontology
+     *        ontology to fill
+     * @param configuration
+     *        loader configuration
+     * @throws BinarySnapshotParserException
+     *         if the buffer does not hold a snapshot, or the snapshot is
+     *         truncated or corrupt
+     */
+    void load(@Nonnull OWLOntology ontology, @Nonnull OWLOntologyLoaderConfiguration configuration) {
+        checkMagic();
+        try {
+            int version = readInt();
+            if (version > VERSION) {
+                throw new BinarySnapshotParserException("Unsupported snapshot version: " + version);
+            }
+            int section = in.get() & 0xFF;
+            while (section != END) {
+                int length = readInt();
+                int end = in.position() + length;
+                switch (section) {
+                    case STRINGS:
+                        readStrings();
+                        break;
+                    case HEADER:
+                        readHeader(ontology, configuration);
+                        break;
+                    case AXIOMS:
+                        readAxioms(ontology, configuration);
+                        break;
+                    default:
+                        // written by a later version; safe to skip
+                        in.position(end);
+                        break;
+                }
+                if (in.position() != end) {
+                    throw new BinarySnapshotParserException("Section " + section + " does not end at offset "
+                        + end);
+                }
+                section = in.get() & 0xFF;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException
+            | IllegalArgumentException e) {
+            throw new BinarySnapshotParserException("Truncated or corrupt snapshot at offset " + in.position(), e);
+        }
+    }
+
+    private void checkMagic() {
+        byte[] magic = BinarySnapshotDocumentFormat.MAGIC.getBytes(StandardCharsets.US_ASCII);
+        if (in.remaining() < magic.length) {
+            throw new BinarySnapshotParserException("Not a binary snapshot");
+        }
+        for (byte b : magic) {
+            if (in.get() != b) {
+                throw new BinarySnapshotParserException("Not a binary snapshot");
+            }
+        }
+    }
+
+    private void readStrings() {
+        int count = readCount();
+        strings = new String[count];
+        iris = new IRI[count];
+        for (int i = 0; i < count; i++) {
+            int length = readCount();
+            if (in.hasArray()) {
+                strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length,
+                    StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                in.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private void readHeader(OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) {
+        IRI ontologyIRI = optionalIRI();
+        IRI versionIRI = optionalIRI();
+        int count = readCount();
+        List<OWLImportsDeclaration> imports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            imports.add(df.getOWLImportsDeclaration(iri()));
+        }
+        Set<OWLAnnotation> annotations = annotations();
+        OWLOntologyManager manager = ontology.getOWLOntologyManager();
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        if (ontologyIRI != null) {
+            changes.add(new SetOntologyID(ontology, new OWLOntologyID(Optional.of(ontologyIRI), Optional
+                .fromNullable(versionIRI))));
+        }
+        for (OWLImportsDeclaration decl : imports) {
+            changes.add(new AddImport(ontology, decl));
+        }
+        for (OWLAnnotation a : annotations) {
+            changes.add(new AddOntologyAnnotation(ontology, a));
+        }
+        manager.applyChanges(changes);
+        for (OWLImportsDeclaration decl : imports) {
+            manager.makeLoadImportRequest(decl, configuration);
+        }
+    }
+
+    private void readAxioms(OWLOntology ontology, OWLOntologyLoaderConfiguration configuration) {
+        int count = readCount();
+        boolean annotationAxioms = configuration.isLoadAnnotationAxioms();
+        Set<OWLAxiom> axioms = new HashSet<>(count);
+        for (int i = 0; i < count; i++) {
+            OWLAxiom ax = read(OWLAxiom.class);
+            if (annotationAxioms || !ax.isAnnotationAxiom()) {
+                axioms.add(ax);
+            }
+        }
+        ontology.getOWLOntologyManager().addAxioms(ontology, axioms);
+    }
+
+    private int readInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BinarySnapshotParserException("Malformed integer at offset " + in.position());
+    }
+
+    /**
+     * @return a count of elements or bytes that follow; every element takes at
+     *         least one byte, so a count larger than what is left in the buffer
+     *         can only come from a corrupt snapshot
+     */
+    private int readCount() {
+        int count = readInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new BinarySnapshotParserException("Invalid count " + count + " at offset " + in.position());
+        }
+        return count;
+    }
+
+    @Nonnull
+    private String string() {
+        String s = strings[readInt()];
+        assert s != null;
+        return s;
+    }
+
+    @Nonnull
+    private IRI iri() {
+        return iri(readInt());
+    }
+
+    @Nonnull
+    private IRI iri(int i) {
+        IRI iri = iris[i];
+        if (iri == null) {
+            iri = IRI.create(strings[i]);
+            iris[i] = iri;
+        }
+        return iri;
+    }
+
+    @Nullable
+    private IRI optionalIRI() {
+        // stored as index plus one, zero if absent
+        int i = readInt();
+        if (i == 0) {
+            return null;
+        }
+        return iri(i - 1);
+    }
+
+    @Nonnull
+    private <T> T read(Class<T> type) {
+        T t = type.cast(read());
+        assert t != null;
+        return t;
+    }
+
+    @Nonnull
+    private <T> Set<T> set(Class<T> type) {
+        int count = readCount();
+        if (count == 0) {
+            return Collections.emptySet();
+        }
+        Set<T> set = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            set.add(read(type));
+        }
+        return set;
+    }
+
+    @Nonnull
+    private <T> List<T> list(Class<T> type) {
+        int count = readCount();
+        List<T> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(read(type));
+        }
+        return list;
+    }
+
+    @Nonnull
+    private Set<OWLAnnotation> annotations() {
+        return set(OWLAnnotation.class);
+    }
+
+    @Nonnull
+    private OWLClassExpression ce() {
+        return read(OWLClassExpression.class);
+    }
+
+    @Nonnull
+    private OWLObjectPropertyExpression ope() {
+        return read(OWLObjectPropertyExpression.class);
+    }
+
+    @Nonnull
+    private OWLDataPropertyExpression dpe() {
+        return read(OWLDataPropertyExpression.class);
+    }
+
+    @Nonnull
+    private OWLAnnotationProperty ap() {
+        return read(OWLAnnotationProperty.class);
+    }
+
+    @Nonnull
+    private OWLDataRange dr() {
+        return read(OWLDataRange.class);
+    }
+
+    @Nonnull
+    private OWLIndividual ind() {
+        return read(OWLIndividual.class);
+    }
+
+    @Nonnull
+    private OWLLiteral lit() {
+        return read(OWLLiteral.class);
+    }
+
+    @Nonnull
+    private SWRLIArgument iarg() {
+        return read(SWRLIArgument.class);
+    }
+
+    @Nonnull
+    private SWRLDArgument darg() {
+        return read(SWRLDArgument.class);
+    }
+
+    @Nonnull
+    private OWLObject read() {
+        int tag = in.get() & 0xFF;
+        switch (tag) {
+            // entities and other primitives
+            case CLASS:
+                return df.getOWLClass(iri());
+            case OBJECT_PROPERTY:
+                return df.getOWLObjectProperty(iri());
+            case DATA_PROPERTY:
+                return df.getOWLDataProperty(iri());
+            case ANNOTATION_PROPERTY:
+                return df.getOWLAnnotationProperty(iri());
+            case NAMED_INDIVIDUAL:
+                return df.getOWLNamedIndividual(iri());
+            case DATATYPE:
+                return df.getOWLDatatype(iri());
+            case ANONYMOUS_INDIVIDUAL:
+                return df.getOWLAnonymousIndividual(string());
+            case IRI_VALUE:
+                return iri();
+            case LITERAL:
+                return df.getOWLLiteral(string(), df.getOWLDatatype(iri()));
+            case LANG_LITERAL:
+                return df.getOWLLiteral(string(), string());
+            case ANNOTATION:
+                return df.getOWLAnnotation(ap(), read(OWLAnnotationValue.class), annotations());
+            case OBJECT_INVERSE_OF:
+                return df.getOWLObjectInverseOf(ope());
+            case FACET_RESTRICTION:
+                return df.getOWLFacetRestriction(OWLFacet.getFacet(iri()), lit());
+            // class expressions
+            case OBJECT_INTERSECTION_OF:
+                return df.getOWLObjectIntersectionOf(set(OWLClassExpression.class));
+            case OBJECT_UNION_OF:
+                return df.getOWLObjectUnionOf(set(OWLClassExpression.class));
+            case OBJECT_COMPLEMENT_OF:
+                return df.getOWLObjectComplementOf(ce());
+            case OBJECT_ONE_OF:
+                return df.getOWLObjectOneOf(set(OWLIndividual.class));
+            case OBJECT_SOME_VALUES_FROM:
+                return df.getOWLObjectSomeValuesFrom(ope(), ce());
+            case OBJECT_ALL_VALUES_FROM:
+                return df.getOWLObjectAllValuesFrom(ope(), ce());
+            case OBJECT_HAS_VALUE:
+                return df.getOWLObjectHasValue(ope(), ind());
+            case OBJECT_HAS_SELF:
+                return df.getOWLObjectHasSelf(ope());
+            case OBJECT_MIN_CARDINALITY:
+                return df.getOWLObjectMinCardinality(readInt(), ope(), ce());
+            case OBJECT_EXACT_CARDINALITY:
+                return df.getOWLObjectExactCardinality(readInt(), ope(), ce());
+            case OBJECT_MAX_CARDINALITY:
+                return df.getOWLObjectMaxCardinality(readInt(), ope(), ce());
+            case DATA_SOME_VALUES_FROM:
+                return df.getOWLDataSomeValuesFrom(dpe(), dr());
+            case DATA_ALL_VALUES_FROM:
+                return df.getOWLDataAllValuesFrom(dpe(), dr());
+            case DATA_HAS_VALUE:
+                return df.getOWLDataHasValue(dpe(), lit());
+            case DATA_MIN_CARDINALITY:
+                return df.getOWLDataMinCardinality(readInt(), dpe(), dr());
+            case DATA_EXACT_CARDINALITY:
+                return df.getOWLDataExactCardinality(readInt(), dpe(), dr());
+            case DATA_MAX_CARDINALITY:
+                return df.getOWLDataMaxCardinality(readInt(), dpe(), dr());
+            // data ranges
+            case DATA_INTERSECTION_OF:
+                return df.getOWLDataIntersectionOf(set(OWLDataRange.class));
+            case DATA_UNION_OF:
+                return df.getOWLDataUnionOf(set(OWLDataRange.class));
+            case DATA_COMPLEMENT_OF:
+                return df.getOWLDataComplementOf(dr());
+            case DATA_ONE_OF:
+                return df.getOWLDataOneOf(set(OWLLiteral.class));
+            case DATATYPE_RESTRICTION:
+                return df.getOWLDatatypeRestriction(read(OWLDatatype.class), set(OWLFacetRestriction.class));
+            // SWRL
+            case SWRL_CLASS_ATOM:
+                return df.getSWRLClassAtom(ce(), iarg());
+            case SWRL_DATA_RANGE_ATOM:
+                return df.getSWRLDataRangeAtom(dr(), darg());
+            case SWRL_OBJECT_PROPERTY_ATOM:
+                return df.getSWRLObjectPropertyAtom(ope(), iarg(), iarg());
+            case SWRL_DATA_PROPERTY_ATOM:
+                return df.getSWRLDataPropertyAtom(dpe(), iarg(), darg());
+            case SWRL_BUILT_IN_ATOM:
+                return df.getSWRLBuiltInAtom(iri(), list(SWRLDArgument.class));
+            case SWRL_SAME_INDIVIDUAL_ATOM:
+                return df.getSWRLSameIndividualAtom(iarg(), iarg());
+            case SWRL_DIFFERENT_INDIVIDUALS_ATOM:
+                return df.getSWRLDifferentIndividualsAtom(iarg(), iarg());
+            case SWRL_VARIABLE:
+                return df.getSWRLVariable(iri());
+            case SWRL_INDIVIDUAL_ARGUMENT:
+                return df.getSWRLIndividualArgument(ind());
+            case SWRL_LITERAL_ARGUMENT:
+                return df.getSWRLLiteralArgument(lit());
+            default:
+                return readAxiom(tag);
+        }
+    }
+
+    @Nonnull
+    private OWLAxiom readAxiom(int tag) {
+        switch (tag) {
+            case DECLARATION:
+                return df.getOWLDeclarationAxiom(read(OWLEntity.class), annotations());
+            case SUB_CLASS_OF:
+                return df.getOWLSubClassOfAxiom(ce(), ce(), annotations());
+            case EQUIVALENT_CLASSES:
+                return df.getOWLEquivalentClassesAxiom(set(OWLClassExpression.class), annotations());
+            case DISJOINT_CLASSES:
+                return df.getOWLDisjointClassesAxiom(set(OWLClassExpression.class), annotations());
+            case DISJOINT_UNION:
+                return df.getOWLDisjointUnionAxiom(read(OWLClass.class), set(OWLClassExpression.class),
+                    annotations());
+            case SUB_OBJECT_PROPERTY_OF:
+                return df.getOWLSubObjectPropertyOfAxiom(ope(), ope(), annotations());
+            case SUB_PROPERTY_CHAIN_OF:
+                return df.getOWLSubPropertyChainOfAxiom(list(OWLObjectPropertyExpression.class), ope(),
+                    annotations());
+            case EQUIVALENT_OBJECT_PROPERTIES:
+                return df.getOWLEquivalentObjectPropertiesAxiom(set(OWLObjectPropertyExpression.class),
+                    annotations());
+            case DISJOINT_OBJECT_PROPERTIES:
+                return df.getOWLDisjointObjectPropertiesAxiom(set(OWLObjectPropertyExpression.class),
+                    annotations());
+            case INVERSE_OBJECT_PROPERTIES:
+                return df.getOWLInverseObjectPropertiesAxiom(ope(), ope(), annotations());
+            case OBJECT_PROPERTY_DOMAIN:
+                return df.getOWLObjectPropertyDomainAxiom(ope(), ce(), annotations());
+            case OBJECT_PROPERTY_RANGE:
+                return df.getOWLObjectPropertyRangeAxiom(ope(), ce(), annotations());
+            case FUNCTIONAL_OBJECT_PROPERTY:
+                return df.getOWLFunctionalObjectPropertyAxiom(ope(), annotations());
+            case INVERSE_FUNCTIONAL_OBJECT_PROPERTY:
+                return df.getOWLInverseFunctionalObjectPropertyAxiom(ope(), annotations());
+            case REFLEXIVE_OBJECT_PROPERTY:
+                return df.getOWLReflexiveObjectPropertyAxiom(ope(), annotations());
+            case IRREFLEXIVE_OBJECT_PROPERTY:
+                return df.getOWLIrreflexiveObjectPropertyAxiom(ope(), annotations());
+            case SYMMETRIC_OBJECT_PROPERTY:
+                return df.getOWLSymmetricObjectPropertyAxiom(ope(), annotations());
+            case ASYMMETRIC_OBJECT_PROPERTY:
+                return df.getOWLAsymmetricObjectPropertyAxiom(ope(), annotations());
+            case TRANSITIVE_OBJECT_PROPERTY:
+                return df.getOWLTransitiveObjectPropertyAxiom(ope(), annotations());
+            case SUB_DATA_PROPERTY_OF:
+                return df.getOWLSubDataPropertyOfAxiom(dpe(), dpe(), annotations());
+            case EQUIVALENT_DATA_PROPERTIES:
+                return df.getOWLEquivalentDataPropertiesAxiom(set(OWLDataPropertyExpression.class), annotations());
+            case DISJOINT_DATA_PROPERTIES:
+                return df.getOWLDisjointDataPropertiesAxiom(set(OWLDataPropertyExpression.class), annotations());
+            case DATA_PROPERTY_DOMAIN:
+                return df.getOWLDataPropertyDomainAxiom(dpe(), ce(), annotations());
+            case DATA_PROPERTY_RANGE:
+                return df.getOWLDataPropertyRangeAxiom(dpe(), dr(), annotations());
+            case FUNCTIONAL_DATA_PROPERTY:
+                return df.getOWLFunctionalDataPropertyAxiom(dpe(), annotations());
+            case DATATYPE_DEFINITION:
+                return df.getOWLDatatypeDefinitionAxiom(read(OWLDatatype.class), dr(), annotations());
+            case HAS_KEY:
+                return df.getOWLHasKeyAxiom(ce(), set(OWLPropertyExpression.class), annotations());
+            case SAME_INDIVIDUAL:
+                return df.getOWLSameIndividualAxiom(set(OWLIndividual.class), annotations());
+            case DIFFERENT_INDIVIDUALS:
+                return df.getOWLDifferentIndividualsAxiom(set(OWLIndividual.class), annotations());
+            case CLASS_ASSERTION:
+                return df.getOWLClassAssertionAxiom(ce(), ind(), annotations());
+            case OBJECT_PROPERTY_ASSERTION:
+                return df.getOWLObjectPropertyAssertionAxiom(ope(), ind(), ind(), annotations());
+            case NEGATIVE_OBJECT_PROPERTY_ASSERTION:
+                return df.getOWLNegativeObjectPropertyAssertionAxiom(ope(), ind(), ind(), annotations());
+            case DATA_PROPERTY_ASSERTION:
+                return df.getOWLDataPropertyAssertionAxiom(dpe(), ind(), lit(), annotations());
+            case NEGATIVE_DATA_PROPERTY_ASSERTION:
+                return df.getOWLNegativeDataPropertyAssertionAxiom(dpe(), ind(), lit(), annotations());
+            case ANNOTATION_ASSERTION:
+                return df.getOWLAnnotationAssertionAxiom(ap(), read(OWLAnnotationSubject.class),
+                    read(OWLAnnotationValue.class), annotations());
+            case SUB_ANNOTATION_PROPERTY_OF:
+                return df.getOWLSubAnnotationPropertyOfAxiom(ap(), ap(), annotations());
+            case ANNOTATION_PROPERTY_DOMAIN:
+                return df.getOWLAnnotationPropertyDomainAxiom(ap(), read(IRI.class), annotations());
+            case ANNOTATION_PROPERTY_RANGE:
+                return df.getOWLAnnotationPropertyRangeAxiom(ap(), read(IRI.class), annotations());
+            case SWRL_RULE:
+                return df.getSWRLRule(set(SWRLAtom.class), set(SWRLAtom.class), annotations());
+            default:
+                throw new BinarySnapshotParserException("Unknown tag " + tag + " at offset " + (in.position() - 1));
+        }
+    }
+}
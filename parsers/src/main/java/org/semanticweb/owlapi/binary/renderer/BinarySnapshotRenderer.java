@@ -0,0 +1,683 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.binary.renderer;
+
+import static org.semanticweb.owlapi.binary.BinarySnapshotVocabulary.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.formats.BinarySnapshotDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+
+import com.google.common.base.Optional;
+
+/**
+ * Writes an ontology as a binary snapshot; see
+ * {@link org.semanticweb.owlapi.binary.BinarySnapshotVocabulary} for the
+ * layout. Strings are collected while the header and axioms are encoded, so
+ * the sections are buffered in memory and written out at the end.
+ *
+ * @author ignazio
+ */
+public class BinarySnapshotRenderer {
+
+    /**
+     * @param ontology
+     *        ontology to write
+     * @param out
+     *        stream to write to; not closed
+     * @throws IOException
+     *         if the stream cannot be written
+     */
+    public void render(@Nonnull OWLOntology ontology, @Nonnull OutputStream out) throws IOException {
+        Encoder encoder = new Encoder();
+        SectionBuffer header = encoder.out;
+        OWLOntologyID id = ontology.getOntologyID();
+        encoder.optionalIRI(id.getOntologyIRI());
+        encoder.optionalIRI(id.getVersionIRI());
+        header.writeInt(ontology.getImportsDeclarations().size());
+        for (OWLImportsDeclaration decl : ontology.getImportsDeclarations()) {
+            header.writeInt(encoder.index(decl.getIRI().toString()));
+        }
+        encoder.objects(ontology.getAnnotations());
+        SectionBuffer axioms = new SectionBuffer();
+        encoder.out = axioms;
+        axioms.writeInt(ontology.getAxiomCount());
+        for (OWLAxiom ax : ontology.getAxioms()) {
+            ax.accept(encoder);
+        }
+        SectionBuffer strings = new SectionBuffer();
+        strings.writeInt(encoder.strings.size());
+        for (String s : encoder.strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            strings.writeInt(bytes.length);
+            strings.write(bytes, 0, bytes.length);
+        }
+        SectionBuffer start = new SectionBuffer();
+        byte[] magic = BinarySnapshotDocumentFormat.MAGIC.getBytes(StandardCharsets.US_ASCII);
+        start.write(magic, 0, magic.length);
+        start.writeInt(VERSION);
+        start.writeTo(out);
+        // the string table must precede the sections that refer to it
+        strings.writeSection(STRINGS, out);
+        header.writeSection(HEADER, out);
+        axioms.writeSection(AXIOMS, out);
+        out.write(END);
+        out.flush();
+    }
+
+    /** Byte buffer with variable length integers. */
+    private static class SectionBuffer extends ByteArrayOutputStream {
+
+        SectionBuffer() {
+            super(4096);
+        }
+
+        void writeInt(int value) {
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                write(v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            write(v);
+        }
+
+        void writeSection(int tag, OutputStream stream) throws IOException {
+            SectionBuffer prefix = new SectionBuffer();
+            prefix.write(tag);
+            prefix.writeInt(size());
+            prefix.writeTo(stream);
+            writeTo(stream);
+        }
+    }
+
+    /** Encodes objects into the current section, interning strings. */
+    private static class Encoder implements OWLObjectVisitor {
+
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        SectionBuffer out = new SectionBuffer();
+
+        Encoder() {}
+
+        int index(String s) {
+            Integer i = strings.get(s);
+            if (i == null) {
+                i = Integer.valueOf(strings.size());
+                strings.put(s, i);
+            }
+            return i.intValue();
+        }
+
+        void optionalIRI(Optional<IRI> iri) {
+            if (iri.isPresent()) {
+                out.writeInt(index(iri.get().toString()) + 1);
+            } else {
+                out.writeInt(0);
+            }
+        }
+
+        void iri(IRI iri) {
+            out.writeInt(index(iri.toString()));
+        }
+
+        void string(String s) {
+            out.writeInt(index(s));
+        }
+
+        void object(OWLObject o) {
+            o.accept(this);
+        }
+
+        void objects(Collection<? extends OWLObject> objects) {
+            out.writeInt(objects.size());
+            for (OWLObject o : objects) {
+                o.accept(this);
+            }
+        }
+
+        void entity(int tag, OWLEntity e) {
+            out.write(tag);
+            iri(e.getIRI());
+        }
+
+        void unary(int tag, OWLObject o) {
+            out.write(tag);
+            o.accept(this);
+        }
+
+        void binary(int tag, OWLObject first, OWLObject second) {
+            out.write(tag);
+            first.accept(this);
+            second.accept(this);
+        }
+
+        void nary(int tag, Collection<? extends OWLObject> objects) {
+            out.write(tag);
+            objects(objects);
+        }
+
+        void cardinality(int tag, OWLCardinalityRestriction<?> r) {
+            out.write(tag);
+            out.writeInt(r.getCardinality());
+            r.getProperty().accept(this);
+            r.getFiller().accept(this);
+        }
+
+        void annotations(OWLAxiom axiom) {
+            objects(axiom.getAnnotations());
+        }
+
+        // entities and other primitives
+        @Override
+        public void visit(OWLClass ce) {
+            entity(CLASS, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectProperty property) {
+            entity(OBJECT_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLDataProperty property) {
+            entity(DATA_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLAnnotationProperty property) {
+            entity(ANNOTATION_PROPERTY, property);
+        }
+
+        @Override
+        public void visit(OWLNamedIndividual individual) {
+            entity(NAMED_INDIVIDUAL, individual);
+        }
+
+        @Override
+        public void visit(OWLDatatype node) {
+            entity(DATATYPE, node);
+        }
+
+        @Override
+        public void visit(OWLAnonymousIndividual individual) {
+            out.write(ANONYMOUS_INDIVIDUAL);
+            string(individual.getID().getID());
+        }
+
+        @Override
+        public void visit(IRI iri) {
+            out.write(IRI_VALUE);
+            iri(iri);
+        }
+
+        @Override
+        public void visit(OWLLiteral node) {
+            if (node.hasLang()) {
+                out.write(LANG_LITERAL);
+                string(node.getLiteral());
+                string(node.getLang());
+            } else {
+                out.write(LITERAL);
+                string(node.getLiteral());
+                iri(node.getDatatype().getIRI());
+            }
+        }
+
+        @Override
+        public void visit(OWLAnnotation node) {
+            out.write(ANNOTATION);
+            node.getProperty().accept(this);
+            node.getValue().accept(this);
+            objects(node.getAnnotations());
+        }
+
+        @Override
+        public void visit(OWLObjectInverseOf property) {
+            unary(OBJECT_INVERSE_OF, property.getInverse());
+        }
+
+        @Override
+        public void visit(OWLFacetRestriction node) {
+            out.write(FACET_RESTRICTION);
+            iri(node.getFacet().getIRI());
+            node.getFacetValue().accept(this);
+        }
+
+        @Override
+        public void visit(OWLOntology ontology) {
+            throw new UnsupportedOperationException("Ontologies are written by render()");
+        }
+
+        // class expressions
+        @Override
+        public void visit(OWLObjectIntersectionOf ce) {
+            nary(OBJECT_INTERSECTION_OF, ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectUnionOf ce) {
+            nary(OBJECT_UNION_OF, ce.getOperands());
+        }
+
+        @Override
+        public void visit(OWLObjectComplementOf ce) {
+            unary(OBJECT_COMPLEMENT_OF, ce.getOperand());
+        }
+
+        @Override
+        public void visit(OWLObjectOneOf ce) {
+            nary(OBJECT_ONE_OF, ce.getIndividuals());
+        }
+
+        @Override
+        public void visit(OWLObjectSomeValuesFrom ce) {
+            binary(OBJECT_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectAllValuesFrom ce) {
+            binary(OBJECT_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasValue ce) {
+            binary(OBJECT_HAS_VALUE, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLObjectHasSelf ce) {
+            unary(OBJECT_HAS_SELF, ce.getProperty());
+        }
+
+        @Override
+        public void visit(OWLObjectMinCardinality ce) {
+            cardinality(OBJECT_MIN_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectExactCardinality ce) {
+            cardinality(OBJECT_EXACT_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLObjectMaxCardinality ce) {
+            cardinality(OBJECT_MAX_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataSomeValuesFrom ce) {
+            binary(DATA_SOME_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataAllValuesFrom ce) {
+            binary(DATA_ALL_VALUES_FROM, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataHasValue ce) {
+            binary(DATA_HAS_VALUE, ce.getProperty(), ce.getFiller());
+        }
+
+        @Override
+        public void visit(OWLDataMinCardinality ce) {
+            cardinality(DATA_MIN_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataExactCardinality ce) {
+            cardinality(DATA_EXACT_CARDINALITY, ce);
+        }
+
+        @Override
+        public void visit(OWLDataMaxCardinality ce) {
+            cardinality(DATA_MAX_CARDINALITY, ce);
+        }
+
+        // data ranges
+        @Override
+        public void visit(OWLDataIntersectionOf node) {
+            nary(DATA_INTERSECTION_OF, node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDataUnionOf node) {
+            nary(DATA_UNION_OF, node.getOperands());
+        }
+
+        @Override
+        public void visit(OWLDataComplementOf node) {
+            unary(DATA_COMPLEMENT_OF, node.getDataRange());
+        }
+
+        @Override
+        public void visit(OWLDataOneOf node) {
+            nary(DATA_ONE_OF, node.getValues());
+        }
+
+        @Override
+        public void visit(OWLDatatypeRestriction node) {
+            out.write(DATATYPE_RESTRICTION);
+            node.getDatatype().accept(this);
+            objects(node.getFacetRestrictions());
+        }
+
+        // SWRL
+        @Override
+        public void visit(SWRLClassAtom node) {
+            binary(SWRL_CLASS_ATOM, node.getPredicate(), node.getArgument());
+        }
+
+        @Override
+        public void visit(SWRLDataRangeAtom node) {
+            binary(SWRL_DATA_RANGE_ATOM, node.getPredicate(), node.getArgument());
+        }
+
+        @Override
+        public void visit(SWRLObjectPropertyAtom node) {
+            binary(SWRL_OBJECT_PROPERTY_ATOM, node.getPredicate(), node.getFirstArgument());
+            node.getSecondArgument().accept(this);
+        }
+
+        @Override
+        public void visit(SWRLDataPropertyAtom node) {
+            binary(SWRL_DATA_PROPERTY_ATOM, node.getPredicate(), node.getFirstArgument());
+            node.getSecondArgument().accept(this);
+        }
+
+        @Override
+        public void visit(SWRLBuiltInAtom node) {
+            out.write(SWRL_BUILT_IN_ATOM);
+            iri(node.getPredicate());
+            objects(node.getArguments());
+        }
+
+        @Override
+        public void visit(SWRLSameIndividualAtom node) {
+            binary(SWRL_SAME_INDIVIDUAL_ATOM, node.getFirstArgument(), node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLDifferentIndividualsAtom node) {
+            binary(SWRL_DIFFERENT_INDIVIDUALS_ATOM, node.getFirstArgument(), node.getSecondArgument());
+        }
+
+        @Override
+        public void visit(SWRLVariable node) {
+            out.write(SWRL_VARIABLE);
+            iri(node.getIRI());
+        }
+
+        @Override
+        public void visit(SWRLIndividualArgument node) {
+            unary(SWRL_INDIVIDUAL_ARGUMENT, node.getIndividual());
+        }
+
+        @Override
+        public void visit(SWRLLiteralArgument node) {
+            unary(SWRL_LITERAL_ARGUMENT, node.getLiteral());
+        }
+
+        // axioms
+        @Override
+        public void visit(OWLDeclarationAxiom axiom) {
+            unary(DECLARATION, axiom.getEntity());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubClassOfAxiom axiom) {
+            binary(SUB_CLASS_OF, axiom.getSubClass(), axiom.getSuperClass());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentClassesAxiom axiom) {
+            nary(EQUIVALENT_CLASSES, axiom.getClassExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointClassesAxiom axiom) {
+            nary(DISJOINT_CLASSES, axiom.getClassExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointUnionAxiom axiom) {
+            unary(DISJOINT_UNION, axiom.getOWLClass());
+            objects(axiom.getClassExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubObjectPropertyOfAxiom axiom) {
+            binary(SUB_OBJECT_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubPropertyChainOfAxiom axiom) {
+            nary(SUB_PROPERTY_CHAIN_OF, axiom.getPropertyChain());
+            axiom.getSuperProperty().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentObjectPropertiesAxiom axiom) {
+            nary(EQUIVALENT_OBJECT_PROPERTIES, axiom.getProperties());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointObjectPropertiesAxiom axiom) {
+            nary(DISJOINT_OBJECT_PROPERTIES, axiom.getProperties());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLInverseObjectPropertiesAxiom axiom) {
+            binary(INVERSE_OBJECT_PROPERTIES, axiom.getFirstProperty(), axiom.getSecondProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyDomainAxiom axiom) {
+            binary(OBJECT_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyRangeAxiom axiom) {
+            binary(OBJECT_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLFunctionalObjectPropertyAxiom axiom) {
+            unary(FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLInverseFunctionalObjectPropertyAxiom axiom) {
+            unary(INVERSE_FUNCTIONAL_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLReflexiveObjectPropertyAxiom axiom) {
+            unary(REFLEXIVE_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLIrreflexiveObjectPropertyAxiom axiom) {
+            unary(IRREFLEXIVE_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSymmetricObjectPropertyAxiom axiom) {
+            unary(SYMMETRIC_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLAsymmetricObjectPropertyAxiom axiom) {
+            unary(ASYMMETRIC_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLTransitiveObjectPropertyAxiom axiom) {
+            unary(TRANSITIVE_OBJECT_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubDataPropertyOfAxiom axiom) {
+            binary(SUB_DATA_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLEquivalentDataPropertiesAxiom axiom) {
+            nary(EQUIVALENT_DATA_PROPERTIES, axiom.getProperties());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDisjointDataPropertiesAxiom axiom) {
+            nary(DISJOINT_DATA_PROPERTIES, axiom.getProperties());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyDomainAxiom axiom) {
+            binary(DATA_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyRangeAxiom axiom) {
+            binary(DATA_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLFunctionalDataPropertyAxiom axiom) {
+            unary(FUNCTIONAL_DATA_PROPERTY, axiom.getProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDatatypeDefinitionAxiom axiom) {
+            binary(DATATYPE_DEFINITION, axiom.getDatatype(), axiom.getDataRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLHasKeyAxiom axiom) {
+            unary(HAS_KEY, axiom.getClassExpression());
+            objects(axiom.getPropertyExpressions());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSameIndividualAxiom axiom) {
+            nary(SAME_INDIVIDUAL, axiom.getIndividuals());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDifferentIndividualsAxiom axiom) {
+            nary(DIFFERENT_INDIVIDUALS, axiom.getIndividuals());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLClassAssertionAxiom axiom) {
+            binary(CLASS_ASSERTION, axiom.getClassExpression(), axiom.getIndividual());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLObjectPropertyAssertionAxiom axiom) {
+            binary(OBJECT_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject());
+            axiom.getObject().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLNegativeObjectPropertyAssertionAxiom axiom) {
+            binary(NEGATIVE_OBJECT_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject());
+            axiom.getObject().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLDataPropertyAssertionAxiom axiom) {
+            binary(DATA_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject());
+            axiom.getObject().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLNegativeDataPropertyAssertionAxiom axiom) {
+            binary(NEGATIVE_DATA_PROPERTY_ASSERTION, axiom.getProperty(), axiom.getSubject());
+            axiom.getObject().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationAssertionAxiom axiom) {
+            binary(ANNOTATION_ASSERTION, axiom.getProperty(), axiom.getSubject());
+            axiom.getValue().accept(this);
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLSubAnnotationPropertyOfAxiom axiom) {
+            binary(SUB_ANNOTATION_PROPERTY_OF, axiom.getSubProperty(), axiom.getSuperProperty());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyDomainAxiom axiom) {
+            binary(ANNOTATION_PROPERTY_DOMAIN, axiom.getProperty(), axiom.getDomain());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(OWLAnnotationPropertyRangeAxiom axiom) {
+            binary(ANNOTATION_PROPERTY_RANGE, axiom.getProperty(), axiom.getRange());
+            annotations(axiom);
+        }
+
+        @Override
+        public void visit(SWRLRule rule) {
+            nary(SWRL_RULE, rule.getBody());
+            objects(rule.getHead());
+            annotations(rule);
+        }
+    }
+}
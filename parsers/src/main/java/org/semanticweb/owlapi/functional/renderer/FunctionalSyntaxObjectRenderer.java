@@ -12,6 +12,7 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.functional.renderer;
 
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SORTING_THREADS;
 import static org.semanticweb.owlapi.model.parameters.Imports.*;
 import static org.semanticweb.owlapi.util.CollectionFactory.sortOptionally;
 import static org.semanticweb.owlapi.vocab.OWLRDFVocabulary.RDFS_LABEL;
@@ -19,6 +20,8 @@ import static org.semanticweb.owlapi.vocab.OWLXMLVocabulary.*;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,9 +29,16 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
 import org.semanticweb.owlapi.model.*;
@@ -58,6 +68,9 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private boolean writeEntitiesAsURIs = true;
     private OWLObject focusedObject;
     private boolean addMissingDeclarations = true;
+    private int sortingThreads;
+    /** Entities sorted ahead of the one being rendered, for each thread. */
+    private static final int LOOKAHEAD_PER_THREAD = 64;
     protected AnnotationValueShortFormProvider labelMaker = null;
 
     /**
@@ -75,6 +88,7 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         if (ontologyFormat != null) {
             addMissingDeclarations = ontologyFormat.isAddMissingTypes();
         }
+        sortingThreads = SORTING_THREADS.getValue(Integer.class, ontologyFormat).intValue();
         if (ontologyFormat instanceof PrefixDocumentFormat) {
             prefixManager.copyPrefixesFrom((PrefixDocumentFormat) ontologyFormat);
             prefixManager.setPrefixComparator(((PrefixDocumentFormat) ontologyFormat).getPrefixComparator());
@@ -109,6 +123,18 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         addMissingDeclarations = flag;
     }
 
+    /**
+     * Sets the number of threads used to sort the axioms of the entities ahead
+     * of the one being rendered. The output does not depend on this setting.
+     * 
+     * @param threads
+     *        number of threads; values lower than 2 mean that axioms are
+     *        sorted on the rendering thread
+     */
+    public void setSortingThreads(int threads) {
+        sortingThreads = threads;
+    }
+
     /**
      * @param prefixManager
      *        the new prefix manager
@@ -215,18 +241,22 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         Set<OWLAxiom> writtenAxioms = new HashSet<>();
         Collection<IRI> illegals = OWLDocumentFormatImpl.determineIllegalPunnings(addMissingDeclarations, ontology
             .getSignature(), ont.getPunnedIRIs(INCLUDED));
-        for (OWLEntity ent : sortOptionally(ontology.getSignature())) {
+        List<OWLEntity> sortedSignature = sortOptionally(ontology.getSignature());
+        for (OWLEntity ent : sortedSignature) {
             writeDeclarations(ent, writtenAxioms, illegals);
         }
         // writeEntities(sortedSignature, writtenAxioms);
-        writeSortedEntities("Annotation Properties", "Annotation Property", ontology.getAnnotationPropertiesInSignature(
-            EXCLUDED), writtenAxioms);
-        writeSortedEntities("Object Properties", "Object Property", ontology.getObjectPropertiesInSignature(),
+        writeSortedEntities("Annotation Properties", "Annotation Property", sortedSignature, ontology
+            .getAnnotationPropertiesInSignature(EXCLUDED), writtenAxioms);
+        writeSortedEntities("Object Properties", "Object Property", sortedSignature, ontology
+            .getObjectPropertiesInSignature(), writtenAxioms);
+        writeSortedEntities("Data Properties", "Data Property", sortedSignature, ontology
+            .getDataPropertiesInSignature(), writtenAxioms);
+        writeSortedEntities("Datatypes", "Datatype", sortedSignature, ontology.getDatatypesInSignature(),
+            writtenAxioms);
+        writeSortedEntities("Classes", "Class", sortedSignature, ontology.getClassesInSignature(), writtenAxioms);
+        writeSortedEntities("Named Individuals", "Individual", sortedSignature, ontology.getIndividualsInSignature(),
             writtenAxioms);
-        writeSortedEntities("Data Properties", "Data Property", ontology.getDataPropertiesInSignature(), writtenAxioms);
-        writeSortedEntities("Datatypes", "Datatype", ontology.getDatatypesInSignature(), writtenAxioms);
-        writeSortedEntities("Classes", "Class", ontology.getClassesInSignature(), writtenAxioms);
-        writeSortedEntities("Named Individuals", "Individual", ontology.getIndividualsInSignature(), writtenAxioms);
         Set<OWLAxiom> otherAxioms = ontology.getAxioms();
         otherAxioms.removeAll(writtenAxioms);
         for (OWLAxiom ax : sortOptionally(otherAxioms)) {
@@ -237,10 +267,20 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
         flush();
     }
 
-    private void writeSortedEntities(String bannerComment, String entityTypeName, Set<? extends OWLEntity> entities,
-        Set<OWLAxiom> writtenAxioms) {
+    private void writeSortedEntities(String bannerComment, String entityTypeName, List<OWLEntity> sortedSignature,
+        Set<? extends OWLEntity> entities, Set<OWLAxiom> writtenAxioms) {
         if (entities.size() > 0) {
-            writeEntities(bannerComment, entityTypeName, sortOptionally(entities), writtenAxioms);
+            // the signature is already sorted, no need to sort each subset
+            List<OWLEntity> sorted = new ArrayList<>(entities.size());
+            for (OWLEntity e : sortedSignature) {
+                if (entities.contains(e)) {
+                    sorted.add(e);
+                }
+            }
+            if (sorted.size() < entities.size()) {
+                sorted = new ArrayList<OWLEntity>(sortOptionally(entities));
+            }
+            writeEntities(bannerComment, entityTypeName, sorted, writtenAxioms);
             writeln();
         }
     }
@@ -257,35 +297,123 @@ public class FunctionalSyntaxObjectRenderer implements OWLObjectVisitor {
     private void writeEntities(String comment, String entityTypeName, List<? extends OWLEntity> entities,
         @Nonnull Set<OWLAxiom> writtenAxioms) {
         boolean haveWrittenBanner = false;
-        for (OWLEntity owlEntity : entities) {
-            Set<? extends OWLAxiom> axiomsForEntity = getUnsortedAxiomsForEntity(owlEntity);
-            for (Iterator<? extends OWLAxiom> iterator = axiomsForEntity.iterator(); iterator.hasNext();) {
-                OWLAxiom axiom = iterator.next();
-                if (writtenAxioms.contains(axiom)) {
-                    iterator.remove();
+        EntityAxiomsSorter sorter = new EntityAxiomsSorter(entities);
+        try {
+            for (OWLEntity owlEntity : entities) {
+                SortedEntityAxioms sorted = sorter.next();
+                // sorting and then removing the written axioms gives the same
+                // order as removing them first, and allows sorting ahead
+                List<OWLAxiom> axiomsForEntity = notWritten(sorted.axioms, writtenAxioms);
+                List<OWLAnnotationAssertionAxiom> annotationAssertionAxioms = notWritten(sorted.annotations,
+                    writtenAxioms);
+                if (axiomsForEntity.isEmpty() && annotationAssertionAxioms.isEmpty()) {
+                    continue;
                 }
-            }
-            Set<OWLAnnotationAssertionAxiom> annotationAssertionAxioms = ont.getAnnotationAssertionAxioms(owlEntity
-                .getIRI());
-            for (Iterator<OWLAnnotationAssertionAxiom> iterator = annotationAssertionAxioms.iterator(); iterator
-                .hasNext();) {
-                OWLAnnotationAssertionAxiom axiom = iterator.next();
-                if (writtenAxioms.contains(axiom)) {
-                    iterator.remove();
+                if (!haveWrittenBanner) {
+                    writeln("############################");
+                    writeln("#   " + comment);
+                    writeln("############################");
+                    writeln();
+                    haveWrittenBanner = true;
                 }
+                writeEntity2(owlEntity, entityTypeName, axiomsForEntity, annotationAssertionAxioms, writtenAxioms);
             }
-            if (axiomsForEntity.size() == 0 && annotationAssertionAxioms.size() == 0) {
-                continue;
+        } finally {
+            sorter.shutdown();
+        }
+    }
+
+    @Nonnull
+    private static <T extends OWLAxiom> List<T> notWritten(List<? extends T> axioms, Set<OWLAxiom> writtenAxioms) {
+        List<T> toReturn = new ArrayList<>(axioms.size());
+        for (T ax : axioms) {
+            if (!writtenAxioms.contains(ax)) {
+                toReturn.add(ax);
+            }
+        }
+        return toReturn;
+    }
+
+    /** Axioms and annotation assertions for an entity, in rendering order. */
+    private static class SortedEntityAxioms {
+
+        final List<? extends OWLAxiom> axioms;
+        final List<OWLAnnotationAssertionAxiom> annotations;
+
+        SortedEntityAxioms(List<? extends OWLAxiom> axioms, List<OWLAnnotationAssertionAxiom> annotations) {
+            this.axioms = axioms;
+            this.annotations = annotations;
+        }
+    }
+
+    /**
+     * Sorts the axioms of a list of entities, in order. With more than one
+     * sorting thread, the axioms of the next few entities are sorted while the
+     * current one is rendered; the window is bounded, so that memory use does
+     * not grow with the ontology. Only sorting happens on the other threads;
+     * the ontology is only accessed from the rendering thread.
+     */
+    private class EntityAxiomsSorter {
+
+        private final List<? extends OWLEntity> entities;
+        @Nullable private final ExecutorService executor;
+        private final Queue<Future<SortedEntityAxioms>> window = new ArrayDeque<>();
+        private final int windowSize;
+        private int submitted;
+
+        EntityAxiomsSorter(List<? extends OWLEntity> entities) {
+            this.entities = entities;
+            windowSize = sortingThreads * LOOKAHEAD_PER_THREAD;
+            if (sortingThreads > 1 && entities.size() > windowSize) {
+                executor = Executors.newFixedThreadPool(sortingThreads);
+            } else {
+                executor = null;
+            }
+        }
+
+        @Nonnull
+        SortedEntityAxioms next() {
+            if (executor == null) {
+                return sort(entities.get(submitted++)).call();
+            }
+            while (submitted < entities.size() && window.size() < windowSize) {
+                window.add(executor.submit(sort(entities.get(submitted++))));
+            }
+            try {
+                return window.remove().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OWLRuntimeException(e);
+            } catch (ExecutionException e) {
+                throw new OWLRuntimeException(e.getCause());
             }
-            if (!haveWrittenBanner) {
-                writeln("############################");
-                writeln("#   " + comment);
-                writeln("############################");
-                writeln();
-                haveWrittenBanner = true;
+        }
+
+        private SortTask sort(OWLEntity entity) {
+            return new SortTask(getUnsortedAxiomsForEntity(entity), ont.getAnnotationAssertionAxioms(entity
+                .getIRI()));
+        }
+
+        void shutdown() {
+            if (executor != null) {
+                executor.shutdownNow();
             }
-            writeEntity2(owlEntity, entityTypeName, sortAxioms(axiomsForEntity), sortOptionally(
-                annotationAssertionAxioms), writtenAxioms);
+        }
+    }
+
+    private class SortTask implements Callable<SortedEntityAxioms> {
+
+        private final Set<? extends OWLAxiom> axioms;
+        private final Set<OWLAnnotationAssertionAxiom> annotations;
+
+        SortTask(Set<? extends OWLAxiom> axioms, Set<OWLAnnotationAssertionAxiom> annotations) {
+            this.axioms = axioms;
+            this.annotations = annotations;
+        }
+
+        @Override
+        public SortedEntityAxioms call() {
+            return new SortedEntityAxioms(sortAxioms(axioms), sortOptionally(annotations));
         }
     }
 
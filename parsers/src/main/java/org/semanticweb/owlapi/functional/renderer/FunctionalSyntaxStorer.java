@@ -12,6 +12,8 @@
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
 package org.semanticweb.owlapi.functional.renderer;
 
+import static org.semanticweb.owlapi.model.parameters.ConfigurationOptions.SORTING_THREADS;
+
 import java.io.IOException;
 import java.io.Writer;
 
@@ -42,7 +44,9 @@ public class FunctionalSyntaxStorer extends AbstractOWLStorer {
             @Nonnull Writer writer, OWLDocumentFormat format)
             throws OWLOntologyStorageException {
         try {
-            ontology.accept(new FunctionalSyntaxObjectRenderer(ontology, writer));
+            FunctionalSyntaxObjectRenderer renderer = new FunctionalSyntaxObjectRenderer(ontology, writer);
+            renderer.setSortingThreads(SORTING_THREADS.getValue(Integer.class, format).intValue());
+            ontology.accept(renderer);
             writer.flush();
         } catch (IOException e) {
             throw new OWLOntologyStorageException(e);
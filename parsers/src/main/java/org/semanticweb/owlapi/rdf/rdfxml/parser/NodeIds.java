@@ -0,0 +1,132 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * Dense int ids for the nodes of the graph being parsed. Ids are assigned in
+ * order of first use, starting from zero, so that sets of nodes can be kept as
+ * bitsets and triples as arrays of ints.
+ *
+ * @author ignazio
+ * @since 4.2.9
+ */
+final class NodeIds {
+
+    /** Nodes by id. */
+    private IRI[] nodes = new IRI[1024];
+    /** Open addressing table; a slot holds id + 1, or 0 if free. */
+    private int[] slots = new int[2048];
+    private int size = 0;
+
+    /**
+     * @param iri
+     *        node
+     * @return id of the node; a new id is assigned if the node has none yet
+     */
+    int id(@Nonnull IRI iri) {
+        int mask = slots.length - 1;
+        int i = mix(iri.hashCode()) & mask;
+        while (slots[i] != 0) {
+            int id = slots[i] - 1;
+            if (nodes[id].equals(iri)) {
+                return id;
+            }
+            i = i + 1 & mask;
+        }
+        int id = size++;
+        if (id == nodes.length) {
+            nodes = Arrays.copyOf(nodes, id * 2);
+        }
+        nodes[id] = iri;
+        slots[i] = id + 1;
+        // keep the table at most half full
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * @param iri
+     *        node
+     * @return the instance with the same id as the node, so that equal IRIs
+     *         are shared; a new id is assigned if the node has none yet
+     */
+    @Nonnull
+    IRI canonical(@Nonnull IRI iri) {
+        return get(id(iri));
+    }
+
+    /**
+     * @param o
+     *        node
+     * @return id of the node, or -1 if the node has no id; no id is assigned
+     */
+    int find(Object o) {
+        if (!(o instanceof IRI)) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        int i = mix(o.hashCode()) & mask;
+        while (slots[i] != 0) {
+            int id = slots[i] - 1;
+            if (nodes[id].equals(o)) {
+                return id;
+            }
+            i = i + 1 & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @param id
+     *        id
+     * @return the node with the id
+     */
+    @Nonnull
+    IRI get(int id) {
+        IRI iri = nodes[id];
+        assert iri != null;
+        return iri;
+    }
+
+    /** @return number of ids assigned */
+    int size() {
+        return size;
+    }
+
+    private void rehash() {
+        int[] newSlots = new int[slots.length * 2];
+        int mask = newSlots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int i = mix(nodes[id].hashCode()) & mask;
+            while (newSlots[i] != 0) {
+                i = i + 1 & mask;
+            }
+            newSlots[i] = id + 1;
+        }
+        slots = newSlots;
+    }
+
+    /** Spreads the hash code, since IRIs sharing a namespace hash closely. */
+    private static int mix(int h) {
+        int x = h * 0x9E3779B9;
+        return x ^ x >>> 16;
+    }
+}
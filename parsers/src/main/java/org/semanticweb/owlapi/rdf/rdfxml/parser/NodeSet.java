@@ -0,0 +1,117 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nonnull;
+
+import org.semanticweb.owlapi.model.IRI;
+
+/**
+ * A set of nodes kept as a bitset over their ids. Iteration follows the order
+ * in which the nodes were first seen by the parser.
+ *
+ * @author ignazio
+ * @since 4.2.9
+ */
+final class NodeSet extends AbstractSet<IRI> {
+
+    @Nonnull private final NodeIds ids;
+    private final BitSet bits = new BitSet();
+    private int size = 0;
+
+    /**
+     * @param ids
+     *        ids of the nodes
+     */
+    NodeSet(@Nonnull NodeIds ids) {
+        this.ids = ids;
+    }
+
+    @Override
+    public boolean add(IRI e) {
+        int id = ids.id(e);
+        if (bits.get(id)) {
+            return false;
+        }
+        bits.set(id);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        int id = ids.find(o);
+        return id > -1 && bits.get(id);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int id = ids.find(o);
+        if (id < 0 || !bits.get(id)) {
+            return false;
+        }
+        bits.clear(id);
+        size--;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        bits.clear();
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<IRI> iterator() {
+        return new Iterator<IRI>() {
+
+            private int next = bits.nextSetBit(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next > -1;
+            }
+
+            @Override
+            public IRI next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = bits.nextSetBit(next + 1);
+                return ids.get(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                bits.clear(last);
+                size--;
+                last = -1;
+            }
+        };
+    }
+}
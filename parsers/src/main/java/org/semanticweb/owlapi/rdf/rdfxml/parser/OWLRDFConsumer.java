@@ -86,6 +86,8 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     @Nonnull private final OWLOntologyLoaderConfiguration configuration;
     /** The owl ontology manager. */
     private final OWLOntologyManager owlOntologyManager;
+    /** Ids of the nodes in the IRI registries and in the pending triples. */
+    private final NodeIds nodeIds = new NodeIds();
     // The set of IRIs that are either explicitly typed
     // an an owl:Class, or are inferred to be an owl:Class
     // because they are used in some triple whose predicate
@@ -122,7 +124,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     /** The list first literal triple map. */
     private final Map<IRI, OWLLiteral> listFirstLiteralTripleMap;
     /** The axioms. */
-    private final Set<IRI> axioms = new HashSet<>();
+    private final Set<IRI> axioms = new NodeSet(nodeIds);
     /** The shared anonymous nodes. */
     private final Map<IRI, Object> sharedAnonymousNodes = new HashMap<>();
     /** The pending annotations. */
@@ -178,6 +180,15 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     private final AnonymousNodeChecker nodeCheckerDelegate;
     @Nonnull private final ArrayListMultimap<IRI, Class<?>> guessedDeclarations = ArrayListMultimap.create();
     RemappingIndividualProvider anonProvider;
+    /**
+     * True if the triples left for a subject are translated as soon as the
+     * input moves on to another subject.
+     */
+    private final boolean streaming;
+    /** Subject of the last triple parsed, in streaming mode. */
+    @Nullable private IRI lastSubject;
+    /** Number of triples translated before the end of the input. */
+    private int earlyTriples = 0;
 
     /**
      * Instantiates a new oWLRDF consumer.
@@ -209,21 +220,26 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
         dataFactory = owlOntologyManager.getOWLDataFactory();
         anonProvider = new RemappingIndividualProvider(dataFactory);
         this.configuration = configuration;
+        streaming = configuration.isStreamingRDF();
+        // in streaming mode, IRIs are shared through the node ids, which keep
+        // every node until the end of parsing anyway; a string cache would
+        // keep a second copy of every IRI string
+        IRIMap = streaming ? null : CollectionFactory.<String, IRI> createMap();
         handlerAccessor = new HandlerAccessor(this);
         translatorAccessor = new TranslatorAccessor(this);
-        classExpressionIRIs = CollectionFactory.createSet();
-        objectPropertyExpressionIRIs = CollectionFactory.createSet();
-        dataPropertyExpressionIRIs = CollectionFactory.createSet();
-        individualIRIs = CollectionFactory.createSet();
-        annotationPropertyIRIs = CollectionFactory.createSet();
+        classExpressionIRIs = new NodeSet(nodeIds);
+        objectPropertyExpressionIRIs = new NodeSet(nodeIds);
+        dataPropertyExpressionIRIs = new NodeSet(nodeIds);
+        individualIRIs = new NodeSet(nodeIds);
+        annotationPropertyIRIs = new NodeSet(nodeIds);
         for (IRI iri : BUILT_IN_ANNOTATION_PROPERTY_IRIS) {
             annotationPropertyIRIs.add(iri);
         }
-        annotationIRIs = new HashSet<>();
-        dataRangeIRIs = CollectionFactory.createSet();
-        propertyIRIs = CollectionFactory.createSet();
-        restrictionIRIs = CollectionFactory.createSet();
-        ontologyIRIs = CollectionFactory.createSet();
+        annotationIRIs = new NodeSet(nodeIds);
+        dataRangeIRIs = new NodeSet(nodeIds);
+        propertyIRIs = new NodeSet(nodeIds);
+        restrictionIRIs = new NodeSet(nodeIds);
+        ontologyIRIs = new NodeSet(nodeIds);
         listFirstLiteralTripleMap = CollectionFactory.createMap();
         listFirstResourceTripleMap = CollectionFactory.createMap();
         listRestTripleMap = CollectionFactory.createMap();
@@ -236,15 +252,15 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
                 dataRangeIRIs.add(vocabulary.getIRI());
             }
         }
-        swrlRules = new HashSet<>();
-        swrlIndividualPropertyAtoms = new HashSet<>();
-        swrlDataValuedPropertyAtoms = new HashSet<>();
-        swrlClassAtoms = new HashSet<>();
-        swrlDataRangeAtoms = new HashSet<>();
-        swrlBuiltInAtoms = new HashSet<>();
-        swrlVariables = new HashSet<>();
-        swrlSameAsAtoms = new HashSet<>();
-        swrlDifferentFromAtoms = new HashSet<>();
+        swrlRules = new NodeSet(nodeIds);
+        swrlIndividualPropertyAtoms = new NodeSet(nodeIds);
+        swrlDataValuedPropertyAtoms = new NodeSet(nodeIds);
+        swrlClassAtoms = new NodeSet(nodeIds);
+        swrlDataRangeAtoms = new NodeSet(nodeIds);
+        swrlBuiltInAtoms = new NodeSet(nodeIds);
+        swrlVariables = new NodeSet(nodeIds);
+        swrlSameAsAtoms = new NodeSet(nodeIds);
+        swrlDifferentFromAtoms = new NodeSet(nodeIds);
         classExpressionIRIs.add(OWLRDFVocabulary.OWL_THING.getIRI());
         classExpressionIRIs.add(OWLRDFVocabulary.OWL_NOTHING.getIRI());
         objectPropertyExpressionIRIs.add(OWLRDFVocabulary.OWL_TOP_OBJECT_PROPERTY.getIRI());
@@ -279,8 +295,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     }
 
     private void addSingleValuedResPredicate(OWLRDFVocabulary v) {
-        Map<IRI, IRI> map = CollectionFactory.createMap();
-        singleValuedResTriplesByPredicate.put(v.getIRI(), map);
+        triples.addSingleValuedPredicate(v.getIRI());
     }
 
     private void setupSinglePredicateMaps() {
@@ -446,8 +461,10 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
         return dataFactory;
     }
 
-    // We cache IRIs to save memory!!
-    private final Map<String, IRI> IRIMap = CollectionFactory.createMap();
+    // We cache IRIs to save memory!! Null in streaming mode, where the node
+    // ids are used instead.
+    @Nullable
+    private final Map<String, IRI> IRIMap;
 
     /**
      * Gets any annotations that were translated since the last call of this
@@ -493,6 +510,9 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
         if (iri != null) {
             return iri;
         }
+        if (IRIMap == null) {
+            return nodeIds.canonical(IRI.create(s));
+        }
         iri = IRIMap.get(s);
         if (iri == null) {
             iri = IRI.create(s);
@@ -1313,40 +1333,21 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     protected void dumpRemainingTriples() {
         // if info logging is disabled or all collections are empty, do not
         // output anything
-        if (LOGGER.isInfoEnabled() && singleValuedResTriplesByPredicate.size() + singleValuedLitTriplesByPredicate
-            .size() + resTriplesBySubject.size() + litTriplesBySubject.size() > 0) {
-            for (IRI predicate : singleValuedResTriplesByPredicate.keySet()) {
-                Map<IRI, IRI> map = singleValuedResTriplesByPredicate.get(predicate);
-                for (IRI subject : map.keySet()) {
-                    IRI object = map.get(subject);
+        if (LOGGER.isInfoEnabled() && triples.size() > 0) {
+            triples.iterateResources(new ResourceTripleIterator() {
+
+                @Override
+                public void handleResourceTriple(IRI subject, IRI predicate, IRI object) {
                     printTriple(subject, predicate, object);
                 }
-            }
-            for (IRI predicate : singleValuedLitTriplesByPredicate.keySet()) {
-                Map<IRI, OWLLiteral> map = singleValuedLitTriplesByPredicate.get(predicate);
-                for (IRI subject : map.keySet()) {
-                    OWLLiteral object = map.get(subject);
+            }, true);
+            triples.iterateLiterals(new LiteralTripleIterator() {
+
+                @Override
+                public void handleLiteralTriple(IRI subject, IRI predicate, OWLLiteral object) {
                     printTriple(subject, predicate, object);
                 }
-            }
-            for (IRI subject : new ArrayList<>(resTriplesBySubject.keySet())) {
-                Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-                for (IRI predicate : new ArrayList<>(map.keySet())) {
-                    Collection<IRI> objects = map.get(predicate);
-                    for (IRI object : objects) {
-                        printTriple(subject, predicate, object);
-                    }
-                }
-            }
-            for (IRI subject : new ArrayList<>(litTriplesBySubject.keySet())) {
-                Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-                for (IRI predicate : new ArrayList<>(map.keySet())) {
-                    Collection<OWLLiteral> objects = map.get(predicate);
-                    for (OWLLiteral object : objects) {
-                        printTriple(subject, predicate, object);
-                    }
-                }
-            }
+            });
         }
     }
 
@@ -1365,9 +1366,15 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     @Override
     public void endModel() {
         parsedAllTriples = true;
+        if (streaming) {
+            LOGGER.debug("Triples translated before the end of the input: {}, left for the end: {}", Integer.valueOf(
+                earlyTriples), Integer.valueOf(triples.size()));
+        }
         // We are now left with triples that could not be consumed during
         // streaming parsing
-        IRIMap.clear();
+        if (IRIMap != null) {
+            IRIMap.clear();
+        }
         tripleLogger.logNumberOfTriples();
         translatorAccessor.consumeSWRLRules(swrlRules);
         Set<RDFTriple> remainingTriples = handlerAccessor.mopUp();
@@ -1483,11 +1490,9 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
         listRestTripleMap.clear();
         // XXX clean new members
         translatorAccessor.cleanup();
-        resTriplesBySubject.clear();
-        litTriplesBySubject.clear();
-        singleValuedLitTriplesByPredicate.clear();
-        singleValuedResTriplesByPredicate.clear();
+        triples.clear();
         guessedDeclarations.clear();
+        lastSubject = null;
     }
 
     @Override
@@ -1523,6 +1528,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
         @Nullable String language, @Nullable String datatype) {
         tripleLogger.logTriple(subject, predicate, object, language, datatype);
         IRI subjectIRI = getIRI(remapOnlyIfRemapped(subject));
+        startSubject(subjectIRI);
         IRI predicateIRI = getIRI(predicate);
         predicateIRI = getSynonym(predicateIRI);
         handlerAccessor.handleStreaming(subjectIRI, predicateIRI, object, getIRINullable(datatype), language);
@@ -1532,6 +1538,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     public void statementWithLiteralValue(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull String object,
         String language, IRI datatype) {
         tripleLogger.logTriple(subject, predicate, object, language, datatype);
+        startSubject(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), object, datatype, language);
     }
 
@@ -1539,6 +1546,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     public void statementWithResourceValue(@Nonnull String subject, @Nonnull String predicate, @Nonnull String object) {
         tripleLogger.logTriple(subject, predicate, object);
         IRI subjectIRI = getIRI(subject);
+        startSubject(subjectIRI);
         IRI predicateIRI = getIRI(predicate);
         predicateIRI = getSynonym(predicateIRI);
         IRI objectIRI = getSynonym(getIRI(object));
@@ -1548,9 +1556,74 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     @Override
     public void statementWithResourceValue(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull IRI object) {
         tripleLogger.logTriple(subject, predicate, object);
+        startSubject(subject);
         handlerAccessor.handleStreaming(subject, getSynonym(predicate), getSynonym(object));
     }
 
+    /**
+     * In streaming mode, translates what is left of the previous subject when
+     * the input moves on to a new one.
+     * 
+     * @param subject
+     *        subject of the triple being parsed
+     */
+    private void startSubject(@Nonnull IRI subject) {
+        if (!streaming || subject.equals(lastSubject)) {
+            return;
+        }
+        IRI previous = lastSubject;
+        lastSubject = subject;
+        if (previous != null) {
+            translateCompletedSubject(previous);
+        }
+    }
+
+    /**
+     * Translates the object and data property assertions left for a named
+     * subject. Only properties already declared as one kind of property are
+     * translated; everything else, including blank nodes and reified axioms,
+     * is still left for the end. If the subject appears again later, its new
+     * triples are handled in the same way. The translation only uses the
+     * declarations and types seen so far: a property declared as another kind
+     * later, or a subject typed as owl:Axiom or owl:Annotation later, can give
+     * a different ontology than keeping the triples until the end. Streaming
+     * therefore expects the declarations before the data.
+     * 
+     * @param subject
+     *        the subject
+     */
+    private void translateCompletedSubject(@Nonnull IRI subject) {
+        if (isAnonymousNode(subject) || isAxiom(subject) || isAnnotation(subject)) {
+            return;
+        }
+        triples.iterateResources(subject, new ResourceTripleIterator() {
+
+            @Override
+            public void handleResourceTriple(IRI s, IRI predicate, IRI object) {
+                if (isGeneralPredicate(predicate) && isObjectProperty(predicate) && !isDataProperty(predicate)
+                    && !isAnnotationProperty(predicate) && !isAnonymousNode(object)) {
+                    handlerAccessor.apply(s, predicate, object);
+                    if (!isTriplePresent(s, predicate, object, false)) {
+                        earlyTriples++;
+                    }
+                }
+            }
+        });
+        triples.iterateLiterals(subject, new LiteralTripleIterator() {
+
+            @Override
+            public void handleLiteralTriple(IRI s, IRI predicate, OWLLiteral object) {
+                if (isGeneralPredicate(predicate) && isDataProperty(predicate) && !isObjectProperty(predicate)
+                    && !isAnnotationProperty(predicate)) {
+                    handlerAccessor.apply(s, predicate, object);
+                    if (!isTriplePresent(s, predicate, object, false)) {
+                        earlyTriples++;
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * A convenience method to obtain an {@code OWLLiteral}.
      * 
@@ -1884,16 +1957,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return the predicates by subject
      */
     protected Set<IRI> getPredicatesBySubject(IRI subject) {
-        Set<IRI> iris = new HashSet<>();
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            iris.addAll(predObjMap.keySet());
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMapLit = litTriplesBySubject.get(subject);
-        if (predObjMapLit != null) {
-            iris.addAll(predObjMapLit.keySet());
-        }
-        return iris;
+        return triples.getPredicates(subject);
     }
 
     /**
@@ -1923,32 +1987,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return the resource object
      */
     protected IRI getResourceObject(IRI subject, IRI predicate, boolean consume) {
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj;
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                IRI object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                // if (objects.isEmpty()) {
-                // predObjMap.remove(predicate);
-                // if (predObjMap.isEmpty()) {
-                // resTriplesBySubject.remove(subject);
-                // }
-                // }
-                return object;
-            }
-        }
-        return null;
+        return triples.getResource(subject, predicate, consume);
     }
 
     /**
@@ -1961,22 +2000,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return the resource objects
      */
     protected Set<IRI> getResourceObjects(IRI subject, IRI predicate) {
-        Set<IRI> result = new HashSet<>();
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (obj != null) {
-                result.add(obj);
-            }
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
-        return result;
+        return triples.getResources(subject, predicate);
     }
 
     /**
@@ -2006,29 +2030,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return the literal object
      */
     protected OWLLiteral getLiteralObject(IRI subject, IRI predicate, boolean consume) {
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj;
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null && !objects.isEmpty()) {
-                OWLLiteral object = objects.iterator().next();
-                if (consume) {
-                    objects.remove(object);
-                }
-                if (objects.isEmpty()) {
-                    predObjMap.remove(predicate);
-                }
-                return object;
-            }
-        }
-        return null;
+        return triples.getLiteral(subject, predicate, consume);
     }
 
     /**
@@ -2041,22 +2043,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return the literal objects
      */
     protected Set<OWLLiteral> getLiteralObjects(IRI subject, IRI predicate) {
-        Set<OWLLiteral> result = new HashSet<>();
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (obj != null) {
-                result.add(obj);
-            }
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                result.addAll(objects);
-            }
-        }
-        return result;
+        return triples.getLiterals(subject, predicate);
     }
 
     /**
@@ -2073,35 +2060,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return true, if is triple present
      */
     protected boolean isTriplePresent(IRI subject, IRI predicate, IRI object, boolean consume) {
-        Map<IRI, IRI> subjPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            IRI obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj != null;
-        }
-        Map<IRI, Collection<IRI>> predObjMap = resTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<IRI> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (objects.contains(object)) {
-                    if (consume) {
-                        objects.remove(object);
-                        // if (objects.isEmpty()) {
-                        // predObjMap.remove(predicate);
-                        // if (predObjMap.isEmpty()) {
-                        // resTriplesBySubject.remove(subject);
-                        // }
-                        // }
-                    }
-                    return true;
-                }
-                return false;
-            }
-        }
-        return false;// searchGeneralResourceTriples(subject, predicate, object,
-                     // consume) != null;
+        return triples.contains(subject, predicate, object, consume);
     }
 
     /**
@@ -2130,34 +2089,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return true, if is triple present
      */
     protected boolean isTriplePresent(IRI subject, IRI predicate, OWLLiteral object, boolean consume) {
-        Map<IRI, OWLLiteral> subjPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjPredMap != null) {
-            OWLLiteral obj = subjPredMap.get(subject);
-            if (consume) {
-                subjPredMap.remove(subject);
-            }
-            return obj != null;
-        }
-        Map<IRI, Collection<OWLLiteral>> predObjMap = litTriplesBySubject.get(subject);
-        if (predObjMap != null) {
-            Collection<OWLLiteral> objects = predObjMap.get(predicate);
-            if (objects != null) {
-                if (objects.contains(object)) {
-                    if (consume) {
-                        objects.remove(object);
-                        if (objects.isEmpty()) {
-                            predObjMap.remove(predicate);
-                            if (predObjMap.isEmpty()) {
-                                litTriplesBySubject.remove(subject);
-                            }
-                        }
-                    }
-                    return true;
-                }
-                return false;
-            }
-        }
-        return false;
+        return triples.contains(subject, predicate, object, consume);
     }
 
     /**
@@ -2170,26 +2102,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      * @return true, if successful
      */
     protected boolean hasPredicate(IRI subject, IRI predicate) {
-        Map<IRI, IRI> resPredMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (resPredMap != null) {
-            return resPredMap.containsKey(subject);
-        }
-        Map<IRI, OWLLiteral> litPredMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (litPredMap != null) {
-            return litPredMap.containsKey(subject);
-        }
-        Map<IRI, Collection<IRI>> resPredObjMap = resTriplesBySubject.get(subject);
-        if (resPredObjMap != null) {
-            boolean b = resPredObjMap.containsKey(predicate);
-            if (b) {
-                return true;
-            }
-        }
-        Map<IRI, Collection<OWLLiteral>> litPredObjMap = litTriplesBySubject.get(subject);
-        if (litPredObjMap != null) {
-            return litPredObjMap.containsKey(predicate);
-        }
-        return false;
+        return triples.hasPredicate(subject, predicate);
     }
 
     /**
@@ -2341,24 +2254,7 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      *        the iterator
      */
     protected void iterateResourceTriples(ResourceTripleIterator iterator) {
-        for (IRI subject : resTriplesBySubject.keySet()) {
-            Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-            if (map == null) {
-                continue;
-            }
-            for (IRI predicate : map.keySet()) {
-                Collection<IRI> objects = map.get(predicate);
-                if (objects == null) {
-                    continue;
-                }
-                for (IRI object : objects.toArray(new IRI[objects.size()])) {
-                    assert subject != null;
-                    assert predicate != null;
-                    assert object != null;
-                    iterator.handleResourceTriple(subject, predicate, object);
-                }
-            }
-        }
+        triples.iterateResources(iterator, false);
     }
 
     /**
@@ -2368,39 +2264,18 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
      *        the iterator
      */
     protected void iterateLiteralTriples(LiteralTripleIterator iterator) {
-        for (IRI subject : new ArrayList<>(litTriplesBySubject.keySet())) {
-            Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-            if (map == null) {
-                continue;
-            }
-            for (IRI predicate : new ArrayList<>(map.keySet())) {
-                Collection<OWLLiteral> objects = map.get(predicate);
-                for (OWLLiteral object : new ArrayList<>(objects)) {
-                    assert subject != null;
-                    assert predicate != null;
-                    assert object != null;
-                    iterator.handleLiteralTriple(subject, predicate, object);
-                }
-            }
-        }
+        triples.iterateLiterals(iterator);
     }
 
     /*
      * Originally we had a special Triple class, which was specialised into
      * ResourceTriple and LiteralTriple - this was used to store triples.
      * However, with very large ontologies this proved to be inefficient in
-     * terms of memory usage. Now we just store raw subjects, predicates and
-     * object directly in varous maps.
-     */
-    // Resource triples
-    /** Subject, predicate, object */
-    private final Map<IRI, Map<IRI, Collection<IRI>>> resTriplesBySubject = CollectionFactory.createMap();
-    /** Predicate, subject, object */
-    private final Map<IRI, Map<IRI, IRI>> singleValuedResTriplesByPredicate = CollectionFactory.createMap();
-    /** Literal triples */
-    private final Map<IRI, Map<IRI, Collection<OWLLiteral>>> litTriplesBySubject = CollectionFactory.createMap();
-    /** Predicate, subject, object */
-    private final Map<IRI, Map<IRI, OWLLiteral>> singleValuedLitTriplesByPredicate = CollectionFactory.createMap();
+     * terms of memory usage. Now subjects, predicates and objects are stored
+     * as node ids, in arrays by subject.
+     */
+    /** Triples not consumed yet. */
+    private final TripleTable triples = new TripleTable(nodeIds);
     private final Map<IRI, IRI> remappedIRIs = CollectionFactory.createMap();
     private final Map<String, IRI> remappedIRIStrings = CollectionFactory.createMap();
 
@@ -2432,40 +2307,10 @@ public class OWLRDFConsumer implements RDFConsumer, AnonymousNodeChecker, OWLAno
     }
 
     protected void addTriple(IRI subject, IRI predicate, IRI object) {
-        Map<IRI, IRI> subjObjMap = singleValuedResTriplesByPredicate.get(predicate);
-        if (subjObjMap != null) {
-            subjObjMap.put(subject, object);
-        } else {
-            Map<IRI, Collection<IRI>> map = resTriplesBySubject.get(subject);
-            if (map == null) {
-                map = CollectionFactory.createMap();
-                resTriplesBySubject.put(subject, map);
-            }
-            Collection<IRI> objects = map.get(predicate);
-            if (objects == null) {
-                objects = new HashSet<>();
-                map.put(predicate, objects);
-            }
-            objects.add(object);
-        }
+        triples.add(subject, predicate, object);
     }
 
     protected void addTriple(IRI subject, IRI predicate, OWLLiteral con) {
-        Map<IRI, OWLLiteral> subjObjMap = singleValuedLitTriplesByPredicate.get(predicate);
-        if (subjObjMap != null) {
-            subjObjMap.put(subject, con);
-        } else {
-            Map<IRI, Collection<OWLLiteral>> map = litTriplesBySubject.get(subject);
-            if (map == null) {
-                map = CollectionFactory.createMap();
-                litTriplesBySubject.put(subject, map);
-            }
-            Collection<OWLLiteral> objects = map.get(predicate);
-            if (objects == null) {
-                objects = new HashSet<>();
-                map.put(predicate, objects);
-            }
-            objects.add(con);
-        }
+        triples.add(subject, predicate, con);
     }
 }
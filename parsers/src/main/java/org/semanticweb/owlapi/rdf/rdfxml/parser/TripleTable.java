@@ -0,0 +1,584 @@
+/* This file is part of the OWL API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright 2014, The University of Manchester
+ * 
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License. */
+package org.semanticweb.owlapi.rdf.rdfxml.parser;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+/**
+ * The triples not yet consumed by the parser, by subject. Nodes are stored as
+ * ids from a {@link NodeIds}: each subject has an array of (predicate, object)
+ * id pairs for its resource triples, and an array of predicate ids with a
+ * parallel array of literals for its literal triples. The first two slots of
+ * an int array hold the end of the used part and the number of triples still
+ * there. Consumed triples are marked rather than removed, so that indexes stay
+ * valid while the triples are being iterated over; the arrays for a subject
+ * are dropped once all its triples are consumed.
+ * <p>
+ * Single valued predicates keep at most one triple per subject; adding another
+ * one replaces the object.
+ *
+ * @author ignazio
+ * @since 4.2.9
+ */
+final class TripleTable {
+
+    /** Predicate id of a consumed triple. */
+    private static final int GONE = -1;
+    private static final int END = 0;
+    private static final int LIVE = 1;
+    private static final int FIRST = 2;
+    @Nonnull private final NodeIds ids;
+    private final BitSet singleValued = new BitSet();
+    /** Resource triples by subject id. */
+    private int[][] resources = new int[1024][];
+    /** Predicates of literal triples by subject id. */
+    private int[][] literalPredicates = new int[1024][];
+    /** Objects of literal triples by subject id. */
+    private OWLLiteral[][] literals = new OWLLiteral[1024][];
+    private int size = 0;
+
+    /**
+     * @param ids
+     *        ids of the nodes
+     */
+    TripleTable(@Nonnull NodeIds ids) {
+        this.ids = ids;
+    }
+
+    /**
+     * @param predicate
+     *        predicate that can have only one object for a subject
+     */
+    void addSingleValuedPredicate(@Nonnull IRI predicate) {
+        singleValued.set(ids.id(predicate));
+    }
+
+    /** @return number of triples not consumed */
+    int size() {
+        return size;
+    }
+
+    /** Removes all triples. */
+    void clear() {
+        Arrays.fill(resources, null);
+        Arrays.fill(literalPredicates, null);
+        Arrays.fill(literals, null);
+        size = 0;
+    }
+
+    private void ensureSubjects(int subject) {
+        if (subject >= resources.length) {
+            int length = Math.max(subject + 1, resources.length * 2);
+            resources = Arrays.copyOf(resources, length);
+            literalPredicates = Arrays.copyOf(literalPredicates, length);
+            literals = Arrays.copyOf(literals, length);
+        }
+    }
+
+    private static int[] newPairs(int capacity) {
+        int[] a = new int[capacity];
+        a[END] = FIRST;
+        return a;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     */
+    void add(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull IRI object) {
+        int s = ids.id(subject);
+        int p = ids.id(predicate);
+        int o = ids.id(object);
+        ensureSubjects(s);
+        int[] a = resources[s];
+        if (a == null) {
+            a = newPairs(FIRST + 4);
+            resources[s] = a;
+        }
+        boolean single = singleValued.get(p);
+        for (int i = FIRST; i < a[END]; i += 2) {
+            if (a[i] == p && (single || a[i + 1] == o)) {
+                a[i + 1] = o;
+                return;
+            }
+        }
+        int end = a[END];
+        if (end + 2 > a.length) {
+            a = Arrays.copyOf(a, a.length * 2);
+            resources[s] = a;
+        }
+        a[end] = p;
+        a[end + 1] = o;
+        a[END] = end + 2;
+        a[LIVE]++;
+        size++;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     */
+    void add(@Nonnull IRI subject, @Nonnull IRI predicate, @Nonnull OWLLiteral object) {
+        int s = ids.id(subject);
+        int p = ids.id(predicate);
+        ensureSubjects(s);
+        int[] a = literalPredicates[s];
+        OWLLiteral[] l = literals[s];
+        if (a == null || l == null) {
+            a = newPairs(FIRST + 2);
+            l = new OWLLiteral[a.length];
+            literalPredicates[s] = a;
+            literals[s] = l;
+        }
+        for (int i = FIRST; i < a[END]; i++) {
+            if (a[i] == p && object.equals(l[i])) {
+                return;
+            }
+        }
+        int end = a[END];
+        if (end == a.length) {
+            a = Arrays.copyOf(a, a.length * 2);
+            l = Arrays.copyOf(l, a.length);
+            literalPredicates[s] = a;
+            literals[s] = l;
+        }
+        a[end] = p;
+        l[end] = object;
+        a[END] = end + 1;
+        a[LIVE]++;
+        size++;
+    }
+
+    @Nullable
+    private int[] resources(int s) {
+        return s < 0 || s >= resources.length ? null : resources[s];
+    }
+
+    @Nullable
+    private int[] literalPredicates(int s) {
+        return s < 0 || s >= literalPredicates.length ? null : literalPredicates[s];
+    }
+
+    private void consumeResource(int s, int[] a, int i) {
+        a[i] = GONE;
+        size--;
+        if (--a[LIVE] == 0) {
+            resources[s] = null;
+        }
+    }
+
+    private void consumeLiteral(int s, int[] a, int i) {
+        a[i] = GONE;
+        literals[s][i] = null;
+        size--;
+        if (--a[LIVE] == 0) {
+            literalPredicates[s] = null;
+            literals[s] = null;
+        }
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param consume
+     *        true if the triple found should be consumed
+     * @return the object of the first triple for subject and predicate, or
+     *         null if there is none
+     */
+    @Nullable
+    IRI getResource(IRI subject, IRI predicate, boolean consume) {
+        int s = ids.find(subject);
+        int[] a = resources(s);
+        int p = ids.find(predicate);
+        if (a == null || p < 0) {
+            return null;
+        }
+        for (int i = FIRST; i < a[END]; i += 2) {
+            if (a[i] == p) {
+                int o = a[i + 1];
+                if (consume) {
+                    consumeResource(s, a, i);
+                }
+                return ids.get(o);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param consume
+     *        true if the triple found should be consumed
+     * @return the object of the first triple for subject and predicate, or
+     *         null if there is none
+     */
+    @Nullable
+    OWLLiteral getLiteral(IRI subject, IRI predicate, boolean consume) {
+        int s = ids.find(subject);
+        int[] a = literalPredicates(s);
+        int p = ids.find(predicate);
+        if (a == null || p < 0) {
+            return null;
+        }
+        for (int i = FIRST; i < a[END]; i++) {
+            if (a[i] == p) {
+                OWLLiteral object = literals[s][i];
+                if (consume) {
+                    consumeLiteral(s, a, i);
+                }
+                return object;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @return objects of the triples for subject and predicate
+     */
+    @Nonnull
+    Set<IRI> getResources(IRI subject, IRI predicate) {
+        Set<IRI> result = new HashSet<>();
+        int s = ids.find(subject);
+        int[] a = resources(s);
+        int p = ids.find(predicate);
+        if (a != null && p > -1) {
+            for (int i = FIRST; i < a[END]; i += 2) {
+                if (a[i] == p) {
+                    result.add(ids.get(a[i + 1]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @return objects of the triples for subject and predicate
+     */
+    @Nonnull
+    Set<OWLLiteral> getLiterals(IRI subject, IRI predicate) {
+        Set<OWLLiteral> result = new HashSet<>();
+        int s = ids.find(subject);
+        int[] a = literalPredicates(s);
+        int p = ids.find(predicate);
+        if (a != null && p > -1) {
+            for (int i = FIRST; i < a[END]; i++) {
+                if (a[i] == p) {
+                    result.add(literals[s][i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object; ignored for single valued predicates, for which any
+     *        triple with subject and predicate matches
+     * @param consume
+     *        true if the triple found should be consumed
+     * @return true if the triple is present
+     */
+    boolean contains(IRI subject, IRI predicate, IRI object, boolean consume) {
+        int s = ids.find(subject);
+        int[] a = resources(s);
+        int p = ids.find(predicate);
+        if (a == null || p < 0) {
+            return false;
+        }
+        boolean single = singleValued.get(p);
+        int o = single ? GONE : ids.find(object);
+        if (!single && o < 0) {
+            return false;
+        }
+        for (int i = FIRST; i < a[END]; i += 2) {
+            if (a[i] == p && (single || a[i + 1] == o)) {
+                if (consume) {
+                    consumeResource(s, a, i);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @param object
+     *        object
+     * @param consume
+     *        true if the triple found should be consumed
+     * @return true if the triple is present
+     */
+    boolean contains(IRI subject, IRI predicate, OWLLiteral object, boolean consume) {
+        int s = ids.find(subject);
+        int[] a = literalPredicates(s);
+        int p = ids.find(predicate);
+        if (a == null || p < 0) {
+            return false;
+        }
+        for (int i = FIRST; i < a[END]; i++) {
+            if (a[i] == p && object.equals(literals[s][i])) {
+                if (consume) {
+                    consumeLiteral(s, a, i);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @param predicate
+     *        predicate
+     * @return true if there is a resource or literal triple for subject and
+     *         predicate
+     */
+    boolean hasPredicate(IRI subject, IRI predicate) {
+        int s = ids.find(subject);
+        int p = ids.find(predicate);
+        if (p < 0) {
+            return false;
+        }
+        int[] a = resources(s);
+        if (a != null) {
+            for (int i = FIRST; i < a[END]; i += 2) {
+                if (a[i] == p) {
+                    return true;
+                }
+            }
+        }
+        a = literalPredicates(s);
+        if (a != null) {
+            for (int i = FIRST; i < a[END]; i++) {
+                if (a[i] == p) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param subject
+     *        subject
+     * @return predicates of the triples for the subject, except for single
+     *         valued predicates
+     */
+    @Nonnull
+    Set<IRI> getPredicates(IRI subject) {
+        Set<IRI> result = new HashSet<>();
+        int s = ids.find(subject);
+        int[] a = resources(s);
+        if (a != null) {
+            for (int i = FIRST; i < a[END]; i += 2) {
+                if (a[i] != GONE && !singleValued.get(a[i])) {
+                    result.add(ids.get(a[i]));
+                }
+            }
+        }
+        a = literalPredicates(s);
+        if (a != null) {
+            for (int i = FIRST; i < a[END]; i++) {
+                if (a[i] != GONE) {
+                    result.add(ids.get(a[i]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Iterates over the resource triples of all subjects.
+     *
+     * @param iterator
+     *        iterator
+     * @param singleValuedToo
+     *        true if the triples for single valued predicates should be
+     *        included
+     */
+    void iterateResources(@Nonnull ResourceTripleIterator iterator, boolean singleValuedToo) {
+        for (int s = 0; s < resources.length; s++) {
+            if (resources[s] != null) {
+                iterateResources(s, iterator, singleValuedToo);
+            }
+        }
+    }
+
+    /**
+     * Iterates over the resource triples of a subject, except for single
+     * valued predicates.
+     *
+     * @param subject
+     *        subject
+     * @param iterator
+     *        iterator
+     */
+    void iterateResources(IRI subject, @Nonnull ResourceTripleIterator iterator) {
+        int s = ids.find(subject);
+        if (resources(s) != null) {
+            iterateResources(s, iterator, false);
+        }
+    }
+
+    /**
+     * Triples are visited a predicate at a time; the objects for a predicate
+     * are collected before the first one is visited, so triples consumed in
+     * the meantime are still visited, while triples for the predicates not
+     * reached yet are not.
+     */
+    private void iterateResources(int s, ResourceTripleIterator iterator, boolean singleValuedToo) {
+        IRI subject = ids.get(s);
+        int[] visited = new int[4];
+        int visitedCount = 0;
+        for (int i = FIRST;; i += 2) {
+            // a handler might have grown or dropped the array
+            int[] a = resources[s];
+            if (a == null || i >= a[END]) {
+                return;
+            }
+            int p = a[i];
+            if (p == GONE || !singleValuedToo && singleValued.get(p) || contains(visited, visitedCount, p)) {
+                continue;
+            }
+            if (visitedCount == visited.length) {
+                visited = Arrays.copyOf(visited, visitedCount * 2);
+            }
+            visited[visitedCount++] = p;
+            int end = a[END];
+            int[] objects = new int[(end - i) / 2];
+            int n = 0;
+            for (int j = i; j < end; j += 2) {
+                if (a[j] == p) {
+                    objects[n++] = a[j + 1];
+                }
+            }
+            IRI predicate = ids.get(p);
+            for (int j = 0; j < n; j++) {
+                iterator.handleResourceTriple(subject, predicate, ids.get(objects[j]));
+            }
+        }
+    }
+
+    /**
+     * Iterates over the literal triples of all subjects.
+     *
+     * @param iterator
+     *        iterator
+     */
+    void iterateLiterals(@Nonnull LiteralTripleIterator iterator) {
+        for (int s = 0; s < literalPredicates.length; s++) {
+            if (literalPredicates[s] != null) {
+                iterateLiterals(s, iterator);
+            }
+        }
+    }
+
+    /**
+     * Iterates over the literal triples of a subject.
+     *
+     * @param subject
+     *        subject
+     * @param iterator
+     *        iterator
+     */
+    void iterateLiterals(IRI subject, @Nonnull LiteralTripleIterator iterator) {
+        int s = ids.find(subject);
+        if (literalPredicates(s) != null) {
+            iterateLiterals(s, iterator);
+        }
+    }
+
+    /** Same visiting order as for resource triples. */
+    private void iterateLiterals(int s, LiteralTripleIterator iterator) {
+        IRI subject = ids.get(s);
+        int[] visited = new int[4];
+        int visitedCount = 0;
+        for (int i = FIRST;; i++) {
+            int[] a = literalPredicates[s];
+            OWLLiteral[] l = literals[s];
+            if (a == null || l == null || i >= a[END]) {
+                return;
+            }
+            int p = a[i];
+            if (p == GONE || contains(visited, visitedCount, p)) {
+                continue;
+            }
+            if (visitedCount == visited.length) {
+                visited = Arrays.copyOf(visited, visitedCount * 2);
+            }
+            visited[visitedCount++] = p;
+            int end = a[END];
+            OWLLiteral[] objects = new OWLLiteral[end - i];
+            int n = 0;
+            for (int j = i; j < end; j++) {
+                if (a[j] == p) {
+                    objects[n++] = l[j];
+                }
+            }
+            IRI predicate = ids.get(p);
+            for (int j = 0; j < n; j++) {
+                OWLLiteral object = objects[j];
+                assert object != null;
+                iterator.handleLiteralTriple(subject, predicate, object);
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
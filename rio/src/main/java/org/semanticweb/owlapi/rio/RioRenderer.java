@@ -48,8 +48,11 @@ import org.openrdf.model.Statement;
 import org.openrdf.rio.RDFHandler;
 import org.openrdf.rio.RDFHandlerException;
 import org.semanticweb.owlapi.formats.PrefixDocumentFormat;
+import org.semanticweb.owlapi.io.RDFLiteral;
+import org.semanticweb.owlapi.io.RDFNode;
 import org.semanticweb.owlapi.io.RDFResource;
 import org.semanticweb.owlapi.io.RDFTriple;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataProperty;
@@ -59,6 +62,8 @@ import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.ConfigurationOptions;
+import org.semanticweb.owlapi.model.parameters.DuplicateTripleCheck;
 import org.semanticweb.owlapi.rdf.RDFRendererBase;
 import org.semanticweb.owlapi.rio.utils.RioUtils;
 import org.semanticweb.owlapi.util.DefaultPrefixManager;
@@ -66,6 +71,8 @@ import org.semanticweb.owlapi.util.VersionInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import gnu.trove.set.hash.TLongHashSet;
+
 /**
  * @author Peter Ansell p_ansell@yahoo.com
  * @since 4.0.0
@@ -77,6 +84,9 @@ public class RioRenderer extends RDFRendererBase {
     private final DefaultPrefixManager pm;
     @Nonnull private final Set<RDFResource> pending = new LinkedHashSet<>();
     @Nonnull private final Set<RDFTriple> renderedStatements = new LinkedHashSet<>();
+    /** Fingerprints of the triples written, for the fingerprint check. */
+    @Nonnull private final TLongHashSet renderedFingerprints = new TLongHashSet();
+    @Nonnull private DuplicateTripleCheck duplicateCheck;
     private final Resource[] contexts;
 
     /**
@@ -95,6 +105,7 @@ public class RioRenderer extends RDFRendererBase {
         OpenRDFUtil.verifyContextNotNull(contexts);
         this.contexts = contexts;
         this.writer = writer;
+        duplicateCheck = ConfigurationOptions.DUPLICATE_TRIPLE_CHECK.getValue(DuplicateTripleCheck.class, format);
         pm = new DefaultPrefixManager();
         if (!ontology.isAnonymous()) {
             String ontologyIRIString = ontology.getOntologyID().getOntologyIRI().get().toString();
@@ -114,10 +125,22 @@ public class RioRenderer extends RDFRendererBase {
         // base = "";
     }
 
+    /**
+     * @param duplicateCheck
+     *        how triples already written are recognized; the default is read
+     *        from the format parameter
+     *        {@link ConfigurationOptions#DUPLICATE_TRIPLE_CHECK}, falling back
+     *        to the global configuration
+     */
+    public void setDuplicateTripleCheck(@Nonnull DuplicateTripleCheck duplicateCheck) {
+        this.duplicateCheck = duplicateCheck;
+    }
+
     @Override
     protected void beginDocument() throws IOException {
         pending.clear();
         renderedStatements.clear();
+        renderedFingerprints.clear();
         try {
             writer.startRDF();
         } catch (RDFHandlerException e) {
@@ -137,10 +160,11 @@ public class RioRenderer extends RDFRendererBase {
         }
         if (logger.isTraceEnabled()) {
             logger.trace("pendingNodes={}", pending.size());
-            logger.trace("renderedStatements={}", renderedStatements.size());
+            logger.trace("renderedStatements={}", renderedStatements.size() + renderedFingerprints.size());
         }
         pending.clear();
         renderedStatements.clear();
+        renderedFingerprints.clear();
     }
 
     @Override
@@ -158,6 +182,9 @@ public class RioRenderer extends RDFRendererBase {
     protected void createGraph(Set<? extends OWLObject> objects) {
         super.createGraph(objects);
         triplesWithRemappedNodes = graph.computeRemappingForSharedNodes();
+        if (duplicateCheck == DuplicateTripleCheck.ENTITY) {
+            renderedStatements.clear();
+        }
     }
 
     @Override
@@ -176,8 +203,7 @@ public class RioRenderer extends RDFRendererBase {
         for (final RDFTriple triple : triples) {
             RDFTriple tripleToRender = remapNodesIfNecessary(node, triple);
             try {
-                if (!renderedStatements.contains(tripleToRender)) {
-                    renderedStatements.add(tripleToRender);
+                if (firstRendering(tripleToRender)) {
                     // then we go back and get context-sensitive statements and
                     // actually pass those to the RDFHandler
                     for (Statement statement : RioUtils.tripleAsStatements(tripleToRender, contexts)) {
@@ -196,6 +222,49 @@ public class RioRenderer extends RDFRendererBase {
         pending.remove(node);
     }
 
+    /**
+     * @param triple
+     *        triple about to be written
+     * @return false if the triple has already been written
+     */
+    private boolean firstRendering(RDFTriple triple) {
+        if (duplicateCheck == DuplicateTripleCheck.FINGERPRINT) {
+            return renderedFingerprints.add(fingerprint(triple));
+        }
+        return renderedStatements.add(triple);
+    }
+
+    /** 64 bit FNV-1a hash of the components of a triple. */
+    private static long fingerprint(RDFTriple triple) {
+        long h = 0xcbf29ce484222325L;
+        h = hash(h, triple.getSubject());
+        h = hash(h, triple.getPredicate());
+        return hash(h, triple.getObject());
+    }
+
+    private static long hash(long start, RDFNode node) {
+        long h = start;
+        if (node.isLiteral()) {
+            RDFLiteral literal = (RDFLiteral) node;
+            h = hash(h, 'L', literal.getLexicalValue());
+            h = hash(h, '@', literal.getLang());
+            return hash(h, '^', literal.getDatatype());
+        }
+        IRI iri = node.getIRI();
+        return hash(h, node.isAnonymous() ? 'B' : 'I', iri);
+    }
+
+    private static long hash(long start, char kind, CharSequence s) {
+        // kind and length first, so that components cannot run into each
+        // other
+        long h = (start ^ kind) * 0x100000001b3L;
+        h = (h ^ s.length()) * 0x100000001b3L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001b3L;
+        }
+        return h;
+    }
+
     @Override
     protected void writeAnnotationPropertyComment(@Nonnull OWLAnnotationProperty prop) throws IOException {
         writeComment(prop.getIRI().toString());
@@ -17,6 +17,7 @@ import static org.semanticweb.owlapi.util.OWLAPIPreconditions.*;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -34,11 +35,14 @@ import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
 import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLException;
 import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLogicalAxiom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLRuntimeException;
 import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.RemoveAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 import org.semanticweb.owlapi.util.CollectionFactory;
@@ -47,8 +51,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.clarkparsia.owlapi.explanation.util.OntologyUtils;
+import com.clarkparsia.owlapi.modularity.locality.LocalityClass;
+import com.clarkparsia.owlapi.modularity.locality.LocalityEvaluator;
+import com.clarkparsia.owlapi.modularity.locality.SyntacticLocalityEvaluator;
 
-/** A black box explanation. */
+/**
+ * A black box explanation. The debugging ontology and its reasoner are created
+ * once and kept up to date with the debugging axioms between satisfiability
+ * tests; candidate axioms for expansion are taken from the bottom locality
+ * module for the signature of the class being explained.
+ */
 public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         implements SingleExplanationGenerator {
 
@@ -56,6 +68,15 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
             .getLogger(BlackBoxExplanation.class.getName());
     /** The debugging ontology. */
     private OWLOntology debuggingOntology;
+    /** The buffering reasoner for the debugging ontology. */
+    private OWLReasoner debuggingReasoner;
+    /** The logical axioms in the module for the class being explained. */
+    @Nonnull
+    private final Set<OWLAxiom> module = new HashSet<>();
+    /** The locality evaluator used to extract the module. */
+    @Nonnull
+    private final LocalityEvaluator localityEvaluator = new SyntacticLocalityEvaluator(
+            LocalityClass.BOTTOM_BOTTOM);
     /** The debugging axioms. */
     @Nonnull
     protected final Set<OWLAxiom> debuggingAxioms = new LinkedHashSet<>();
@@ -106,15 +127,20 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     @Override
     public void dispose() {
         reset();
-        getReasoner().dispose();
-    }
-
-    private void reset() {
+        if (debuggingReasoner != null) {
+            verifyNotNull(debuggingReasoner).dispose();
+            debuggingReasoner = null;
+        }
         if (debuggingOntology != null) {
             owlOntologyManager.removeOntology(verifyNotNull(debuggingOntology));
             debuggingOntology = null;
         }
+        getReasoner().dispose();
+    }
+
+    private void reset() {
         debuggingAxioms.clear();
+        module.clear();
         objectsExpandedWithDefiningAxioms.clear();
         objectsExpandedWithReferencingAxioms.clear();
         expandedWithDefiningAxioms.clear();
@@ -133,6 +159,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
                 return CollectionFactory.emptySet();
             }
             reset();
+            extractModule(unsatClass);
             expandUntilUnsatisfiable(unsatClass);
             pruneUntilMinimal(unsatClass);
             removeDeclarations();
@@ -142,6 +169,53 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         }
     }
 
+    /**
+     * Collects the logical axioms in the bottom locality module for the
+     * signature of the class being explained. Every justification for the
+     * class being unsatisfiable is contained in this module, so only axioms in
+     * it are used to expand the debugging axioms.
+     * 
+     * @param unsatClass
+     *        the unsat class
+     */
+    private void extractModule(@Nonnull OWLClassExpression unsatClass) {
+        Set<OWLEntity> signature = new HashSet<>(unsatClass.getSignature());
+        List<OWLLogicalAxiom> candidates = new ArrayList<>(getOntology()
+                .getLogicalAxioms(INCLUDED));
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            List<OWLLogicalAxiom> local = new ArrayList<>();
+            for (OWLLogicalAxiom ax : candidates) {
+                assert ax != null;
+                if (localityEvaluator.isLocal(ax, signature)) {
+                    local.add(ax);
+                } else {
+                    module.add(ax);
+                    changed |= signature.addAll(ax.getSignature());
+                }
+            }
+            candidates = local;
+        }
+        LOGGER.debug("Module size: {}", module.size());
+    }
+
+    /**
+     * Removes from a set of candidate axioms the logical axioms outside the
+     * module.
+     * 
+     * @param expansionAxioms
+     *        the candidate axioms
+     */
+    private void retainModuleAxioms(@Nonnull Set<OWLAxiom> expansionAxioms) {
+        for (Iterator<OWLAxiom> i = expansionAxioms.iterator(); i.hasNext();) {
+            OWLAxiom ax = i.next();
+            if (ax.isLogicalAxiom() && !module.contains(ax)) {
+                i.remove();
+            }
+        }
+    }
+
     // Expansion
     private int expandAxioms() {
         /*
@@ -241,6 +315,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
                         .getOWLDeclarationAxiom(obj));
             }
         }
+        retainModuleAxioms(expansionAxioms);
         expansionAxioms.removeAll(debuggingAxioms);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
@@ -261,6 +336,7 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
         // return any axioms, then get the axioms that reference the entity
         expansionAxioms.addAll(getOntology()
                 .getReferencingAxioms(obj, INCLUDED));
+        retainModuleAxioms(expansionAxioms);
         expansionAxioms.removeAll(debuggingAxioms);
         return addMax(expansionAxioms, debuggingAxioms, limit);
     }
@@ -351,8 +427,9 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
     }
 
     /**
-     * Tests the satisfiability of the test class. The ontology is recreated
-     * before the test is performed.
+     * Tests the satisfiability of the test class. The changes to the debugging
+     * axioms since the previous test are applied to the debugging ontology and
+     * flushed to its reasoner before the test is performed.
      * 
      * @param unsatClass
      *        the unsat class
@@ -362,31 +439,39 @@ public class BlackBoxExplanation extends SingleExplanationGeneratorImpl
      */
     private boolean isSatisfiable(@Nonnull OWLClassExpression unsatClass)
             throws OWLException {
-        createDebuggingOntology();
-        OWLReasoner reasoner = getReasonerFactory().createNonBufferingReasoner(
-                verifyNotNull(debuggingOntology));
+        updateDebuggingOntology();
         if (OntologyUtils.containsUnreferencedEntity(
                 verifyNotNull(debuggingOntology), unsatClass)) {
-            reasoner.dispose();
             return true;
         }
         satTestCount++;
-        boolean sat = reasoner.isSatisfiable(unsatClass);
-        reasoner.dispose();
-        return sat;
+        OWLReasoner reasoner = verifyNotNull(debuggingReasoner);
+        reasoner.flush();
+        return reasoner.isSatisfiable(unsatClass);
     }
 
-    private void createDebuggingOntology() throws OWLException {
-        if (debuggingOntology != null) {
-            owlOntologyManager.removeOntology(verifyNotNull(debuggingOntology));
+    private void updateDebuggingOntology() throws OWLException {
+        if (debuggingOntology == null) {
+            debuggingOntology = owlOntologyManager.createOntology();
         }
-        debuggingOntology = owlOntologyManager.createOntology();
-        List<AddAxiom> changes = new ArrayList<>();
-        for (OWLAxiom ax : new ArrayList<>(debuggingAxioms)) {
-            changes.add(new AddAxiom(verifyNotNull(debuggingOntology),
-                    verifyNotNull(ax)));
+        OWLOntology ont = verifyNotNull(debuggingOntology);
+        List<OWLOntologyChange> changes = new ArrayList<>();
+        for (OWLAxiom ax : ont.getAxioms()) {
+            if (!debuggingAxioms.contains(ax)) {
+                changes.add(new RemoveAxiom(ont, verifyNotNull(ax)));
+            }
+        }
+        for (OWLAxiom ax : debuggingAxioms) {
+            if (!ont.containsAxiom(ax)) {
+                changes.add(new AddAxiom(ont, verifyNotNull(ax)));
+            }
+        }
+        if (!changes.isEmpty()) {
+            owlOntologyManager.applyChanges(changes);
+        }
+        if (debuggingReasoner == null) {
+            debuggingReasoner = getReasonerFactory().createReasoner(ont);
         }
-        owlOntologyManager.applyChanges(changes);
     }
 
     private void resetSatisfiabilityTestCounter() {
@@ -14,12 +14,22 @@ package uk.ac.manchester.cs.owlapi.modularity;
 
 import static org.semanticweb.owlapi.util.OWLAPIPreconditions.checkNotNull;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.modularity.OntologySegmenter;
@@ -56,6 +66,9 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         /** Array representing all axioms of the associated ontology. */
         @Nonnull
         final OWLAxiom[] ax;
+        /** Axiom numbers by entity, built on first use. */
+        @Nullable
+        private Map<OWLEntity, int[]> axiomsByEntity;
 
         /**
          * Creates a new OntologyAxiomSet from a given set of axioms without
@@ -188,8 +201,81 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
             }
             return axs;
         }
+
+        /**
+         * Returns, for each entity, the numbers of the axioms whose signature
+         * contains the entity. The index is built on first use.
+         * 
+         * @return map from entities to axiom numbers, in increasing order
+         */
+        @Nonnull
+        public synchronized Map<OWLEntity, int[]> getAxiomsByEntity() {
+            Map<OWLEntity, int[]> index = axiomsByEntity;
+            if (index == null) {
+                Map<OWLEntity, List<Integer>> lists = new HashMap<>();
+                for (int i = 0; i < ax.length; i++) {
+                    for (OWLEntity e : ax[i].getSignature()) {
+                        List<Integer> l = lists.get(e);
+                        if (l == null) {
+                            l = new ArrayList<>(2);
+                            lists.put(e, l);
+                        }
+                        l.add(Integer.valueOf(i));
+                    }
+                }
+                index = new HashMap<>(lists.size());
+                for (Map.Entry<OWLEntity, List<Integer>> e : lists.entrySet()) {
+                    List<Integer> l = e.getValue();
+                    int[] ids = new int[l.size()];
+                    for (int j = 0; j < ids.length; j++) {
+                        ids[j] = l.get(j).intValue();
+                    }
+                    index.put(e.getKey(), ids);
+                }
+                axiomsByEntity = index;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Checks the locality of a range of candidate axioms. Evaluators are not
+     * thread safe, so each check uses its own.
+     */
+    private static class LocalityCheck implements Callable<Void> {
+
+        private final OntologyAxiomSet axioms;
+        private final int[] candidates;
+        private final boolean[] nonLocal;
+        private final int from;
+        private final int to;
+        private final Set<OWLEntity> signature;
+        private final LocalityClass localityClass;
+
+        LocalityCheck(OntologyAxiomSet axioms, int[] candidates, boolean[] nonLocal, int from, int to,
+            Set<OWLEntity> signature, LocalityClass localityClass) {
+            this.axioms = axioms;
+            this.candidates = candidates;
+            this.nonLocal = nonLocal;
+            this.from = from;
+            this.to = to;
+            this.signature = signature;
+            this.localityClass = localityClass;
+        }
+
+        @Override
+        public Void call() {
+            SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);
+            for (int c = from; c < to; c++) {
+                nonLocal[c] = !sle.isLocal(axioms.getAxiom(candidates[c]), signature);
+            }
+            return null;
+        }
     }
 
+    /** Rounds with fewer candidates than this are checked on the calling thread. */
+    private static final int PARALLEL_CHECK_SIZE = 2048;
+
     /** Type of module. */
     @Nonnull
     private ModuleType moduleType;
@@ -200,6 +286,8 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     private final OWLOntology ontology;
     /** Represents the manager for the associated ontology. */
     private final OWLOntologyManager manager;
+    /** True if the module fixpoint rechecks only the axioms that can change. */
+    private boolean useSignatureIndex = true;
 
     /**
      * Creates a new module extractor for a subset of a given ontology, its
@@ -295,6 +383,28 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
         return moduleType;
     }
 
+    /**
+     * Sets the strategy used to compute the module fixpoint. With the index,
+     * which is the default, only the axioms that mention entities added to the
+     * signature are checked again, and large rounds of checks are spread over
+     * the available processors; without it, all remaining axioms are checked
+     * every time the signature grows.
+     * 
+     * @param useSignatureIndex
+     *        true if the entity to axiom index should be used
+     */
+    public void setUseSignatureIndex(boolean useSignatureIndex) {
+        this.useSignatureIndex = useSignatureIndex;
+    }
+
+    /**
+     * @return true if the module fixpoint is computed with the entity to axiom
+     *         index
+     */
+    public boolean isUseSignatureIndex() {
+        return useSignatureIndex;
+    }
+
     /**
      * This auxiliary method extracts a module from a given sub-ontology of the
      * associated ontology for a given signature and locality type. The module
@@ -318,6 +428,112 @@ public class SyntacticLocalityModuleExtractor implements OntologySegmenter {
     @Nonnull
         boolean[] extractLogicalAxioms(@Nonnull boolean[] subOnt, @Nonnull Set<OWLEntity> signature,
             @Nonnull LocalityClass localityClass, boolean verbose) {
+        if (!useSignatureIndex) {
+            return extractLogicalAxiomsByScan(subOnt, signature, localityClass, verbose);
+        }
+        boolean[] mod = ontologyAxiomSet.getSubset(false);
+        boolean[] q2 = ontologyAxiomSet.cloneSubset(subOnt);
+        Map<OWLEntity, int[]> axiomsByEntity = ontologyAxiomSet.getAxiomsByEntity();
+        // every axiom is checked once against the seed signature; afterwards,
+        // the locality of an axiom can only change if an entity in its
+        // signature is added to the module signature
+        BitSet worklist = new BitSet(q2.length);
+        for (int i = 0; i < q2.length; i++) {
+            if (q2[i]) {
+                worklist.set(i);
+            }
+        }
+        int loopNumber = 0;
+        while (!worklist.isEmpty()) {
+            loopNumber++;
+            if (verbose) {
+                LOGGER.info("  Loop {}", loopNumber);
+            }
+            int[] candidates = new int[worklist.cardinality()];
+            for (int i = worklist.nextSetBit(0), c = 0; i >= 0; i = worklist.nextSetBit(i + 1)) {
+                candidates[c++] = i;
+            }
+            worklist.clear();
+            int oldSize = signature.size();
+            boolean[] nonLocal = checkLocality(candidates, signature, localityClass, verbose);
+            for (int c = 0; c < candidates.length; c++) {
+                OWLAxiom axiom = ontologyAxiomSet.getAxiom(candidates[c]);
+                if (!nonLocal[c]) {
+                    if (verbose) {
+                        LOGGER.info("      Local axiom:       {}", minusOntologyURI(axiom.toString()));
+                    }
+                    continue;
+                }
+                if (verbose) {
+                    LOGGER.info("      Non-local axiom:   {}", minusOntologyURI(axiom.toString()));
+                }
+                mod[candidates[c]] = true;
+                q2[candidates[c]] = false;
+                // might have been queued by an earlier axiom in this round
+                worklist.clear(candidates[c]);
+                for (OWLEntity e : axiom.getSignature()) {
+                    if (signature.add(e)) {
+                        for (int i : axiomsByEntity.get(e)) {
+                            if (q2[i]) {
+                                worklist.set(i);
+                            }
+                        }
+                    }
+                }
+            }
+            if (verbose && signature.size() > oldSize) {
+                LOGGER.info("    New signature:   {}", signature);
+            }
+        }
+        return mod;
+    }
+
+    /**
+     * Checks the locality of the candidate axioms against a signature that does
+     * not change during the check.
+     * 
+     * @return for each candidate, true if the axiom is not local
+     */
+    @Nonnull
+    private boolean[] checkLocality(@Nonnull int[] candidates, @Nonnull Set<OWLEntity> signature,
+        @Nonnull LocalityClass localityClass, boolean verbose) {
+        boolean[] nonLocal = new boolean[candidates.length];
+        int threads = Runtime.getRuntime().availableProcessors();
+        if (verbose || threads < 2 || candidates.length < PARALLEL_CHECK_SIZE) {
+            new LocalityCheck(ontologyAxiomSet, candidates, nonLocal, 0, candidates.length, signature,
+                localityClass).call();
+            return nonLocal;
+        }
+        List<LocalityCheck> checks = new ArrayList<>(threads);
+        int chunk = (candidates.length + threads - 1) / threads;
+        for (int from = 0; from < candidates.length; from += chunk) {
+            checks.add(new LocalityCheck(ontologyAxiomSet, candidates, nonLocal, from, Math.min(candidates.length,
+                from + chunk), signature, localityClass));
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Void> f : pool.invokeAll(checks)) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OWLRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new OWLRuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return nonLocal;
+    }
+
+    /**
+     * Computes the same module as
+     * {@link #extractLogicalAxioms(boolean[], Set, LocalityClass, boolean)},
+     * checking all remaining axioms again whenever the signature grows.
+     */
+    @Nonnull
+    private boolean[] extractLogicalAxiomsByScan(@Nonnull boolean[] subOnt, @Nonnull Set<OWLEntity> signature,
+        @Nonnull LocalityClass localityClass, boolean verbose) {
         boolean[] mod = ontologyAxiomSet.getSubset(false);
         boolean[] q2 = ontologyAxiomSet.cloneSubset(subOnt);
         SyntacticLocalityEvaluator sle = new SyntacticLocalityEvaluator(localityClass);